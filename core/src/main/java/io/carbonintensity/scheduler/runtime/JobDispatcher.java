@@ -0,0 +1,109 @@
+package io.carbonintensity.scheduler.runtime;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.carbonintensity.scheduler.ScheduledExecution;
+import io.carbonintensity.scheduler.runtime.SchedulerConfig.JobOverflowPolicy;
+
+/**
+ * Hands fired jobs to the job executor, with a bound on the number of jobs that are waiting for an executor thread.
+ * <p>
+ * What happens to a fire when the bound is reached depends on the {@link JobOverflowPolicy}. Fires that are not executed
+ * are reported as skipped to the event listeners. With {@link JobOverflowPolicy#BLOCK} the dispatching thread waits for
+ * room at most the block timeout, so that a full queue never stalls the trigger check for long.
+ */
+final class JobDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(JobDispatcher.class);
+
+    private final Executor executor;
+    private final int capacity;
+    private final JobOverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final Events events;
+    private final Semaphore permits;
+    private final Set<String> pendingTriggers = ConcurrentHashMap.newKeySet();
+    private final LongAdder rejected = new LongAdder();
+
+    JobDispatcher(Executor executor, int capacity, JobOverflowPolicy overflowPolicy, Duration blockTimeout, Events events) {
+        this.executor = executor;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.events = events;
+        this.permits = new Semaphore(capacity);
+    }
+
+    /**
+     * Executes the job, or reports it as skipped when it is not accepted.
+     *
+     * @param execution the fired execution
+     * @param job runs the job
+     * @return whether the job was accepted
+     */
+    boolean dispatch(ScheduledExecution execution, Runnable job) {
+        String triggerId = execution.getTrigger().getId();
+        if (overflowPolicy == JobOverflowPolicy.COALESCE && !pendingTriggers.add(triggerId)) {
+            return reject(execution, "A previous execution of the job is still waiting for a job executor");
+        }
+        if (!acquire()) {
+            pendingTriggers.remove(triggerId);
+            return reject(execution, "The job queue is full (" + capacity + " pending jobs)");
+        }
+        try {
+            executor.execute(() -> {
+                pendingTriggers.remove(triggerId);
+                permits.release();
+                job.run();
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            pendingTriggers.remove(triggerId);
+            permits.release();
+            return reject(execution, "The job executor has been shut down");
+        }
+    }
+
+    private boolean acquire() {
+        if (overflowPolicy != JobOverflowPolicy.BLOCK) {
+            return permits.tryAcquire();
+        }
+        try {
+            return permits.tryAcquire(blockTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean reject(ScheduledExecution execution, String detail) {
+        rejected.increment();
+        log.warn("Skipping {}: {}", execution.getTrigger().getId(), detail);
+        events.fireJobExecutionSkipped(execution, detail);
+        return false;
+    }
+
+    /**
+     * @return the number of jobs waiting for a job executor
+     */
+    int getQueueDepth() {
+        return capacity - permits.availablePermits();
+    }
+
+    /**
+     * @return the number of fires that were not executed because of the queue bound or coalescing
+     */
+    long getRejectedCount() {
+        return rejected.sum();
+    }
+}
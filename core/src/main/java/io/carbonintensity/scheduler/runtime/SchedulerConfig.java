@@ -1,5 +1,6 @@
 package io.carbonintensity.scheduler.runtime;
 
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.Objects;
@@ -60,6 +61,73 @@ public class SchedulerConfig {
 
     private int jobExecutors = SchedulerDefaults.DEFAULT_NUMBER_OF_JOB_EXECUTORS;
 
+    /**
+     * How jobs are executed. By default, jobs run on a pool of {@link #jobExecutors} platform threads.
+     */
+    private JobExecutionMode jobExecutionMode = SchedulerDefaults.DEFAULT_JOB_EXECUTION_MODE;
+
+    /**
+     * Maximum number of fired jobs waiting for a job executor. What happens when it is reached is determined by the
+     * {@link #jobOverflowPolicy}. By default, the queue is unbounded.
+     */
+    private int jobQueueCapacity = SchedulerDefaults.DEFAULT_JOB_QUEUE_CAPACITY;
+
+    private JobOverflowPolicy jobOverflowPolicy = SchedulerDefaults.DEFAULT_JOB_OVERFLOW_POLICY;
+
+    /**
+     * Fraction the carbon intensity of a timeslot may be above the best timeslot, for jobs of the same carbon intensity
+     * zone to be spread over it when more jobs than {@link #jobExecutors} would start at the same time. Zero disables
+     * spreading, every job is planned in its best timeslot. Jobs that run on virtual threads are not spread, their number
+     * is not limited by the job executors.
+     */
+    private double staggeringTolerance = SchedulerDefaults.DEFAULT_STAGGERING_TOLERANCE;
+
+    /**
+     * If the fixed window jobs of a carbon intensity zone that share a window are planned together, so that no more of
+     * them than {@link #jobExecutors} run at the same time. Not used when jobs are spread by the
+     * {@link #staggeringTolerance} or run on virtual threads.
+     */
+    private boolean batchPlanning = SchedulerDefaults.DEFAULT_BATCH_PLANNING;
+
+    /**
+     * Number of executions of a successive job that are planned together, so that a green execution does not push the
+     * following ones into a dirty period. By default, only the next execution is planned.
+     */
+    private int planningHorizonRuns = SchedulerDefaults.DEFAULT_PLANNING_HORIZON_RUNS;
+
+    /**
+     * Number of shards the triggers that are due are partitioned into by identity, each shard being evaluated by its own
+     * thread, so that a slow trigger only delays the triggers of its shard.
+     */
+    private int triggerCheckShards = SchedulerDefaults.DEFAULT_TRIGGER_CHECK_SHARDS;
+
+    /**
+     * If triggers are due at the exact millisecond of their planned execution time and the trigger check is armed at
+     * that time, instead of truncating execution times to the whole second and checking at the whole second after them.
+     * Triggers then fire within milliseconds of their planned time instead of up to a second off.
+     */
+    private boolean preciseScheduling = SchedulerDefaults.DEFAULT_PRECISE_SCHEDULING;
+
+    /**
+     * The forecast of the next day is fetched this long before the cached carbon intensity data expires. Zero disables
+     * refreshing ahead.
+     */
+    private Duration refreshAheadLeadTime = SchedulerDefaults.DEFAULT_REFRESH_AHEAD_LEAD_TIME;
+
+    private int refreshAheadConcurrency = SchedulerDefaults.DEFAULT_REFRESH_AHEAD_CONCURRENCY;
+
+    /**
+     * File in which fetched carbon intensity data is persisted, so that it is available right after a restart. By
+     * default, the data is only kept in memory.
+     */
+    private Path cacheFile;
+
+    /**
+     * Directory with fallback carbon intensity datasets, which take precedence over the bundled ones. Changes to the
+     * directory are picked up while the scheduler runs.
+     */
+    private Path fallbackDirectory;
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -79,6 +147,82 @@ public class SchedulerConfig {
         this.jobExecutors = jobExecutors;
     }
 
+    public JobExecutionMode getJobExecutionMode() {
+        return jobExecutionMode;
+    }
+
+    public void setJobExecutionMode(JobExecutionMode jobExecutionMode) {
+        this.jobExecutionMode = Objects.requireNonNull(jobExecutionMode, "Job execution mode cannot be null");
+    }
+
+    public int getJobQueueCapacity() {
+        return jobQueueCapacity;
+    }
+
+    public void setJobQueueCapacity(int jobQueueCapacity) {
+        if (jobQueueCapacity < 1) {
+            throw new IllegalArgumentException("Job queue capacity cannot be less than 1");
+        }
+        this.jobQueueCapacity = jobQueueCapacity;
+    }
+
+    public JobOverflowPolicy getJobOverflowPolicy() {
+        return jobOverflowPolicy;
+    }
+
+    public void setJobOverflowPolicy(JobOverflowPolicy jobOverflowPolicy) {
+        this.jobOverflowPolicy = Objects.requireNonNull(jobOverflowPolicy, "Job overflow policy cannot be null");
+    }
+
+    public double getStaggeringTolerance() {
+        return staggeringTolerance;
+    }
+
+    public void setStaggeringTolerance(double staggeringTolerance) {
+        if (staggeringTolerance < 0 || Double.isNaN(staggeringTolerance)) {
+            throw new IllegalArgumentException("Staggering tolerance cannot be negative");
+        }
+        this.staggeringTolerance = staggeringTolerance;
+    }
+
+    public boolean isBatchPlanning() {
+        return batchPlanning;
+    }
+
+    public void setBatchPlanning(boolean batchPlanning) {
+        this.batchPlanning = batchPlanning;
+    }
+
+    public int getPlanningHorizonRuns() {
+        return planningHorizonRuns;
+    }
+
+    public void setPlanningHorizonRuns(int planningHorizonRuns) {
+        if (planningHorizonRuns < 1) {
+            throw new IllegalArgumentException("Planning horizon runs cannot be less than 1");
+        }
+        this.planningHorizonRuns = planningHorizonRuns;
+    }
+
+    public int getTriggerCheckShards() {
+        return triggerCheckShards;
+    }
+
+    public void setTriggerCheckShards(int triggerCheckShards) {
+        if (triggerCheckShards < 1) {
+            throw new IllegalArgumentException("Trigger check shards cannot be less than 1");
+        }
+        this.triggerCheckShards = triggerCheckShards;
+    }
+
+    public boolean isPreciseScheduling() {
+        return preciseScheduling;
+    }
+
+    public void setPreciseScheduling(boolean preciseScheduling) {
+        this.preciseScheduling = preciseScheduling;
+    }
+
     public Duration getOverdueGracePeriod() {
         return overdueGracePeriod;
     }
@@ -95,6 +239,45 @@ public class SchedulerConfig {
         this.shutdownGracePeriod = shutdownGracePeriod;
     }
 
+    public Duration getRefreshAheadLeadTime() {
+        return refreshAheadLeadTime;
+    }
+
+    public void setRefreshAheadLeadTime(Duration refreshAheadLeadTime) {
+        Objects.requireNonNull(refreshAheadLeadTime, "Refresh ahead lead time cannot be null");
+        if (refreshAheadLeadTime.isNegative()) {
+            throw new IllegalArgumentException("Refresh ahead lead time cannot be negative");
+        }
+        this.refreshAheadLeadTime = refreshAheadLeadTime;
+    }
+
+    public int getRefreshAheadConcurrency() {
+        return refreshAheadConcurrency;
+    }
+
+    public void setRefreshAheadConcurrency(int refreshAheadConcurrency) {
+        if (refreshAheadConcurrency < 1) {
+            throw new IllegalArgumentException("Refresh ahead concurrency cannot be less than 1");
+        }
+        this.refreshAheadConcurrency = refreshAheadConcurrency;
+    }
+
+    public Path getCacheFile() {
+        return cacheFile;
+    }
+
+    public void setCacheFile(Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    public Path getFallbackDirectory() {
+        return fallbackDirectory;
+    }
+
+    public void setFallbackDirectory(Path fallbackDirectory) {
+        this.fallbackDirectory = fallbackDirectory;
+    }
+
     public StartMode getStartMode() {
         return startMode;
     }
@@ -134,6 +317,42 @@ public class SchedulerConfig {
         HALTED
     }
 
+    public enum JobExecutionMode {
+
+        /**
+         * Jobs run on a fixed pool of platform threads, sized by the number of job executors.
+         */
+        PLATFORM_THREADS,
+
+        /**
+         * Each job runs on its own virtual thread, so that many I/O bound jobs can run at the same time. The number of
+         * job executors is ignored and jobs are not spread by the staggering tolerance. Falls back to
+         * {@link #PLATFORM_THREADS} when the runtime does not support virtual threads.
+         */
+        VIRTUAL_THREADS
+    }
+
+    public enum JobOverflowPolicy {
+
+        /**
+         * A fired job that does not fit in the job queue is skipped.
+         */
+        REJECT,
+
+        /**
+         * Like {@link #REJECT}, and a fired job is also skipped while a previous execution of the same job is still
+         * waiting in the queue.
+         */
+        COALESCE,
+
+        /**
+         * The scheduler waits up to a trigger check period for the fired job to fit in the job queue, and skips it like
+         * {@link #REJECT} when it still does not fit. Other triggers of the same trigger check shard are not checked in
+         * the meantime.
+         */
+        BLOCK
+    }
+
     public CarbonIntensityApi getCarbonIntensityApi() {
         return carbonIntensityApi;
     }
@@ -16,6 +16,16 @@ public final class SchedulerDefaults {
     public static final Duration DEFAULT_DURATION = Duration.ofSeconds(1);
     public static final String DEFAULT_API_URL = "https://api.carbonintensity.io";
     public static final int DEFAULT_NUMBER_OF_JOB_EXECUTORS = 10;
+    public static final SchedulerConfig.JobExecutionMode DEFAULT_JOB_EXECUTION_MODE = SchedulerConfig.JobExecutionMode.PLATFORM_THREADS;
+    public static final int DEFAULT_JOB_QUEUE_CAPACITY = Integer.MAX_VALUE;
+    public static final SchedulerConfig.JobOverflowPolicy DEFAULT_JOB_OVERFLOW_POLICY = SchedulerConfig.JobOverflowPolicy.REJECT;
+    public static final double DEFAULT_STAGGERING_TOLERANCE = 0;
+    public static final boolean DEFAULT_BATCH_PLANNING = false;
+    public static final int DEFAULT_PLANNING_HORIZON_RUNS = 1;
+    public static final int DEFAULT_TRIGGER_CHECK_SHARDS = 2;
+    public static final boolean DEFAULT_PRECISE_SCHEDULING = false;
+    public static final Duration DEFAULT_REFRESH_AHEAD_LEAD_TIME = Duration.ofHours(2);
+    public static final int DEFAULT_REFRESH_AHEAD_CONCURRENCY = 2;
 
     private SchedulerDefaults() {
     }
@@ -1,28 +1,38 @@
 package io.carbonintensity.scheduler.runtime;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.chrono.ChronoZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -31,24 +41,29 @@ import org.slf4j.LoggerFactory;
 import com.cronutils.model.Cron;
 import com.cronutils.model.time.ExecutionTime;
 
+import io.carbonintensity.executionplanner.planner.PlanCache;
 import io.carbonintensity.executionplanner.planner.fixedwindow.DefaultFixedWindowPlanningConstraints;
 import io.carbonintensity.executionplanner.planner.fixedwindow.FixedWindowPlanner;
 import io.carbonintensity.executionplanner.planner.fixedwindow.FixedWindowPlanningConstraints;
 import io.carbonintensity.executionplanner.planner.successive.DefaultSuccessivePlanningConstraints;
 import io.carbonintensity.executionplanner.planner.successive.SuccessivePlanner;
 import io.carbonintensity.executionplanner.planner.successive.SuccessivePlanningConstraints;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensityCache;
 import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensityDataFetcher;
 import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensityDataFetcherImpl;
 import io.carbonintensity.executionplanner.runtime.impl.rest.CarbonIntensityApiType;
 import io.carbonintensity.executionplanner.runtime.impl.rest.CarbonIntensityRestApi;
 import io.carbonintensity.executionplanner.spi.CarbonIntensityPlanner;
 import io.carbonintensity.executionplanner.spi.PlanningConstraints;
+import io.carbonintensity.executionplanner.strategy.LoadAwareStrategy;
+import io.carbonintensity.executionplanner.strategy.SharedWindowStrategy;
 import io.carbonintensity.scheduler.ConcurrentExecution;
 import io.carbonintensity.scheduler.GreenScheduled;
 import io.carbonintensity.scheduler.ScheduledExecution;
 import io.carbonintensity.scheduler.Scheduler;
 import io.carbonintensity.scheduler.SkipPredicate;
 import io.carbonintensity.scheduler.Trigger;
+import io.carbonintensity.scheduler.runtime.SchedulerConfig.JobExecutionMode;
 import io.carbonintensity.scheduler.runtime.SchedulerConfig.StartMode;
 import io.carbonintensity.scheduler.runtime.impl.annotation.GreenScheduledAnnotationParser;
 import io.carbonintensity.scheduler.runtime.impl.rest.CarbonIntensityFileApi;
@@ -73,8 +88,14 @@ import io.carbonintensity.scheduler.spi.JobInstrumenter;
  * <p>
  * The scheduler manages three executor services:
  * <ul>
- * <li>{@code scheduledExecutor} - Periodically checks for triggers.</li>
- * <li>{@code jobExecutor} - Executes scheduled jobs.</li>
+ * <li>{@code scheduledExecutor} - Checks the triggers that are due, sleeping until the earliest one. It has a single
+ * thread so that only one check runs at a time, other threads merely re-arm it.</li>
+ * <li>{@code triggerCheckExecutor} - Evaluates the shards of due triggers, a thread per shard, so that the check itself
+ * never waits for a trigger, see {@link SchedulerConfig#getTriggerCheckShards()}.</li>
+ * <li>{@code jobExecutor} - Executes scheduled jobs, on a fixed pool of platform threads or on a virtual thread per job,
+ * depending on the {@link SchedulerConfig.JobExecutionMode}.</li>
+ * <li>{@code planningExecutor} - Plans the execution times of the triggers, so that fetching carbon intensity data never
+ * blocks the trigger check.</li>
  * <li>{@code renewExecutor} - Handles renewal-related tasks.</li>
  * </ul>
  * These executors ensure efficient and concurrent execution of jobs while maintaining scheduling
@@ -104,14 +125,29 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(SimpleScheduler.class);
     // milliseconds
     public static final long CHECK_PERIOD = 1000L;
+    // milliseconds, upper bound for the trigger check to sleep so that clock adjustments are picked up
+    static final long MAX_CHECK_DELAY = 60_000L;
+    // concurrent requests for the same carbon intensity data are shared, so a few threads suffice
+    static final int PLANNING_EXECUTORS = 2;
+    // milliseconds, delay before a trigger whose planning failed is planned again
+    static final long PLAN_RETRY_DELAY = 30_000L;
 
     private CarbonIntensityDataFetcher dataFetcher;
+    private CarbonIntensityFileApi fallbackApi;
+    private LoadAwareStrategy loadAwareStrategy;
+    private SharedWindowStrategy sharedWindowStrategy;
+    private final PlanCache planCache = new PlanCache();
     private final Clock clock;
     private ScheduledExecutorService scheduledExecutor;
     private ScheduledFuture<?> scheduledFuture;
+    private volatile ExecutorService triggerCheckExecutor;
     private ExecutorService jobExecutor;
+    private volatile JobDispatcher jobDispatcher;
+    private volatile ExecutorService planningExecutor;
     private volatile boolean running;
     private final ConcurrentMap<String, ScheduledTask> scheduledTasks;
+    private final TriggerQueue triggerQueue;
+    private volatile long lastCheck;
     private final boolean enabled;
     private final SchedulerConfig schedulerConfig;
     private final JobInstrumenter jobInstrumenter;
@@ -124,6 +160,7 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
         this.running = false;
         this.enabled = schedulerConfig.isEnabled();
         this.scheduledTasks = new ConcurrentHashMap<>();
+        this.triggerQueue = new TriggerQueue();
         this.schedulerConfig = schedulerConfig;
         this.jobInstrumenter = schedulerConfig.getJobInstrumenter();
         this.eventListeners = new ArrayList<>();
@@ -138,7 +175,21 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
 
         log.info("CarbonIntensity API: {}", carbonIntensityApi.getApiName());
 
-        this.dataFetcher = new CarbonIntensityDataFetcherImpl(carbonIntensityApi, new CarbonIntensityFileApi());
+        var cache = new CarbonIntensityCache(CarbonIntensityCache.DEFAULT_TTL_EMPTY_VALUES, schedulerConfig.getCacheFile(),
+                clock);
+        this.fallbackApi = new CarbonIntensityFileApi(schedulerConfig.getFallbackDirectory());
+        this.dataFetcher = new CarbonIntensityDataFetcherImpl(carbonIntensityApi, fallbackApi, cache,
+                clock, schedulerConfig.getRefreshAheadLeadTime(), schedulerConfig.getRefreshAheadConcurrency());
+        this.dataFetcher.addDataVersionListener(this::dataVersionChanged);
+        if (schedulerConfig.getStaggeringTolerance() > 0 && runsJobsOnVirtualThreads(schedulerConfig)) {
+            log.info("Jobs run on virtual threads, which are not limited by the job executors, so they are not spread.");
+        } else if (schedulerConfig.getStaggeringTolerance() > 0) {
+            this.loadAwareStrategy = new LoadAwareStrategy(schedulerConfig.getJobExecutors(),
+                    schedulerConfig.getStaggeringTolerance(), clock);
+        } else if (schedulerConfig.isBatchPlanning() && !runsJobsOnVirtualThreads(schedulerConfig)) {
+            this.sharedWindowStrategy = new SharedWindowStrategy(schedulerConfig.getJobExecutors(), clock,
+                    this::windowChanged);
+        }
 
         if (StartMode.FORCED == schedulerConfig.getStartMode()) {
             log.info("Simple scheduler will be started, force scheduler start is enabled.");
@@ -147,6 +198,62 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
     }
 
     public void scheduleMethod(ScheduledMethod method) {
+        for (ScheduledTask task : createTasks(method)) {
+            registerTask(task.trigger.id, task);
+        }
+    }
+
+    /**
+     * Schedules many methods at once, like {@link #scheduleMethod(ScheduledMethod)} does one by one. The triggers are
+     * created in parallel, the carbon intensity data of every distinct zone is fetched in parallel and the first
+     * executions are planned in parallel on a {@link ForkJoinPool}, before any of the triggers is registered. The
+     * triggers are therefore planned when they are checked for the first time.
+     *
+     * @param methods the methods to schedule
+     */
+    public void scheduleMethods(Collection<? extends ScheduledMethod> methods) {
+        if (!enabled || dataFetcher == null) {
+            methods.forEach(this::scheduleMethod);
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<ScheduledTask> tasks = pool.submit(() -> methods.parallelStream()
+                    .flatMap(method -> createTasks(method).stream())
+                    .collect(Collectors.toList())).join();
+
+            // one trigger per zone fetches the carbon intensity data, the others plan with the cached data
+            Map<String, ScheduledTask> zoneTasks = new LinkedHashMap<>();
+            for (ScheduledTask task : tasks) {
+                String zone = task.trigger.getCarbonIntensityZone();
+                if (zone != null) {
+                    zoneTasks.putIfAbsent(zone.toLowerCase().trim(), task);
+                }
+            }
+            pool.submit(() -> zoneTasks.values().parallelStream().forEach(this::planFirstExecution)).join();
+            pool.submit(() -> tasks.parallelStream().forEach(this::planFirstExecution)).join();
+            log.debug("Planned {} triggers of {} carbon intensity zones", tasks.size(), zoneTasks.size());
+
+            for (ScheduledTask task : tasks) {
+                registerTask(task.trigger.id, task);
+            }
+        } finally {
+            // also stops planning the remaining triggers when a trigger could not be created or planned
+            pool.shutdownNow();
+        }
+    }
+
+    private void planFirstExecution(ScheduledTask task) {
+        try {
+            task.trigger.getNextFireTime();
+        } catch (RuntimeException e) {
+            // planned again when the trigger is checked
+            log.warn("Unable to plan the first execution of {}", task.trigger.getMethodDescription(), e);
+        }
+    }
+
+    private List<ScheduledTask> createTasks(ScheduledMethod method) {
+        List<ScheduledTask> tasks = new ArrayList<>();
         int nameSequence = 0;
         for (GreenScheduled scheduled : method.getSchedules()) {
             nameSequence++;
@@ -160,8 +267,9 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
                     constraints);
             ScheduledInvoker invoker = initInvoker(method.getInvoker(), events,
                     scheduled.concurrentExecution(), initSkipPredicate(scheduled.skipExecutionIf()), jobInstrumenter);
-            registerTask(trigger.id, new ScheduledTask(trigger, invoker, false));
+            tasks.add(new ScheduledTask(trigger, invoker, false));
         }
+        return tasks;
     }
 
     @Override
@@ -180,6 +288,13 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
             ScheduledTask task = scheduledTasks.get(identity);
             if (task != null && task.isProgrammatic) {
                 if (scheduledTasks.remove(task.trigger.id) != null) {
+                    triggerQueue.remove(task);
+                    if (loadAwareStrategy != null) {
+                        loadAwareStrategy.remove(task.trigger.id);
+                    }
+                    if (sharedWindowStrategy != null) {
+                        sharedWindowStrategy.remove(task.trigger.id);
+                    }
                     return task.trigger;
                 }
             }
@@ -206,8 +321,39 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
                     return t;
                 }
             };
-            // This executor is used to check all registered triggers every second
-            this.scheduledExecutor = new ScheduledThreadPoolExecutor(2, tf);
+            // This executor is used to check the registered triggers when they are due, one check at a time
+            var executor = new ScheduledThreadPoolExecutor(1, tf);
+            executor.setRemoveOnCancelPolicy(true);
+            this.scheduledExecutor = executor;
+        }
+        if (this.triggerCheckExecutor == null && schedulerConfig.getTriggerCheckShards() > 1) {
+            ThreadFactory stf = new ThreadFactory() {
+
+                private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread t = new Thread(Thread.currentThread()
+                            .getThreadGroup(), runnable, "green-scheduler-trigger-shard-" + threadNumber.getAndIncrement(), 0);
+                    if (!t.isDaemon()) {
+                        t.setDaemon(true);
+                    }
+                    if (t.getPriority() != Thread.NORM_PRIORITY) {
+                        t.setPriority(Thread.NORM_PRIORITY);
+                    }
+                    return t;
+                }
+            };
+            // This executor is used to evaluate the shards of due triggers, off the checking thread
+            this.triggerCheckExecutor = Executors.newFixedThreadPool(schedulerConfig.getTriggerCheckShards(), stf);
+        }
+        if (this.jobExecutor == null && schedulerConfig.getJobExecutionMode() == JobExecutionMode.VIRTUAL_THREADS) {
+            // This executor is used to run all jobs, each on its own virtual thread
+            this.jobExecutor = newVirtualThreadPerTaskExecutor("green-scheduler-job-virtual-");
+            if (this.jobExecutor == null) {
+                log.warn("Virtual threads are not supported by this runtime, running jobs on {} platform threads.",
+                        schedulerConfig.getJobExecutors());
+            }
         }
         if (this.jobExecutor == null) {
             ThreadFactory jtf = new ThreadFactory() {
@@ -230,22 +376,86 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
             // This executor is used to run all jobs
             this.jobExecutor = Executors.newFixedThreadPool(schedulerConfig.getJobExecutors(), jtf);
         }
+        if (this.jobDispatcher == null) {
+            // Bounds the number of fired jobs waiting for the job executor
+            this.jobDispatcher = new JobDispatcher(jobExecutor, schedulerConfig.getJobQueueCapacity(),
+                    schedulerConfig.getJobOverflowPolicy(), Duration.ofMillis(CHECK_PERIOD), events);
+        }
+        if (this.planningExecutor == null) {
+            ThreadFactory ptf = new ThreadFactory() {
+
+                private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread t = new Thread(Thread.currentThread()
+                            .getThreadGroup(), runnable, "green-scheduler-planner-" + threadNumber.getAndIncrement(), 0);
+                    if (!t.isDaemon()) {
+                        t.setDaemon(true);
+                    }
+                    if (t.getPriority() != Thread.NORM_PRIORITY) {
+                        t.setPriority(Thread.NORM_PRIORITY);
+                    }
+                    return t;
+                }
+            };
+            // This executor is used to plan the triggers, off the trigger check thread
+            this.planningExecutor = Executors.newFixedThreadPool(PLANNING_EXECUTORS, ptf);
+        }
+    }
+
+    /**
+     * @return whether the jobs are configured to run on virtual threads and the runtime supports them
+     */
+    static boolean runsJobsOnVirtualThreads(SchedulerConfig schedulerConfig) {
+        if (schedulerConfig.getJobExecutionMode() != JobExecutionMode.VIRTUAL_THREADS) {
+            return false;
+        }
+        try {
+            // preview releases have the method, but throw when preview features are not enabled
+            Thread.class.getMethod("ofVirtual").invoke(null);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates an executor that runs each task on a new virtual thread. The library is compiled for Java 11, so the
+     * virtual thread API is looked up reflectively.
+     *
+     * @param prefix prefix of the thread names
+     * @return the executor, or {@code null} if the runtime does not support virtual threads
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("Virtual threads are not available", e);
+            return null;
+        }
     }
 
-    public void start() {
+    public synchronized void start() {
         if (schedulerConfig.isEnabled() && (scheduledFuture == null || scheduledFuture.isDone())) {
             running = schedulerConfig.getStartMode() != StartMode.HALTED;
 
             // Init executors if needed.
             initExecutors();
+            // restarts refresh-ahead and the fallback reloads that close() stopped
+            if (dataFetcher instanceof CarbonIntensityDataFetcherImpl) {
+                ((CarbonIntensityDataFetcherImpl) dataFetcher).start();
+            }
+            if (fallbackApi != null) {
+                fallbackApi.start();
+            }
 
-            // Try to compute the initial delay to execute the checks near to the whole second
-            // Note that this does not guarantee anything, it's just best effort
-            LocalDateTime now = LocalDateTime.now(clock);
-            LocalDateTime trunc = now.plusSeconds(1).truncatedTo(ChronoUnit.SECONDS);
-            scheduledFuture = scheduledExecutor.scheduleAtFixedRate(this::checkTriggers, ChronoUnit.MILLIS.between(now, trunc),
-                    CHECK_PERIOD,
-                    TimeUnit.MILLISECONDS);
+            scheduleNextCheck();
         }
     }
 
@@ -269,17 +479,45 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
     @Override
     public void close() {
         log.info("Shutting down simple scheduler gracefully.");
-        if (scheduledFuture != null) {
-            scheduledFuture.cancel(false);
-            scheduledFuture = null;
+        ExecutorService checkExecutor = null;
+        synchronized (this) {
+            if (scheduledFuture != null) {
+                scheduledFuture.cancel(false);
+                scheduledFuture = null;
+            }
+            try {
+                if (scheduledExecutor != null) {
+                    scheduledExecutor.shutdownNow();
+                    scheduledExecutor = null;
+                }
+            } catch (Exception e) {
+                log.warn("Unable to shutdown the scheduler executor", e);
+            }
+            if (triggerCheckExecutor != null) {
+                triggerCheckExecutor.shutdownNow();
+                checkExecutor = triggerCheckExecutor;
+                triggerCheckExecutor = null;
+            }
+            if (planningExecutor != null) {
+                planningExecutor.shutdownNow();
+                planningExecutor = null;
+            }
+            if (dataFetcher instanceof CarbonIntensityDataFetcherImpl) {
+                ((CarbonIntensityDataFetcherImpl) dataFetcher).close();
+            }
+            if (fallbackApi != null) {
+                fallbackApi.close();
+            }
         }
-        try {
-            if (scheduledExecutor != null) {
-                scheduledExecutor.shutdownNow();
-                scheduledExecutor = null;
+        if (checkExecutor != null) {
+            // running shards may still dispatch jobs, wait for them outside the lock they need to re-arm the check
+            try {
+                if (!checkExecutor.awaitTermination(CHECK_PERIOD, TimeUnit.MILLISECONDS)) {
+                    log.warn("Unable to finish the trigger checks within {} ms", CHECK_PERIOD);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
-        } catch (Exception e) {
-            log.warn("Unable to shutdown the scheduler executor", e);
         }
         try {
             if (jobExecutor != null) {
@@ -295,6 +533,7 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
                     log.warn("Got interrupted during wait on graceful shutdown of job executor, shutting down now.");
                 } finally {
                     jobExecutor = null;
+                    jobDispatcher = null;
                 }
             }
         } catch (Exception e) {
@@ -316,26 +555,168 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
         return this.eventListeners.remove(listener);
     }
 
+    /**
+     * @return the number of fired jobs waiting for a job executor
+     */
+    public int getJobQueueDepth() {
+        var dispatcher = jobDispatcher;
+        return dispatcher != null ? dispatcher.getQueueDepth() : 0;
+    }
+
+    /**
+     * @return the number of fired jobs that were skipped because the job queue was full or, with
+     *         {@link SchedulerConfig.JobOverflowPolicy#COALESCE}, a previous execution was still waiting. Reset when
+     *         the scheduler is closed.
+     */
+    public long getRejectedJobCount() {
+        var dispatcher = jobDispatcher;
+        return dispatcher != null ? dispatcher.getRejectedCount() : 0L;
+    }
+
+    /**
+     * @return the number of planning requests answered with a plan computed for another job with the same constraints
+     */
+    public long getPlanCacheHitCount() {
+        return planCache.getHitCount();
+    }
+
+    /**
+     * @return the number of planning requests for which a plan was computed
+     */
+    public long getPlanCacheMissCount() {
+        return planCache.getMissCount();
+    }
+
     List<EventListener> getEventListeners() {
         return new ArrayList<>(this.eventListeners);
     }
 
     void checkTriggers() {
-        if (!running) {
-            log.trace("Skip all triggers - scheduler paused");
+        try {
+            if (!running) {
+                log.trace("Skip all triggers - scheduler paused");
+                return;
+            }
+            long nowMillis = clock.millis();
+            if (log.isTraceEnabled()) {
+                log.trace("Check triggers at {}", Instant.ofEpochMilli(nowMillis));
+            }
+            if (nowMillis < lastCheck - CHECK_PERIOD) {
+                log.debug("Clock moved backwards from {} to {}, re-evaluating all triggers", Instant.ofEpochMilli(lastCheck),
+                        Instant.ofEpochMilli(nowMillis));
+                scheduledTasks.values().forEach(task -> triggerQueue.schedule(task, nowMillis));
+            }
+            lastCheck = nowMillis;
+            List<ScheduledTask> due = triggerQueue.pollDue(nowMillis);
+            ExecutorService executor = triggerCheckExecutor;
+            if (executor == null || due.isEmpty()) {
+                checkTasks(due, nowMillis);
+            } else {
+                checkShards(executor, due, nowMillis);
+            }
+        } finally {
+            scheduleNextCheck();
+        }
+    }
+
+    /**
+     * Partitions the due tasks into shards by the identity of their trigger and evaluates each shard on the trigger check
+     * executor, so that a slow trigger only delays the triggers of its own shard. Does not wait for the shards: each one
+     * schedules its own tasks again and re-arms the trigger check when it is done, and the calling thread re-arms it
+     * right away, so the next check is not held up by a slow shard either.
+     */
+    private void checkShards(ExecutorService executor, List<ScheduledTask> due, long nowMillis) {
+        int shardCount = schedulerConfig.getTriggerCheckShards();
+        List<List<ScheduledTask>> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (ScheduledTask task : due) {
+            shards.get(Math.floorMod(task.trigger.id.hashCode(), shardCount)).add(task);
+        }
+        for (List<ScheduledTask> shard : shards) {
+            if (shard.isEmpty()) {
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        checkTasks(shard, nowMillis);
+                    } finally {
+                        scheduleNextCheck();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // the scheduler is closing
+                checkTasks(shard, nowMillis);
+            }
+        }
+    }
+
+    private void checkTasks(List<ScheduledTask> tasks, long nowMillis) {
+        JobDispatcher dispatcher = jobDispatcher;
+        if (dispatcher == null) {
+            // the scheduler has been closed
             return;
         }
-        ZonedDateTime now = ZonedDateTime.now(clock);
-        log.trace("Check triggers at {}", now);
-        for (ScheduledTask task : scheduledTasks.values()) {
+        for (ScheduledTask task : tasks) {
+            if (scheduledTasks.get(task.trigger.id) != task) {
+                // unscheduled in the meantime
+                continue;
+            }
             try {
-                task.execute(now, jobExecutor);
+                task.execute(nowMillis, dispatcher);
             } catch (Exception e) {
                 log.warn("Unexpected exception while executing trigger for {}", task.trigger.getMethodDescription(), e);
             }
+            // paused tasks are scheduled again when resumed
+            if (!task.trigger.isPaused()) {
+                triggerQueue.schedule(task, nextCheck(task, nowMillis));
+            }
         }
     }
 
+    private static long nextCheck(ScheduledTask task, long nowMillis) {
+        long dueAt;
+        try {
+            dueAt = task.trigger.nextCheck(nowMillis);
+        } catch (Exception e) {
+            log.warn("Unexpected exception while computing next check for {}", task.trigger.getMethodDescription(), e);
+            dueAt = nowMillis + CHECK_PERIOD;
+        }
+        // never check the same task twice within a single check
+        return Math.max(dueAt, nowMillis + 1);
+    }
+
+    /**
+     * Arms the trigger check for the earliest due task. The check is aligned to the whole second and never sleeps longer
+     * than {@link #MAX_CHECK_DELAY}. With {@link SchedulerConfig#isPreciseScheduling() precise scheduling} the check is
+     * armed at the exact time the task is due, with a delay in nanoseconds, and armed again for the next one after it.
+     * <p>
+     * May be called from any thread, the check itself always runs on the single thread of the scheduled executor.
+     */
+    private synchronized void scheduleNextCheck() {
+        if (scheduledExecutor == null || scheduledExecutor.isShutdown()) {
+            return;
+        }
+        Instant now = clock.instant();
+        long nowMillis = now.toEpochMilli();
+        long dueAt = running ? triggerQueue.nextDueAt() : Long.MAX_VALUE;
+        long checkAt = Math.min(dueAt, nowMillis + MAX_CHECK_DELAY);
+        long delay;
+        if (schedulerConfig.isPreciseScheduling()) {
+            delay = TimeUnit.MILLISECONDS.toNanos(checkAt - nowMillis) - now.getNano() % 1_000_000;
+        } else {
+            // align to the whole second, note that this does not guarantee anything, it's just best effort
+            checkAt = Math.floorDiv(checkAt + CHECK_PERIOD - 1, CHECK_PERIOD) * CHECK_PERIOD;
+            delay = TimeUnit.MILLISECONDS.toNanos(checkAt - nowMillis);
+        }
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(false);
+        }
+        scheduledFuture = scheduledExecutor.schedule(this::checkTriggers, Math.max(0, delay), TimeUnit.NANOSECONDS);
+    }
+
     @Override
     public void pause() {
         if (!enabled) {
@@ -379,6 +760,7 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
             log.warn("Scheduler is disabled and cannot be resumed");
         } else {
             running = true;
+            scheduleNextCheck();
             events.fireSchedulerResumed();
         }
     }
@@ -393,6 +775,8 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
         ScheduledTask task = scheduledTasks.get(identity);
         if (task != null) {
             task.trigger.setRunning(true);
+            triggerQueue.schedule(task, clock.millis());
+            scheduleNextCheck();
             events.fireJobResumed(task.trigger);
         }
     }
@@ -425,22 +809,97 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
 
         if (constraints instanceof FixedWindowPlanningConstraints) {
             var fixedWindowConstraints = (FixedWindowPlanningConstraints) constraints;
-            CarbonIntensityPlanner<FixedWindowPlanningConstraints> fixedWindowPlanner = new FixedWindowPlanner(dataFetcher);
+            CarbonIntensityPlanner<FixedWindowPlanningConstraints> fixedWindowPlanner = new FixedWindowPlanner(dataFetcher,
+                    loadAwareStrategy, sharedWindowStrategy, planCache);
             return new FixedWindowTrigger(id, methodDescription, overdueGracePeriod, fixedWindowPlanner,
-                    fixedWindowConstraints, clock);
+                    fixedWindowConstraints, this::getWindowVersion, clock);
         } else if (constraints instanceof SuccessivePlanningConstraints) {
             var successiveConstraints = (SuccessivePlanningConstraints) constraints;
-            CarbonIntensityPlanner<SuccessivePlanningConstraints> successivePlanner = new SuccessivePlanner(dataFetcher);
+            CarbonIntensityPlanner<SuccessivePlanningConstraints> successivePlanner = new SuccessivePlanner(dataFetcher,
+                    loadAwareStrategy, schedulerConfig.getPlanningHorizonRuns(), planCache);
             final var start = ZonedDateTime.now(clock).truncatedTo(ChronoUnit.SECONDS);
             return new SuccessiveTrigger(id, clock, start, methodDescription, overdueGracePeriod, successivePlanner,
-                    successiveConstraints);
+                    successiveConstraints, this::getDataVersion);
         }
         throw new IllegalArgumentException("Constraints type not implemented: " + constraints.getClass());
     }
 
+    private long getDataVersion(String zone, Instant start, Instant end) {
+        return dataFetcher != null ? dataFetcher.getDataVersion(zone, start, end) : 0L;
+    }
+
+    /**
+     * @return the version of the data of a fixed window, which also changes when a job joins the jobs it is planned
+     *         together with
+     */
+    private long getWindowVersion(String zone, Instant start, Instant end) {
+        long dataVersion = getDataVersion(zone, start, end);
+        return sharedWindowStrategy != null ? dataVersion + sharedWindowStrategy.getVersion(zone, start, end)
+                : dataVersion;
+    }
+
+    /**
+     * Checks the triggers that are planned with the changed carbon intensity data right away, so that they are planned
+     * again instead of firing at their outdated execution time. Triggers planned with other zones or days are left
+     * alone.
+     */
+    private void dataVersionChanged(String zone, Instant start, Instant end, long dataVersion) {
+        if (planAgain(zone, start, end)) {
+            log.debug("Carbon intensity data of {} from {} changed, planning affected triggers again", zone, start);
+        }
+    }
+
+    /**
+     * Checks the triggers of a window right away when a job joins the jobs of the window that are planned together, so
+     * that the triggers planned before fire at the time of the new assignment.
+     */
+    private void windowChanged(String zone, Instant start, Instant end, long version) {
+        if (planAgain(zone, start, end)) {
+            log.debug("Jobs of the window of {} from {} changed, planning the triggers of the window again", zone, start);
+        }
+    }
+
+    /**
+     * @return whether any trigger is planned with the data of the zone in the period
+     */
+    private boolean planAgain(String zone, Instant start, Instant end) {
+        long nowMillis = clock.millis();
+        boolean replanning = false;
+        for (ScheduledTask task : scheduledTasks.values()) {
+            if (task.trigger.isPlannedWith(zone, start, end)) {
+                triggerQueue.schedule(task, nowMillis);
+                replanning = true;
+            }
+        }
+        if (replanning) {
+            scheduleNextCheck();
+        }
+        return replanning;
+    }
+
     ScheduledTask registerTask(String id, ScheduledTask scheduledTask) {
         start();
-        return scheduledTasks.putIfAbsent(id, scheduledTask);
+        ScheduledTask existing = scheduledTasks.putIfAbsent(id, scheduledTask);
+        if (existing == null) {
+            scheduledTask.trigger.setPrecise(schedulerConfig.isPreciseScheduling());
+            scheduledTask.trigger.setPlanning(this::executePlanning, () -> {
+                // check the task as soon as its plan is available
+                triggerQueue.schedule(scheduledTask, clock.millis());
+                scheduleNextCheck();
+            });
+            triggerQueue.schedule(scheduledTask, clock.millis());
+            scheduleNextCheck();
+        }
+        return existing;
+    }
+
+    private void executePlanning(Runnable planning) {
+        ExecutorService executor = planningExecutor;
+        if (executor != null) {
+            executor.execute(planning);
+        } else {
+            planning.run();
+        }
     }
 
     public static ScheduledInvoker initInvoker(ScheduledInvoker invoker, Events events, ConcurrentExecution concurrentExecution,
@@ -485,21 +944,27 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
             this.isProgrammatic = isProgrammatic;
         }
 
-        void execute(ZonedDateTime now, ExecutorService executorService) {
-            if (trigger.isPaused()) {
+        void execute(long now, JobDispatcher jobDispatcher) {
+            if (!trigger.beginEvaluation()) {
+                // paused, or evaluated by another thread
                 return;
             }
-
-            // evaluate if we need to fire
-            ZonedDateTime scheduledFireTime = trigger.evaluate(now);
+            ZonedDateTime scheduledFireTime;
+            try {
+                // evaluate if we need to fire
+                scheduledFireTime = trigger.evaluate(now);
+            } finally {
+                trigger.endEvaluation();
+            }
             if (scheduledFireTime != null) {
-                executorService.execute(() -> doInvoke(now, scheduledFireTime));
+                var execution = new SimpleScheduledExecution(now, scheduledFireTime, trigger);
+                jobDispatcher.dispatch(execution, () -> doInvoke(execution));
             }
         }
 
-        void doInvoke(ZonedDateTime now, ZonedDateTime scheduledFireTime) {
+        void doInvoke(SimpleScheduledExecution execution) {
             try {
-                invoker.invoke(new SimpleScheduledExecution(now, scheduledFireTime, trigger));
+                invoker.invoke(execution);
             } catch (Exception t) {
                 // already logged by the StatusEmitterInvoker
             }
@@ -525,14 +990,26 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
         private final CarbonIntensityPlanner<SuccessivePlanningConstraints> successivePlanner;
         private final SuccessivePlanningConstraints constraints;
         private final Duration gracePeriod;
+        private final DataVersion dataVersion;
+        private final long minimumGapMillis;
+        private volatile PlanningPeriod planningPeriod;
 
         public SuccessiveTrigger(String id, Clock clock, ZonedDateTime start, String description, Duration gracePeriod,
                 CarbonIntensityPlanner<SuccessivePlanningConstraints> successivePlanner,
-                SuccessivePlanningConstraints constraints) {
+                SuccessivePlanningConstraints constraints, LongSupplier dataVersion) {
+            this(id, clock, start, description, gracePeriod, successivePlanner, constraints,
+                    (zone, from, to) -> dataVersion.getAsLong());
+        }
+
+        SuccessiveTrigger(String id, Clock clock, ZonedDateTime start, String description, Duration gracePeriod,
+                CarbonIntensityPlanner<SuccessivePlanningConstraints> successivePlanner,
+                SuccessivePlanningConstraints constraints, DataVersion dataVersion) {
             super(id, start, calculateFallbackInterval(constraints), gracePeriod, description, clock);
             this.successivePlanner = successivePlanner;
             this.constraints = constraints;
             this.gracePeriod = gracePeriod;
+            this.dataVersion = dataVersion;
+            this.minimumGapMillis = constraints.getMinimumGap().toMillis();
         }
 
         private static long calculateFallbackInterval(SuccessivePlanningConstraints constraints) {
@@ -540,43 +1017,95 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
             return constraints.getMinimumGap().plus(constraints.getMaximumGap()).dividedBy(2).toMillis();
         }
 
+        /**
+         * @param last the last fire time, or {@code null} for the first invocation
+         * @return the plan following the given fire time, or {@code null} if it is not available yet
+         */
+        private Plan plan(ZonedDateTime last) {
+            PlanningPeriod period = planningPeriod(last);
+            return plan(constraints, last, dataVersion(period), period.planner);
+        }
+
+        /**
+         * @return the version of the carbon intensity data the execution following the given fire time is planned with
+         */
+        private long dataVersion(PlanningPeriod period) {
+            return dataVersion.get(constraints.getCarbonIntensityZone(), period.from, period.to);
+        }
+
+        /**
+         * @return the planning period following the given fire time, created again only when the fire time changed
+         */
+        private PlanningPeriod planningPeriod(ZonedDateTime last) {
+            PlanningPeriod current = planningPeriod;
+            if (current == null || current.last != last) {
+                current = new PlanningPeriod(last);
+                planningPeriod = current;
+            }
+            return current;
+        }
+
+        @Override
+        boolean isPlannedWith(String zone, Instant from, Instant to) {
+            if (!successivePlanner.canSchedule(constraints) || !zone.equalsIgnoreCase(constraints.getCarbonIntensityZone())) {
+                return false;
+            }
+            PlanningPeriod period = planningPeriod(lastFireTime());
+            return period.from.isBefore(to) && period.to.isAfter(from);
+        }
+
+        @Override
+        String getCarbonIntensityZone() {
+            return successivePlanner.canSchedule(constraints) ? constraints.getCarbonIntensityZone() : null;
+        }
+
+        private ZonedDateTime planExecutionTime(ZonedDateTime last) {
+            return last == null ? successivePlanner.getNextExecutionTime(constraints)
+                    : successivePlanner.getNextExecutionTime(DefaultSuccessivePlanningConstraints.from(constraints)
+                            .withLastExecutionTime(last)
+                            .build());
+        }
+
         @Override
         public Instant getNextFireTime() {
             if (successivePlanner.canSchedule(constraints)) {
-                return successivePlanner.getNextExecutionTime(constraints).toInstant();
+                ZonedDateTime last = lastFireTime();
+                PlanningPeriod period = planningPeriod(last);
+                ZonedDateTime nextExecutionTime = awaitPlan(constraints, last, dataVersion(period),
+                        period.planner).nextExecutionTime;
+                return nextExecutionTime != null ? nextExecutionTime.toInstant() : null;
             }
             // fallback to interval trigger
             return super.getNextFireTime();
         }
 
         @Override
-        ZonedDateTime evaluate(ZonedDateTime now) {
+        ZonedDateTime evaluate(long now) {
             if (successivePlanner.canSchedule(constraints)) {
-                if (now.isBefore(start)) {
+                if (now < startMillis) {
                     return null;
                 }
 
-                ZonedDateTime nextExecutionTime = null;
+                Plan nextPlan = null;
+                ZonedDateTime last = lastFireTime();
 
                 // first invocation
-                if (lastFireTime == null) {
-                    nextExecutionTime = successivePlanner.getNextExecutionTime(constraints);
+                if (last == null) {
+                    nextPlan = plan(null);
                 }
 
                 // sequential invocations
-                if (lastFireTime != null && now.plusSeconds(1).isAfter(lastFireTime.plus(constraints.getMinimumGap()))) {
-                    nextExecutionTime = successivePlanner
-                            .getNextExecutionTime(DefaultSuccessivePlanningConstraints.from(constraints)
-                                    .withLastExecutionTime(lastFireTime)
-                                    .build());
+                if (last != null && now + 1000 > epochMillis(last) + minimumGapMillis) {
+                    nextPlan = plan(last);
                 }
 
+                ZonedDateTime nextExecutionTime = nextPlan != null ? nextPlan.nextExecutionTime : null;
                 if (nextExecutionTime != null) {
-                    ZonedDateTime nextTruncated = nextExecutionTime.truncatedTo(ChronoUnit.SECONDS);
-                    if (now.isAfter(nextTruncated) && (lastFireTime == null || lastFireTime.isBefore(nextTruncated))) {
-                        log.trace("{} fired, trigger={}", this, nextTruncated);
-                        lastFireTime = now;
-                        return nextTruncated;
+                    long nextDue = dueTime(epochMillis(nextExecutionTime));
+                    if (now > nextDue && (last == null || epochMillis(last) < nextDue)
+                            && fire(last, zonedDateTime(now))) {
+                        log.trace("{} fired, trigger={}", this, nextExecutionTime);
+                        return dueTime(nextExecutionTime);
                     }
                 }
                 return null;
@@ -585,6 +1114,30 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
             return super.evaluate(now);
         }
 
+        @Override
+        long nextCheck(long now) {
+            if (!successivePlanner.canSchedule(constraints)) {
+                // fallback to interval trigger
+                return super.nextCheck(now);
+            }
+            if (now < startMillis) {
+                return startMillis;
+            }
+            ZonedDateTime last = lastFireTime();
+            Plan nextPlan = plan(last);
+            if (nextPlan == null || nextPlan.nextExecutionTime == null) {
+                // checked again when planned
+                return now + CHECK_PERIOD;
+            }
+            long nextDue = dueTime(epochMillis(nextPlan.nextExecutionTime));
+            if (last == null) {
+                return nextDue;
+            }
+            // sequential invocations are only planned one second before the minimum gap has passed
+            long gapStart = epochMillis(last) + minimumGapMillis - 1000;
+            return Math.max(nextDue, gapStart);
+        }
+
         @Override
         public boolean isOverdue() {
             if (successivePlanner.canSchedule(constraints)) {
@@ -598,6 +1151,26 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
             // fallback to interval trigger
             return super.isOverdue();
         }
+
+        /**
+         * The day of carbon intensity data the execution following a fire time is planned with, and the planner of that
+         * execution, so that evaluating the trigger until it fires again creates neither.
+         */
+        private final class PlanningPeriod {
+
+            private final ZonedDateTime last;
+            private final Instant from;
+            private final Instant to;
+            private final Supplier<ZonedDateTime> planner;
+
+            private PlanningPeriod(ZonedDateTime last) {
+                ZonedDateTime periodStart = last != null ? last : constraints.getInitialStartTime();
+                this.last = last;
+                this.from = periodStart.toInstant();
+                this.to = periodStart.plusDays(1).toInstant();
+                this.planner = () -> planExecutionTime(last);
+            }
+        }
     }
 
     /**
@@ -606,9 +1179,13 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
      * <p>
      * The {@code SimpleTrigger} defines the fundamental structure for triggers, providing
      * essential scheduling attributes and methods for evaluating execution times.
-     * Concrete implementations must define the {@link #evaluate(ZonedDateTime)} method
+     * Concrete implementations must define the {@link #evaluate(long)} method
      * to determine when the trigger should fire.
      * </p>
+     * <p>
+     * Triggers are evaluated on every check with the current time in epoch millis. A {@link ZonedDateTime} is only
+     * created when a trigger fires, or when a time is exposed through {@link Trigger}.
+     * </p>
      * <h3>Usage</h3>
      * <p>
      * This class is intended to be extended by specific trigger implementations, such as
@@ -619,30 +1196,280 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
      */
     abstract static class SimpleTrigger implements Trigger {
 
+        private static final VarHandle STATE;
+
+        static {
+            try {
+                STATE = MethodHandles.lookup().findVarHandle(SimpleTrigger.class, "state", State.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
         protected final String id;
         protected final Clock clock;
         protected final String methodDescription;
-        private volatile boolean running;
         protected final ZonedDateTime start;
-        protected volatile ZonedDateTime lastFireTime;
+        protected final long startMillis;
+        // paused, in-flight, last fire time and plan, only replaced as a whole through STATE
+        private volatile State state = State.INITIAL;
+        private final AtomicReference<Plan> requestedPlan = new AtomicReference<>();
+        // epoch millis before which no plan is requested again after a failed request, 0 if the last one succeeded
+        private volatile long planRetryAt;
+        private volatile Executor planningExecutor = Runnable::run;
+        private volatile Runnable planListener = () -> {
+        };
+        // whether this trigger is due at the millisecond of its execution time instead of the whole second
+        private volatile boolean precise;
 
         SimpleTrigger(String id, Clock clock, ZonedDateTime start, String description) {
             this.id = id;
             this.clock = clock;
             this.start = start;
-            this.running = true;
+            this.startMillis = epochMillis(start);
             this.methodDescription = description;
         }
 
         /**
-         * @param now The current date-time in the default time carbonIntensityZone
+         * Same as {@code time.toInstant().toEpochMilli()}, without creating an {@link Instant}.
+         */
+        static long epochMillis(ZonedDateTime time) {
+            return time.toEpochSecond() * 1000 + time.getNano() / 1_000_000;
+        }
+
+        /**
+         * Same as truncating a date-time to {@link ChronoUnit#SECONDS}, offsets being whole seconds.
+         */
+        static long truncatedToSeconds(long epochMillis) {
+            return Math.floorDiv(epochMillis, 1000) * 1000;
+        }
+
+        /**
+         * Makes this trigger due at the exact millisecond of its execution times, see
+         * {@link SchedulerConfig#isPreciseScheduling()}. Only to be called before the trigger is evaluated.
+         */
+        void setPrecise(boolean precise) {
+            this.precise = precise;
+        }
+
+        /**
+         * @return the epoch millis at which an execution at the given epoch millis is due, truncated to seconds unless
+         *         this trigger is precise
+         */
+        final long dueTime(long epochMillis) {
+            return precise ? epochMillis : truncatedToSeconds(epochMillis);
+        }
+
+        /**
+         * @return the time at which an execution at the given time is due, truncated to seconds unless this trigger is
+         *         precise
+         */
+        final ZonedDateTime dueTime(ZonedDateTime time) {
+            return precise ? time : time.truncatedTo(ChronoUnit.SECONDS);
+        }
+
+        /**
+         * @return the given epoch millis in the time-zone of the clock of this trigger
+         */
+        ZonedDateTime zonedDateTime(long epochMillis) {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), clock.getZone());
+        }
+
+        /**
+         * @return the time this trigger last fired, or {@code null} if it has not fired yet
+         */
+        final ZonedDateTime lastFireTime() {
+            return state.lastFireTime;
+        }
+
+        /**
+         * Sets the last fire time to start from, only to be called while constructing the trigger.
+         */
+        final void initLastFireTime(ZonedDateTime lastFireTime) {
+            updateState(current -> current.withLastFireTime(lastFireTime));
+        }
+
+        /**
+         * Records that this trigger fired, unless it was paused or another evaluation fired it since the given last fire
+         * time was read. Evaluations return the fire time only when this succeeds, so that a trigger never fires twice
+         * for the same execution.
+         *
+         * @param last the last fire time the evaluation started from
+         * @param fireTime the new last fire time
+         * @return {@code true} if the trigger fired
+         */
+        final boolean fire(ZonedDateTime last, ZonedDateTime fireTime) {
+            State current;
+            do {
+                current = state;
+                if (current.paused || current.lastFireTime != last) {
+                    return false;
+                }
+            } while (!STATE.compareAndSet(this, current, current.withLastFireTime(fireTime)));
+            return true;
+        }
+
+        /**
+         * Marks this trigger as being evaluated.
+         *
+         * @return {@code false} if this trigger is paused or already being evaluated by another thread
+         */
+        final boolean beginEvaluation() {
+            State current;
+            do {
+                current = state;
+                if (current.paused || current.evaluating) {
+                    return false;
+                }
+            } while (!STATE.compareAndSet(this, current, current.withEvaluating(true)));
+            return true;
+        }
+
+        final void endEvaluation() {
+            updateState(current -> current.withEvaluating(false));
+        }
+
+        private void updateState(UnaryOperator<State> update) {
+            State current;
+            State next;
+            do {
+                current = state;
+                next = update.apply(current);
+            } while (next != current && !STATE.compareAndSet(this, current, next));
+        }
+
+        /**
+         * Plans on the given executor instead of the calling thread.
+         *
+         * @param planningExecutor executes the planning requests
+         * @param planListener called on the planning thread whenever a requested plan has been stored
+         */
+        void setPlanning(Executor planningExecutor, Runnable planListener) {
+            this.planningExecutor = planningExecutor;
+            this.planListener = planListener;
+        }
+
+        /**
+         * Returns the plan for the given constraints and last fire time without waiting for the planner. A missing plan,
+         * or one that was planned on an older carbon intensity data version, is requested from the planning executor; an
+         * outdated plan keeps being used until the new one is published.
+         *
+         * @param constraints the constraints to plan with
+         * @param lastFireTime the last fire time to plan from, may be {@code null}
+         * @param dataVersion the current carbon intensity data version
+         * @param planner computes the execution time
+         * @return the plan, or {@code null} if it is not available yet
+         */
+        Plan plan(PlanningConstraints constraints, ZonedDateTime lastFireTime, long dataVersion,
+                Supplier<ZonedDateTime> planner) {
+            Plan current = state.plan;
+            if (current != null && current.isValidFor(constraints, lastFireTime, dataVersion)) {
+                return current;
+            }
+            requestPlan(new Plan(constraints, lastFireTime, dataVersion, null), planner);
+            // the planning executor may have planned on this thread
+            current = state.plan;
+            return current != null && current.isValidFor(constraints, lastFireTime, current.dataVersion) ? current : null;
+        }
+
+        /**
+         * Same as {@link #plan(PlanningConstraints, ZonedDateTime, long, Supplier)}, but plans on the calling thread if
+         * no plan is available yet.
+         */
+        Plan awaitPlan(PlanningConstraints constraints, ZonedDateTime lastFireTime, long dataVersion,
+                Supplier<ZonedDateTime> planner) {
+            Plan current = plan(constraints, lastFireTime, dataVersion, planner);
+            if (current == null) {
+                Plan planned = new Plan(constraints, lastFireTime, dataVersion, planner.get());
+                updateState(existing -> existing.withPlan(planned));
+                current = planned;
+            }
+            return current;
+        }
+
+        private void requestPlan(Plan request, Supplier<ZonedDateTime> planner) {
+            if (planRetryAt != 0 && clock.millis() < planRetryAt) {
+                // the last request failed
+                return;
+            }
+            Plan pending = requestedPlan.get();
+            if (pending != null && pending.isValidFor(request.constraints, request.lastFireTime, request.dataVersion)
+                    || !requestedPlan.compareAndSet(pending, request)) {
+                // already requested
+                return;
+            }
+            try {
+                planningExecutor.execute(() -> {
+                    boolean stored = false;
+                    try {
+                        Plan planned = new Plan(request.constraints, request.lastFireTime, request.dataVersion,
+                                planner.get());
+                        // a newer request supersedes this one
+                        if (requestedPlan.get() == request) {
+                            updateState(current -> current.withPlan(planned));
+                            stored = true;
+                        }
+                        planRetryAt = 0;
+                    } catch (Exception e) {
+                        log.warn("Unable to plan the next execution of {}", methodDescription, e);
+                        // requested again by a regular check once the retry delay has passed
+                        planRetryAt = clock.millis() + PLAN_RETRY_DELAY;
+                    } finally {
+                        requestedPlan.compareAndSet(request, null);
+                    }
+                    if (stored) {
+                        planListener.run();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.debug("Planning executor is shut down, unable to plan the next execution of {}", methodDescription);
+                requestedPlan.compareAndSet(request, null);
+            }
+        }
+
+        /**
+         * @param now The current time in epoch millis
          * @return the scheduled time if fired, {@code null} otherwise
          */
-        abstract ZonedDateTime evaluate(ZonedDateTime now);
+        abstract ZonedDateTime evaluate(long now);
+
+        /**
+         * Whether the current plan of this trigger uses the carbon intensity data of a zone in a period, so that it has
+         * to be planned again when that data changes. Triggers that are not planned with carbon intensity data never
+         * are.
+         *
+         * @param zone the carbon intensity zone
+         * @param from the start of the period
+         * @param to the end of the period
+         * @return {@code true} if the plan overlaps the period of the zone
+         */
+        boolean isPlannedWith(String zone, Instant from, Instant to) {
+            return false;
+        }
+
+        /**
+         * @return the carbon intensity zone this trigger is planned with, or {@code null} if it is not planned with carbon
+         *         intensity data
+         */
+        String getCarbonIntensityZone() {
+            return null;
+        }
+
+        /**
+         * Called after {@link #evaluate(long)} to determine when this trigger needs to be evaluated again. By default,
+         * the trigger is evaluated again after {@link #CHECK_PERIOD}.
+         *
+         * @param now The current time in epoch millis
+         * @return epoch millis before which {@link #evaluate(long)} will not fire, or {@link Long#MAX_VALUE} if it will
+         *         not fire again
+         */
+        long nextCheck(long now) {
+            return now + CHECK_PERIOD;
+        }
 
         @Override
         public Instant getPreviousFireTime() {
-            ZonedDateTime last = lastFireTime;
+            ZonedDateTime last = lastFireTime();
             return last != null ? last.toInstant() : null;
         }
 
@@ -650,22 +1477,111 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
             return id;
         }
 
-        synchronized boolean isPaused() {
-            return !running;
+        boolean isPaused() {
+            return state.paused;
         }
 
-        synchronized void setRunning(boolean running) {
-            this.running = running;
+        void setRunning(boolean running) {
+            updateState(current -> current.withPaused(!running));
         }
 
         @Override
         public String getMethodDescription() {
             return methodDescription;
         }
+
+        /**
+         * The mutable state of a trigger. A new state replaces the current one with a compare-and-set, so that pausing,
+         * evaluating and publishing plans never lock and never lose an update of another thread.
+         */
+        static final class State {
+
+            static final State INITIAL = new State(false, false, null, null);
+
+            final boolean paused;
+            final boolean evaluating;
+            final ZonedDateTime lastFireTime;
+            final Plan plan;
+            // the same state with the other evaluating flag, so that evaluating a trigger that does not fire allocates
+            // nothing; racing threads may both create it, which is harmless
+            private State twin;
+
+            private State(boolean paused, boolean evaluating, ZonedDateTime lastFireTime, Plan plan) {
+                this.paused = paused;
+                this.evaluating = evaluating;
+                this.lastFireTime = lastFireTime;
+                this.plan = plan;
+            }
+
+            State withPaused(boolean paused) {
+                return paused == this.paused ? this : new State(paused, evaluating, lastFireTime, plan);
+            }
+
+            State withEvaluating(boolean evaluating) {
+                if (evaluating == this.evaluating) {
+                    return this;
+                }
+                State other = twin;
+                if (other == null) {
+                    other = new State(paused, evaluating, lastFireTime, plan);
+                    other.twin = this;
+                    twin = other;
+                }
+                return other;
+            }
+
+            State withLastFireTime(ZonedDateTime lastFireTime) {
+                return new State(paused, evaluating, lastFireTime, plan);
+            }
+
+            State withPlan(Plan plan) {
+                return new State(paused, evaluating, lastFireTime, plan);
+            }
+        }
+
+        /**
+         * Returns the version of the carbon intensity data of a zone in a period.
+         */
+        @FunctionalInterface
+        interface DataVersion {
+
+            long get(String zone, Instant from, Instant to);
+        }
+
+        /**
+         * An execution time planned by a {@link CarbonIntensityPlanner}. The plan is reused until the constraints, the last
+         * fire time or the carbon intensity data version it was planned for changes. A requested plan has no execution
+         * time yet.
+         */
+        static final class Plan {
+
+            private final PlanningConstraints constraints;
+            private final ZonedDateTime lastFireTime;
+            private final long dataVersion;
+            final ZonedDateTime nextExecutionTime;
+
+            Plan(PlanningConstraints constraints, ZonedDateTime lastFireTime, long dataVersion,
+                    ZonedDateTime nextExecutionTime) {
+                this.constraints = constraints;
+                this.lastFireTime = lastFireTime;
+                this.dataVersion = dataVersion;
+                this.nextExecutionTime = nextExecutionTime;
+            }
+
+            boolean isValidFor(PlanningConstraints constraints, ZonedDateTime lastFireTime, long dataVersion) {
+                return this.constraints == constraints && Objects.equals(this.lastFireTime, lastFireTime)
+                        && this.dataVersion == dataVersion;
+            }
+        }
     }
 
     /**
      * A trigger implementation that schedules tasks based on a cron expression.
+     * <p>
+     * The next execution after the last fire time is computed once and kept as epoch millis, so that evaluating the
+     * trigger before it is due is a single comparison. It is computed again after the trigger fired. The next execution
+     * only depends on the last fire time, so it stays valid when the clock jumps; when the clock passes it, the last
+     * execution before now is fired, as before.
      *
      * @see SimpleTrigger
      * @see Cron
@@ -676,39 +1592,70 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
         private final ExecutionTime executionTime;
         private final Duration gracePeriod;
         private final ZoneId timeZone;
+        private volatile NextExecution nextExecution;
 
         CronTrigger(String id, ZonedDateTime start, Cron cron, Duration gracePeriod, String description,
                 Clock clock) {
             super(id, clock, start, description);
             this.cron = cron;
             this.executionTime = ExecutionTime.forCron(cron);
-            this.lastFireTime = start;
+            initLastFireTime(start);
             this.gracePeriod = gracePeriod;
             this.timeZone = start.getZone();
         }
 
+        @Override
+        void setPrecise(boolean precise) {
+            super.setPrecise(precise);
+            nextExecution = null;
+        }
+
+        /**
+         * @return the next execution after the current last fire time, computed again only when that changed
+         */
+        private NextExecution nextExecution() {
+            ZonedDateTime last = lastFireTime();
+            NextExecution current = nextExecution;
+            if (current == null || current.after != last) {
+                ZonedDateTime time = this.executionTime.nextExecution(last).orElse(null);
+                current = new NextExecution(last, time, time != null ? dueTime(epochMillis(time)) : Long.MAX_VALUE);
+                nextExecution = current;
+            }
+            return current;
+        }
+
         public Instant getNextFireTime() {
-            return this.executionTime.nextExecution(this.lastFireTime).map(ChronoZonedDateTime::toInstant)
-                    .orElse(null);
+            ZonedDateTime next = nextExecution().time;
+            return next != null ? next.toInstant() : null;
         }
 
-        ZonedDateTime evaluate(ZonedDateTime now) {
-            if (now.isBefore(this.start)) {
+        ZonedDateTime evaluate(long now) {
+            NextExecution next = nextExecution();
+            if (now < this.startMillis || now < next.epochMillis) {
+                // not due yet
                 return null;
-            } else {
-                now = this.zoned(now);
-                Optional<ZonedDateTime> lastExecution = this.executionTime.lastExecution(now);
-                if (lastExecution.isPresent()) {
-                    ZonedDateTime lastTruncated = lastExecution.get().truncatedTo(ChronoUnit.SECONDS);
-                    if (now.isAfter(lastTruncated) && (lastFireTime == null || lastFireTime.isBefore(lastTruncated))) {
-                        log.trace("{} fired, last={}", this, lastTruncated);
-                        this.lastFireTime = now;
-                        return lastTruncated;
-                    }
+            }
+            ZonedDateTime zonedNow = this.zoned(zonedDateTime(now));
+            // fire the last execution before now, skipping the ones missed in between
+            Optional<ZonedDateTime> lastExecution = this.executionTime.lastExecution(zonedNow);
+            if (lastExecution.isPresent()) {
+                ZonedDateTime lastDue = dueTime(lastExecution.get());
+                ZonedDateTime last = next.after;
+                if (zonedNow.isAfter(lastDue) && (last == null || last.isBefore(lastDue))
+                        && fire(last, zonedNow)) {
+                    log.trace("{} fired, last={}", this, lastDue);
+                    return lastDue;
                 }
+            }
+            return null;
+        }
 
-                return null;
+        @Override
+        long nextCheck(long now) {
+            if (now < this.startMillis) {
+                return this.startMillis;
             }
+            return nextExecution().epochMillis;
         }
 
         public boolean isOverdue() {
@@ -717,8 +1664,8 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
                 return false;
             } else {
                 now = this.zoned(now);
-                Optional<ZonedDateTime> nextFireTime = this.executionTime.nextExecution(this.lastFireTime);
-                return nextFireTime.isEmpty() || nextFireTime.get().plus(this.gracePeriod).isBefore(now);
+                ZonedDateTime nextFireTime = nextExecution().time;
+                return nextFireTime == null || nextFireTime.plus(this.gracePeriod).isBefore(now);
             }
         }
 
@@ -730,6 +1677,23 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
         private ZonedDateTime zoned(ZonedDateTime time) {
             return this.timeZone == null ? time : time.withZoneSameInstant(this.timeZone);
         }
+
+        /**
+         * The next execution after a last fire time.
+         */
+        private static final class NextExecution {
+
+            private final ZonedDateTime after;
+            private final ZonedDateTime time;
+            // the due time, Long.MAX_VALUE if there is none
+            private final long epochMillis;
+
+            private NextExecution(ZonedDateTime after, ZonedDateTime time, long epochMillis) {
+                this.after = after;
+                this.time = time;
+                this.epochMillis = epochMillis;
+            }
+        }
     }
 
     /**
@@ -752,47 +1716,108 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
 
         private final CarbonIntensityPlanner<FixedWindowPlanningConstraints> planner;
         private final Duration overdueGracePeriod;
-        private FixedWindowPlanningConstraints constraints;
+        private final DataVersion dataVersion;
+        private volatile FixedWindowPlanningConstraints constraints;
+        private volatile Window window;
 
         FixedWindowTrigger(String id, String description, Duration overdueGracePeriod,
                 CarbonIntensityPlanner<FixedWindowPlanningConstraints> planner,
                 FixedWindowPlanningConstraints constraints,
+                LongSupplier dataVersion,
+                Clock clock) {
+            this(id, description, overdueGracePeriod, planner, constraints, (zone, from, to) -> dataVersion.getAsLong(),
+                    clock);
+        }
+
+        FixedWindowTrigger(String id, String description, Duration overdueGracePeriod,
+                CarbonIntensityPlanner<FixedWindowPlanningConstraints> planner,
+                FixedWindowPlanningConstraints constraints,
+                DataVersion dataVersion,
                 Clock clock) {
             super(id, constraints.getStart(), constraints.getFallbackCronExpression(),
                     overdueGracePeriod, description, clock);
             this.planner = planner;
             this.constraints = constraints;
-            this.lastFireTime = start.minusSeconds(1); // Minus 1 second so that it will run if deployed during the window (and greenest window is at the start)
+            this.dataVersion = dataVersion;
+            initLastFireTime(start.minusSeconds(1)); // Minus 1 second so that it will run if deployed during the window (and greenest window is at the start)
             this.overdueGracePeriod = overdueGracePeriod;
         }
 
+        /**
+         * @return the current window, created again only when the constraints moved to the next window
+         */
+        private Window window() {
+            FixedWindowPlanningConstraints windowConstraints = constraints;
+            Window current = window;
+            if (current == null || current.constraints != windowConstraints) {
+                current = new Window(windowConstraints);
+                window = current;
+            }
+            return current;
+        }
+
+        /**
+         * @return the planned execution time within the window, or {@code null} if it is not available yet
+         */
+        private ZonedDateTime plannedExecutionTime(Window window) {
+            Plan current = plan(window.constraints, null, dataVersion(window), window.planner);
+            return current != null ? current.nextExecutionTime : null;
+        }
+
+        /**
+         * @return the version of the carbon intensity data of the window
+         */
+        private long dataVersion(Window window) {
+            return dataVersion.get(window.constraints.getCarbonIntensityZone(), window.start, window.end);
+        }
+
+        @Override
+        boolean isPlannedWith(String zone, Instant from, Instant to) {
+            Window current = window();
+            return planner.canSchedule(current.constraints)
+                    && zone.equalsIgnoreCase(current.constraints.getCarbonIntensityZone())
+                    && current.start.isBefore(to)
+                    && current.end.isAfter(from);
+        }
+
+        @Override
+        String getCarbonIntensityZone() {
+            FixedWindowPlanningConstraints windowConstraints = constraints;
+            return planner.canSchedule(windowConstraints) ? windowConstraints.getCarbonIntensityZone() : null;
+        }
+
         @Override
         public Instant getNextFireTime() {
-            return planner.getNextExecutionTime(constraints).toInstant();
+            Window current = window();
+            ZonedDateTime nextExecutionTime = awaitPlan(current.constraints, null, dataVersion(current),
+                    current.planner).nextExecutionTime;
+            return nextExecutionTime != null ? nextExecutionTime.toInstant() : null;
         }
 
         @Override
-        ZonedDateTime evaluate(ZonedDateTime now) {
-            if (!planner.canSchedule(constraints)) {
+        ZonedDateTime evaluate(long now) {
+            Window current = window();
+            if (!planner.canSchedule(current.constraints)) {
                 // fallback to cron trigger
                 return super.evaluate(now);
             }
 
-            if (!(now.isAfter(constraints.getStart())
-                    && now.isBefore(constraints.getEnd().plus(overdueGracePeriod)))) {
+            if (!(now > current.startMillis && now < current.overdueMillis)) {
                 return null;
             }
 
             // first invocation
-            if (lastFireTime == null || now.isAfter(lastFireTime)) {
-                ZonedDateTime nextExecutionTime = planner.getNextExecutionTime(constraints);
+            ZonedDateTime last = lastFireTime();
+            if (last == null || now > epochMillis(last)) {
+                ZonedDateTime nextExecutionTime = plannedExecutionTime(current);
                 if (nextExecutionTime != null) {
-                    ZonedDateTime nextTruncated = nextExecutionTime.truncatedTo(ChronoUnit.SECONDS);
-                    if (now.isAfter(nextTruncated) && (lastFireTime == null || lastFireTime.isBefore(nextTruncated))) {
-                        log.trace("{} fired, trigger={}, updating constraints for next run", this, nextTruncated);
-                        lastFireTime = now;
-                        constraints = DefaultFixedWindowPlanningConstraints.from(constraints)
-                                .withStartAndEnd(constraints.getStart().plusDays(1), constraints.getEnd().plusDays(1))
+                    long nextDue = dueTime(epochMillis(nextExecutionTime));
+                    if (now > nextDue && (last == null || epochMillis(last) < nextDue)
+                            && fire(last, zonedDateTime(now))) {
+                        log.trace("{} fired, trigger={}, updating constraints for next run", this, nextExecutionTime);
+                        constraints = DefaultFixedWindowPlanningConstraints.from(current.constraints)
+                                .withStartAndEnd(current.constraints.getStart().plusDays(1),
+                                        current.constraints.getEnd().plusDays(1))
                                 .build();
                         return nextExecutionTime;
                     }
@@ -802,10 +1827,53 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
             return null;
         }
 
+        @Override
+        long nextCheck(long now) {
+            Window current = window();
+            if (!planner.canSchedule(current.constraints)) {
+                // fallback to cron trigger
+                return super.nextCheck(now);
+            }
+            if (now >= current.overdueMillis) {
+                // the window has passed, the constraints are only moved to the next window after a fire
+                return Long.MAX_VALUE;
+            }
+            ZonedDateTime nextExecutionTime = plannedExecutionTime(current);
+            if (nextExecutionTime == null) {
+                // checked again when planned
+                return now + CHECK_PERIOD;
+            }
+            return Math.max(dueTime(epochMillis(nextExecutionTime)), current.startMillis);
+        }
+
         @Override
         public boolean isOverdue() {
             return false;
         }
+
+        /**
+         * The bounds of a window and the planner of its execution, so that evaluating the trigger until it moves to the
+         * next window creates neither.
+         */
+        private final class Window {
+
+            private final FixedWindowPlanningConstraints constraints;
+            private final Instant start;
+            private final Instant end;
+            private final long startMillis;
+            // the end of the window plus the overdue grace period
+            private final long overdueMillis;
+            private final Supplier<ZonedDateTime> planner;
+
+            private Window(FixedWindowPlanningConstraints constraints) {
+                this.constraints = constraints;
+                this.start = constraints.getStart().toInstant();
+                this.end = constraints.getEnd().toInstant();
+                this.startMillis = start.toEpochMilli();
+                this.overdueMillis = end.plus(overdueGracePeriod).toEpochMilli();
+                this.planner = () -> FixedWindowTrigger.this.planner.getNextExecutionTime(constraints);
+            }
+        }
     }
 
     /**
@@ -838,28 +1906,40 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
         }
 
         @Override
-        ZonedDateTime evaluate(ZonedDateTime now) {
-            if (now.isBefore(start)) {
+        ZonedDateTime evaluate(long now) {
+            if (now < startMillis) {
                 return null;
             }
-            if (lastFireTime == null) {
+            ZonedDateTime last = lastFireTime();
+            if (last == null) {
                 // First execution
-                lastFireTime = now.truncatedTo(ChronoUnit.SECONDS);
-                return now;
+                ZonedDateTime fireTime = zonedDateTime(now);
+                return fire(null, dueTime(fireTime)) ? fireTime : null;
             }
-            long diff = ChronoUnit.MILLIS.between(lastFireTime, now);
-            if (diff >= interval) {
-                ZonedDateTime scheduledFireTime = lastFireTime.plus(Duration.ofMillis(interval));
-                lastFireTime = now.truncatedTo(ChronoUnit.SECONDS);
+            long diff = now - epochMillis(last);
+            if (diff >= interval && fire(last, zonedDateTime(dueTime(now)))) {
+                ZonedDateTime scheduledFireTime = last.plus(interval, ChronoUnit.MILLIS);
                 log.trace("{} fired, diff={} ms", this, diff);
                 return scheduledFireTime;
             }
             return null;
         }
 
+        @Override
+        long nextCheck(long now) {
+            if (now < startMillis) {
+                return startMillis;
+            }
+            ZonedDateTime last = lastFireTime();
+            if (last == null) {
+                return now;
+            }
+            return epochMillis(last) + interval;
+        }
+
         @Override
         public Instant getNextFireTime() {
-            ZonedDateTime last = lastFireTime;
+            ZonedDateTime last = lastFireTime();
             if (last == null) {
                 last = start;
             }
@@ -872,7 +1952,8 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
             if (now.isBefore(start)) {
                 return false;
             }
-            return lastFireTime == null || lastFireTime.plus(Duration.ofMillis(interval))
+            ZonedDateTime last = lastFireTime();
+            return last == null || last.plus(Duration.ofMillis(interval))
                     .plus(gracePeriod)
                     .isBefore(now);
         }
@@ -897,11 +1978,12 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
      */
     static class SimpleScheduledExecution implements ScheduledExecution {
 
-        private final ZonedDateTime fireTime;
+        // epoch millis
+        private final long fireTime;
         private final ZonedDateTime scheduledFireTime;
         private final Trigger trigger;
 
-        public SimpleScheduledExecution(ZonedDateTime fireTime, ZonedDateTime scheduledFireTime, SimpleTrigger trigger) {
+        public SimpleScheduledExecution(long fireTime, ZonedDateTime scheduledFireTime, SimpleTrigger trigger) {
             this.fireTime = fireTime;
             this.scheduledFireTime = scheduledFireTime;
             this.trigger = trigger;
@@ -914,7 +1996,7 @@ public class SimpleScheduler implements Scheduler, AutoCloseable {
 
         @Override
         public Instant getFireTime() {
-            return fireTime.toInstant();
+            return Instant.ofEpochMilli(fireTime);
         }
 
         @Override
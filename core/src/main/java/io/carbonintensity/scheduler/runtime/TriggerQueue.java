@@ -0,0 +1,115 @@
+package io.carbonintensity.scheduler.runtime;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import io.carbonintensity.scheduler.runtime.SimpleScheduler.ScheduledTask;
+
+/**
+ * Time-ordered index of the scheduled tasks, keyed on the epoch millisecond at which the trigger of each task has to be
+ * evaluated next.
+ * <p>
+ * The trigger check only polls the tasks that are due, instead of evaluating every registered task on each check. A task
+ * has at most one live entry: scheduling a task again supersedes its previous entry, which is discarded once it reaches
+ * the head of the queue. Superseded entries are purged as soon as they outnumber the live ones, so the queue stays
+ * bounded by twice the number of tasks.
+ *
+ * @see SimpleScheduler
+ */
+final class TriggerQueue {
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private final Map<ScheduledTask, Entry> entries = new IdentityHashMap<>();
+    private long sequence;
+    // superseded entries that are still in the queue
+    private int stale;
+
+    /**
+     * Schedules the task to be evaluated at the given time.
+     *
+     * @param task the task
+     * @param dueAt epoch millis at which the task is due, {@link Long#MAX_VALUE} if it never needs to be evaluated again
+     */
+    synchronized void schedule(ScheduledTask task, long dueAt) {
+        remove(task);
+        if (dueAt == Long.MAX_VALUE) {
+            return;
+        }
+        Entry entry = new Entry(task, dueAt, sequence++);
+        entries.put(task, entry);
+        queue.add(entry);
+    }
+
+    synchronized void remove(ScheduledTask task) {
+        if (entries.remove(task) != null && ++stale > entries.size()) {
+            queue.removeIf(entry -> entries.get(entry.task) != entry);
+            stale = 0;
+        }
+    }
+
+    /**
+     * Removes and returns all tasks that are due at the given time, in order of their due time.
+     *
+     * @param now epoch millis
+     * @return the due tasks, never {@code null}
+     */
+    synchronized List<ScheduledTask> pollDue(long now) {
+        // a check without due tasks allocates nothing
+        List<ScheduledTask> due = List.of();
+        Entry head;
+        while ((head = queue.peek()) != null && head.dueAt <= now) {
+            queue.poll();
+            if (entries.remove(head.task, head)) {
+                if (due.isEmpty()) {
+                    due = new ArrayList<>();
+                }
+                due.add(head.task);
+            } else {
+                stale--;
+            }
+        }
+        return due;
+    }
+
+    /**
+     * @return epoch millis at which the earliest task is due, or {@link Long#MAX_VALUE} if no task is scheduled
+     */
+    synchronized long nextDueAt() {
+        Entry head;
+        while ((head = queue.peek()) != null && entries.get(head.task) != head) {
+            queue.poll();
+            stale--;
+        }
+        return head != null ? head.dueAt : Long.MAX_VALUE;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized int queuedEntries() {
+        return queue.size();
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+
+        private final ScheduledTask task;
+        private final long dueAt;
+        private final long sequence;
+
+        private Entry(ScheduledTask task, long dueAt, long sequence) {
+            this.task = task;
+            this.dueAt = dueAt;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            int result = Long.compare(dueAt, o.dueAt);
+            return result != 0 ? result : Long.compare(sequence, o.sequence);
+        }
+    }
+}
@@ -1,14 +1,28 @@
 package io.carbonintensity.scheduler.runtime.impl.rest;
 
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
 import java.io.IOException;
-import java.net.URL;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Objects;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
@@ -23,12 +37,46 @@ import io.carbonintensity.executionplanner.spi.CarbonIntensityApi;
 /**
  * This implementation gets data from the file system. Each carbonIntensityZone has a directory with a dataset
  * for each timezone.
+ * <p>
+ * Each dataset is parsed once and kept in memory. The data returned for a period shares the data list of its dataset,
+ * which cannot be modified. Datasets in an optional external directory take precedence over the ones on the classpath;
+ * the directory is watched and its datasets are reloaded when its files change.
  */
-public class CarbonIntensityFileApi implements CarbonIntensityApi {
+public class CarbonIntensityFileApi implements CarbonIntensityApi, AutoCloseable {
 
     private static final Logger logger = LoggerFactory.getLogger(CarbonIntensityFileApi.class);
     private static final String BASE_DIRECTORY = "fallback";
+    private static final String DEFAULT_TIMEZONE = "z";
+    private static final String FILE_EXTENSION = ".json";
+    private static final long WATCHER_STOP_TIMEOUT_MILLIS = 5000;
     private final CarbonIntensityJsonParser jsonParser = new CarbonIntensityJsonParser();
+    private final Map<String, Optional<Dataset>> classpathDatasets = new ConcurrentHashMap<>();
+    private final Path directory;
+    private volatile Index index = new Index(Map.of());
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * Creates the API with the datasets on the classpath.
+     */
+    public CarbonIntensityFileApi() {
+        this(null);
+    }
+
+    /**
+     * Creates the API with the datasets in the given directory, which take precedence over the ones on the classpath.
+     * The directory has the same layout as the classpath: {@code <zone>/<timezone>.json}, {@code <zone>/z.json} and
+     * {@code z.json}.
+     *
+     * @param directory directory with datasets, or {@code null} to only use the classpath
+     */
+    public CarbonIntensityFileApi(Path directory) {
+        this.directory = directory;
+        if (directory != null) {
+            loadDirectory();
+            watchDirectory();
+        }
+    }
 
     private static String getTimezone(ZonedDateTime startTime) {
         return startTime.getZone()
@@ -45,9 +93,8 @@ public class CarbonIntensityFileApi implements CarbonIntensityApi {
         logger.debug("Getting fallback data for carbonIntensityZone {} and timezone {}", zone, timezone);
 
         try {
-            var resource = getJsonFileUrl(zone, timezone);
-            var carbonIntensity = parseJsonFile(zonedPeriod, resource);
-            return CompletableFuture.completedFuture(carbonIntensity);
+            var dataset = getDataset(zone, timezone);
+            return CompletableFuture.completedFuture(dataset.view(zonedPeriod));
         } catch (IOException e) {
             logger.error("Failed to get data", e);
             return CompletableFuture.failedFuture(new CarbonIntensityApiException(e));
@@ -56,39 +103,206 @@ public class CarbonIntensityFileApi implements CarbonIntensityApi {
 
     @Override
     public boolean isEnabled() {
-        return Files.isDirectory(Paths.get(BASE_DIRECTORY));
+        return Files.isDirectory(Paths.get(BASE_DIRECTORY)) || (directory != null && Files.isDirectory(directory));
     }
 
-    private CarbonIntensity parseJsonFile(ZonedCarbonIntensityPeriod zonedPeriod, URL jsonFilePath) throws IOException {
-        var carbonIntensity = jsonParser.parse(jsonFilePath.openStream());
-        enrichData(zonedPeriod, carbonIntensity);
-        return carbonIntensity;
+    /**
+     * Watches the external directory again after {@link #close()}. The directory is reloaded first, to pick up the
+     * changes made while it was not watched. Does nothing when the directory is watched already.
+     */
+    public synchronized void start() {
+        if (directory == null || watchService != null) {
+            return;
+        }
+        loadDirectory();
+        watchDirectory();
     }
 
-    private static void enrichData(ZonedCarbonIntensityPeriod zonedPeriod, CarbonIntensity carbonIntensity) {
-        var start = truncateToHours(zonedPeriod.getStartTime());
-        var end = truncateToHours(zonedPeriod.getEndTime());
-        carbonIntensity.setStart(start);
-        carbonIntensity.setEnd(end);
-        carbonIntensity.setZone(zonedPeriod.getZone());
+    /**
+     * Stops watching the external directory and waits for a reload that is in progress to finish.
+     */
+    @Override
+    public synchronized void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Unable to stop watching fallback directory {}", directory, e);
+            }
+            watchService = null;
+        }
+        if (watcher != null) {
+            try {
+                watcher.join(WATCHER_STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            watcher = null;
+        }
+    }
+
+    private Dataset getDataset(String zone, String timezone) throws IOException {
+        var currentIndex = index;
+        var dataset = currentIndex.resolvedDatasets.get(zone + "/" + timezone);
+        if (dataset == null) {
+            dataset = Stream.of(zone + "/" + timezone, zone + "/" + DEFAULT_TIMEZONE, DEFAULT_TIMEZONE)
+                    .map(name -> findDataset(currentIndex, name))
+                    .flatMap(Optional::stream)
+                    .findFirst()
+                    .orElseThrow(() -> new IOException(
+                            "No matching file found for carbonIntensityZone [" + zone + "] and timezone [" + timezone
+                                    + "]"));
+            currentIndex.resolvedDatasets.put(zone + "/" + timezone, dataset);
+        }
+        return dataset;
+    }
+
+    /**
+     * @param name dataset name, the path of its file relative to the base directory without extension
+     */
+    private Optional<Dataset> findDataset(Index currentIndex, String name) {
+        var dataset = currentIndex.directoryDatasets.get(name);
+        if (dataset != null) {
+            return Optional.of(dataset);
+        }
+        return classpathDatasets.computeIfAbsent(name, this::loadClasspathDataset);
+    }
+
+    private Optional<Dataset> loadClasspathDataset(String name) {
+        var resourceName = "/" + BASE_DIRECTORY + "/" + name + FILE_EXTENSION;
+        try (var inputStream = this.getClass().getResourceAsStream(resourceName)) {
+            return inputStream != null ? Optional.of(parseDataset(inputStream)) : Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to read fallback dataset {}", resourceName, e);
+            return Optional.empty();
+        }
+    }
+
+    private Dataset parseDataset(InputStream inputStream) {
+        var carbonIntensity = jsonParser.parse(inputStream);
+        return new Dataset(carbonIntensity.getResolution(), carbonIntensity.getData());
+    }
+
+    private void loadDirectory() {
+        Map<String, Dataset> datasets = new HashMap<>();
+        if (Files.isDirectory(directory)) {
+            try (var files = Files.walk(directory, 2)) {
+                files.filter(file -> Files.isRegularFile(file) && file.getFileName().toString().endsWith(FILE_EXTENSION))
+                        .forEach(file -> loadDirectoryDataset(file).ifPresent(
+                                dataset -> datasets.put(datasetName(file), dataset)));
+            } catch (IOException e) {
+                logger.warn("Failed to read fallback directory {}", directory, e);
+            }
+        }
+        logger.debug("Loaded {} fallback datasets from {}", datasets.size(), directory);
+        index = new Index(datasets);
+    }
+
+    private Optional<Dataset> loadDirectoryDataset(Path file) {
+        try (var inputStream = Files.newInputStream(file)) {
+            return Optional.of(parseDataset(inputStream));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to read fallback dataset {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    private String datasetName(Path file) {
+        var name = directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+        return name.substring(0, name.length() - FILE_EXTENSION.length()).toLowerCase();
+    }
+
+    private synchronized void watchDirectory() {
+        WatchService service;
+        try {
+            service = directory.getFileSystem().newWatchService();
+            watchService = service;
+            register(service, directory);
+            try (var directories = Files.list(directory)) {
+                for (Path zoneDirectory : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator) {
+                    register(service, zoneDirectory);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to watch fallback directory {}, changes will not be picked up", directory, e);
+            close();
+            return;
+        }
+        watcher = new Thread(() -> processEvents(service), "green-scheduler-fallback-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static void register(WatchService service, Path path) throws IOException {
+        path.register(service, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+    }
+
+    /**
+     * Reloads the directory on changes until the watch service is closed. Only uses the given service, as
+     * {@link #close()} clears the field while this runs.
+     */
+    private void processEvents(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                for (var event : key.pollEvents()) {
+                    var changed = ((Path) key.watchable()).resolve((Path) event.context());
+                    if (event.kind() == ENTRY_CREATE && Files.isDirectory(changed)
+                            && ((Path) key.watchable()).equals(directory)) {
+                        register(service, changed);
+                    }
+                }
+                key.reset();
+                loadDirectory();
+            }
+        } catch (ClosedWatchServiceException e) {
+            logger.debug("Stopped watching fallback directory {}", directory);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.warn("Stopped watching fallback directory {}", directory, e);
+        }
     }
 
     private static Instant truncateToHours(ZonedDateTime zonedPeriod) {
         return zonedPeriod.toInstant().truncatedTo(ChronoUnit.HOURS);
     }
 
-    private URL getJsonFileUrl(String zone, String timezone) throws IOException {
-        return Stream.of(
-                getResource(String.format("/%s/%s/%s.json", BASE_DIRECTORY, zone, timezone)),
-                getResource(String.format("/%s/%s/z.json", BASE_DIRECTORY, zone)),
-                getResource(String.format("/%s/z.json", BASE_DIRECTORY)))
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElseThrow(() -> new IOException(
-                        "No matching file found for carbonIntensityZone [" + zone + "] and timezone [" + timezone + "]"));
+    /**
+     * Datasets of the external directory and the datasets resolved for each zone and timezone. Replaced as a whole when
+     * the directory changes.
+     */
+    private static final class Index {
+
+        private final Map<String, Dataset> directoryDatasets;
+        private final Map<String, Dataset> resolvedDatasets = new ConcurrentHashMap<>();
+
+        private Index(Map<String, Dataset> directoryDatasets) {
+            this.directoryDatasets = Map.copyOf(directoryDatasets);
+        }
     }
 
-    private URL getResource(String resourceName) {
-        return this.getClass().getResource(resourceName);
+    /**
+     * Parsed fallback dataset. The data is shared by all periods it is used for.
+     */
+    private static final class Dataset {
+
+        private final Duration resolution;
+        private final List<BigDecimal> data;
+
+        private Dataset(Duration resolution, List<BigDecimal> data) {
+            this.resolution = resolution;
+            this.data = List.copyOf(data);
+        }
+
+        CarbonIntensity view(ZonedCarbonIntensityPeriod zonedPeriod) {
+            var carbonIntensity = new CarbonIntensity();
+            carbonIntensity.setResolution(resolution);
+            carbonIntensity.setData(data);
+            carbonIntensity.setStart(truncateToHours(zonedPeriod.getStartTime()));
+            carbonIntensity.setEnd(truncateToHours(zonedPeriod.getEndTime()));
+            carbonIntensity.setZone(zonedPeriod.getZone());
+            return carbonIntensity;
+        }
     }
 }
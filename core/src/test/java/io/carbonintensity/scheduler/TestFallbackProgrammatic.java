@@ -1,15 +1,20 @@
 package io.carbonintensity.scheduler;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import org.assertj.core.api.Assertions;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -86,6 +91,57 @@ class TestFallbackProgrammatic {
         Assertions.assertThat(skipCdl.getCount()).isZero();
     }
 
+    @Test
+    void testVirtualThreadExecutionMode() {
+        scheduler.close();
+        var schedulerConfig = new SchedulerConfig();
+        schedulerConfig.setCarbonIntensityApi(disabledApi);
+        schedulerConfig.setJobExecutionMode(SchedulerConfig.JobExecutionMode.VIRTUAL_THREADS);
+        scheduler = new SimpleScheduler(schedulerConfig);
+
+        CountDownLatch cdl = new CountDownLatch(1);
+        AtomicReference<String> threadName = new AtomicReference<>();
+        scheduler.newJob("test")
+                .setDuration(Duration.ofSeconds(1))
+                .setMinimumGap(Duration.ofSeconds(1))
+                .setMaximumGap(Duration.ofSeconds(1))
+                .setCarbonIntensityZone("NL")
+                .setTask(se -> {
+                    threadName.set(Thread.currentThread().getName());
+                    cdl.countDown();
+                })
+                .schedule();
+
+        Awaitility.waitAtMost(30, TimeUnit.SECONDS)
+                .until(() -> cdl.getCount() == 0);
+        // runtimes without virtual threads fall back to the platform thread pool
+        Assertions.assertThat(threadName.get()).startsWith(Runtime.version().feature() >= 21
+                ? "green-scheduler-job-virtual-"
+                : "green-scheduler-job-executor-");
+    }
+
+    @Test
+    void testRestartWatchesFallbackDirectory(@TempDir Path directory) {
+        scheduler.close();
+        var schedulerConfig = new SchedulerConfig();
+        schedulerConfig.setCarbonIntensityApi(disabledApi);
+        schedulerConfig.setFallbackDirectory(directory);
+        scheduler = new SimpleScheduler(schedulerConfig);
+        Assertions.assertThat(fallbackWatcherThreads()).isNotEmpty();
+
+        scheduler.close();
+        Assertions.assertThat(fallbackWatcherThreads()).isEmpty();
+
+        scheduler.start();
+        Assertions.assertThat(fallbackWatcherThreads()).isNotEmpty();
+    }
+
+    private static List<Thread> fallbackWatcherThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("green-scheduler-fallback-watcher") && thread.isAlive())
+                .collect(Collectors.toList());
+    }
+
     private void task(ScheduledExecution se, CountDownLatch cdl, long taskSeconds) {
         String id = se.getTrigger().getId() + "-" + jobId.getAndIncrement();
         log.info("Running {}, scheduledAt {}, startedAt {}", id, se.getScheduledFireTime(), se.getFireTime());
@@ -12,6 +12,7 @@ import java.time.LocalTime;
 import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
@@ -106,12 +107,12 @@ class TestFixedWindowScheduler {
         Thread.sleep(SCHEDULER_WAITING_PERIOD); // Sleep a few seconds, according to the schedule, it should not run.
         Assertions.assertThat(cdl.getCount()).isEqualTo(2);
 
-        // shift the clock to 6:16 which within the window but is before the "most green time", so it still not run
-        mutableClock.shift(Duration.ofHours(2));
+        // shift the clock to 5:16 which within the window but is before the "most green time", so it still not run
+        mutableClock.shift(Duration.ofHours(1));
         Thread.sleep(SCHEDULER_WAITING_PERIOD); // Sleep a few seconds, according to the schedule, it should not run.
         Assertions.assertThat(cdl.getCount()).isEqualTo(2);
 
-        // shift the clock to 7:16 which is at the "most green time", so it should run
+        // shift the clock to 6:16 which is at the "most green time", so it should run
         mutableClock.shift(Duration.ofHours(1));
 
         Awaitility.waitAtMost(SCHEDULER_WAITING_PERIOD, TimeUnit.MILLISECONDS)
@@ -743,16 +744,77 @@ class TestFixedWindowScheduler {
         Thread.sleep(SCHEDULER_WAITING_PERIOD); // Sleep a few seconds, according to the schedule, it should not run.
         Assertions.assertThat(cdl.getCount()).isEqualTo(1);
 
-        // shift the clock to 00:16 which within the window but is before the "most green time", so it still not run
-        mutableClock.shift(Duration.ofHours(2));
+        // shift the clock to 23:16 which within the window but is before the "most green time", so it still not run
+        mutableClock.shift(Duration.ofHours(1));
         Thread.sleep(SCHEDULER_WAITING_PERIOD); // Sleep a few seconds, according to the schedule, it should not run.
         Assertions.assertThat(cdl.getCount()).isEqualTo(1);
 
-        // shift the clock to 1:16 which is at the "most green time", so it should run
+        // shift the clock to 00:16 which is at the "most green time", so it should run
         mutableClock.shift(Duration.ofHours(1));
 
         Awaitility.waitAtMost(SCHEDULER_WAITING_PERIOD, TimeUnit.MILLISECONDS)
                 .until(() -> cdl.getCount() == 0);
         Assertions.assertThat(cdl.getCount()).isZero();
     }
+
+    @Test
+    void testFixedWindowBulkScheduler() {
+        ScheduledInvoker invoker = execution -> CompletableFuture.completedStage(null);
+        List<ImmutableScheduledMethod> methods = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            GreenScheduled greenScheduled = AnnotationUtil.newGreenScheduled()
+                    .fixedWindow("05:15 08:15")
+                    .carbonIntensityZone(i % 2 == 0 ? "NL" : "BE")
+                    .duration("2h")
+                    .identity("bulk-" + i)
+                    .timeZone("Europe/Amsterdam")
+                    .build();
+            methods.add(new ImmutableScheduledMethod(invoker, this.getClass().getName(), "bulk" + i,
+                    List.of(greenScheduled)));
+        }
+
+        schedulerConfig.setClock(Clock.fixed(ZonedDateTime
+                .of(LocalDateTime.of(LocalDate.of(2024, 6, 1), LocalTime.of(4, 16)), ZoneId.of("Europe/Amsterdam"))
+                .toInstant(), ZoneId.of("UTC")));
+        scheduler = new SimpleScheduler(schedulerConfig);
+        scheduler.scheduleMethods(methods);
+
+        Assertions.assertThat(scheduler.getScheduledJobs()).hasSize(20);
+        Assertions.assertThat(scheduler.getScheduledJobs()).allSatisfy(trigger -> Assertions
+                .assertThat(trigger.getNextFireTime()).isNotNull());
+        // each zone is planned once before and once after its data was fetched, the other triggers share the plans
+        Assertions.assertThat(scheduler.getPlanCacheMissCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void testFixedWindowBatchPlanning() {
+        ScheduledInvoker invoker = execution -> CompletableFuture.completedStage(null);
+        List<ImmutableScheduledMethod> methods = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            GreenScheduled greenScheduled = AnnotationUtil.newGreenScheduled()
+                    .fixedWindow("05:15 08:15")
+                    .carbonIntensityZone("NL")
+                    .duration("1h")
+                    .identity("batch-" + i)
+                    .timeZone("Europe/Amsterdam")
+                    .build();
+            methods.add(new ImmutableScheduledMethod(invoker, this.getClass().getName(), "batch" + i,
+                    List.of(greenScheduled)));
+        }
+
+        schedulerConfig.setJobExecutors(1);
+        schedulerConfig.setBatchPlanning(true);
+        schedulerConfig.setClock(Clock.fixed(ZonedDateTime
+                .of(LocalDateTime.of(LocalDate.of(2024, 6, 1), LocalTime.of(4, 16)), ZoneId.of("Europe/Amsterdam"))
+                .toInstant(), ZoneId.of("UTC")));
+        scheduler = new SimpleScheduler(schedulerConfig);
+        scheduler.scheduleMethods(methods);
+
+        // the job that was planned first is planned again once the other one joined its window
+        Awaitility.waitAtMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> Assertions.assertThat(scheduler.getScheduledJobs())
+                        .extracting(Trigger::getNextFireTime)
+                        .doesNotContainNull()
+                        .doesNotHaveDuplicates());
+    }
 }
@@ -0,0 +1,59 @@
+package io.carbonintensity.scheduler.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.cronutils.model.CronType;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.parser.CronParser;
+
+import io.carbonintensity.scheduler.runtime.SimpleScheduler.CronTrigger;
+
+class CronTriggerTest {
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2024, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    void firesOncePerExecution() {
+        CronTrigger trigger = newTrigger();
+
+        assertThat(trigger.getNextFireTime()).isEqualTo(START.plusMinutes(1).toInstant());
+        assertThat(trigger.nextCheck(millis(START))).isEqualTo(START.plusMinutes(1).toInstant().toEpochMilli());
+        for (int i = 1; i < 60; i++) {
+            assertThat(trigger.evaluate(millis(START.plusSeconds(i)))).isNull();
+        }
+
+        assertThat(trigger.evaluate(millis(START.plusMinutes(1).plusSeconds(1)))).isEqualTo(START.plusMinutes(1));
+        assertThat(trigger.evaluate(millis(START.plusMinutes(1).plusSeconds(2)))).isNull();
+        assertThat(trigger.getNextFireTime()).isEqualTo(START.plusMinutes(2).toInstant());
+        assertThat(trigger.nextCheck(millis(START.plusMinutes(1).plusSeconds(2))))
+                .isEqualTo(START.plusMinutes(2).toInstant().toEpochMilli());
+    }
+
+    @Test
+    void firesLastMissedExecutionAfterClockJump() {
+        CronTrigger trigger = newTrigger();
+
+        assertThat(trigger.evaluate(millis(START.plusMinutes(10).plusSeconds(1)))).isEqualTo(START.plusMinutes(10));
+        assertThat(trigger.getNextFireTime()).isEqualTo(START.plusMinutes(11).toInstant());
+
+        // the clock is set back, the trigger does not fire again before the next execution
+        assertThat(trigger.evaluate(millis(START.plusMinutes(5).plusSeconds(1)))).isNull();
+        assertThat(trigger.evaluate(millis(START.plusMinutes(11).plusSeconds(1)))).isEqualTo(START.plusMinutes(11));
+    }
+
+    private static CronTrigger newTrigger() {
+        var cron = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ)).parse("0 * * * * ?");
+        return new CronTrigger("cron", START, cron, Duration.ofSeconds(30), "cron", Clock.systemUTC());
+    }
+
+    private static long millis(ZonedDateTime time) {
+        return time.toInstant().toEpochMilli();
+    }
+}
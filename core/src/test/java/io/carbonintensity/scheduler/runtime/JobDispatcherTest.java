@@ -0,0 +1,122 @@
+package io.carbonintensity.scheduler.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.carbonintensity.scheduler.ScheduledExecution;
+import io.carbonintensity.scheduler.Trigger;
+import io.carbonintensity.scheduler.runtime.SchedulerConfig.JobOverflowPolicy;
+
+class JobDispatcherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final Events events = mock(Events.class);
+    private final List<Runnable> queued = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void rejectsJobsWhenQueueIsFull() {
+        JobDispatcher dispatcher = new JobDispatcher(queued::add, 2, JobOverflowPolicy.REJECT, TIMEOUT, events);
+        ScheduledExecution execution = execution("job");
+
+        assertThat(dispatcher.dispatch(execution, () -> {
+        })).isTrue();
+        assertThat(dispatcher.dispatch(execution, () -> {
+        })).isTrue();
+        assertThat(dispatcher.dispatch(execution, () -> {
+        })).isFalse();
+
+        assertThat(dispatcher.getQueueDepth()).isEqualTo(2);
+        assertThat(dispatcher.getRejectedCount()).isEqualTo(1);
+        verify(events).fireJobExecutionSkipped(execution, "The job queue is full (2 pending jobs)");
+
+        queued.remove(0).run();
+        assertThat(dispatcher.getQueueDepth()).isEqualTo(1);
+        assertThat(dispatcher.dispatch(execution, () -> {
+        })).isTrue();
+    }
+
+    @Test
+    void coalescesPendingFiresOfSameTrigger() {
+        JobDispatcher dispatcher = new JobDispatcher(queued::add, 10, JobOverflowPolicy.COALESCE, TIMEOUT, events);
+        ScheduledExecution first = execution("first");
+        ScheduledExecution second = execution("second");
+
+        assertThat(dispatcher.dispatch(first, () -> {
+        })).isTrue();
+        assertThat(dispatcher.dispatch(first, () -> {
+        })).isFalse();
+        assertThat(dispatcher.dispatch(second, () -> {
+        })).isTrue();
+
+        assertThat(dispatcher.getQueueDepth()).isEqualTo(2);
+        assertThat(dispatcher.getRejectedCount()).isEqualTo(1);
+        verify(events, times(1)).fireJobExecutionSkipped(eq(first), anyString());
+
+        // once the pending fire started, the trigger can fire again
+        queued.remove(0).run();
+        assertThat(dispatcher.dispatch(first, () -> {
+        })).isTrue();
+    }
+
+    @Test
+    void blocksUntilQueueHasRoom() throws InterruptedException {
+        JobDispatcher dispatcher = new JobDispatcher(queued::add, 1, JobOverflowPolicy.BLOCK, TIMEOUT, events);
+        ScheduledExecution execution = execution("job");
+        assertThat(dispatcher.dispatch(execution, () -> {
+        })).isTrue();
+
+        CountDownLatch dispatched = new CountDownLatch(1);
+        Thread blocked = new Thread(() -> {
+            dispatcher.dispatch(execution, () -> {
+            });
+            dispatched.countDown();
+        });
+        blocked.start();
+        assertThat(dispatched.await(200, TimeUnit.MILLISECONDS)).isFalse();
+
+        queued.remove(0).run();
+        assertThat(dispatched.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(dispatcher.getRejectedCount()).isZero();
+        verify(events, never()).fireJobExecutionSkipped(any(), anyString());
+    }
+
+    @Test
+    void rejectsJobWhenQueueHasNoRoomWithinBlockTimeout() {
+        JobDispatcher dispatcher = new JobDispatcher(queued::add, 1, JobOverflowPolicy.BLOCK, Duration.ofMillis(50),
+                events);
+        ScheduledExecution execution = execution("job");
+        assertThat(dispatcher.dispatch(execution, () -> {
+        })).isTrue();
+
+        assertThat(dispatcher.dispatch(execution, () -> {
+        })).isFalse();
+
+        assertThat(dispatcher.getRejectedCount()).isEqualTo(1);
+        verify(events).fireJobExecutionSkipped(execution, "The job queue is full (1 pending jobs)");
+    }
+
+    private static ScheduledExecution execution(String triggerId) {
+        Trigger trigger = mock(Trigger.class);
+        when(trigger.getId()).thenReturn(triggerId);
+        ScheduledExecution execution = mock(ScheduledExecution.class);
+        when(execution.getTrigger()).thenReturn(trigger);
+        return execution;
+    }
+}
@@ -0,0 +1,113 @@
+package io.carbonintensity.scheduler.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.carbonintensity.executionplanner.planner.successive.DefaultSuccessivePlanningConstraints;
+import io.carbonintensity.executionplanner.planner.successive.SuccessivePlanningConstraints;
+import io.carbonintensity.executionplanner.spi.CarbonIntensityPlanner;
+import io.carbonintensity.scheduler.runtime.SchedulerConfig.StartMode;
+import io.carbonintensity.scheduler.runtime.SimpleScheduler.ScheduledTask;
+import io.carbonintensity.scheduler.runtime.SimpleScheduler.SuccessiveTrigger;
+import io.carbonintensity.scheduler.test.helper.DisabledDummyCarbonIntensityApi;
+
+class PreciseSchedulingTest {
+
+    private SimpleScheduler scheduler;
+
+    @AfterEach
+    void afterEach() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void jobIsExecutedAtTheMillisecondItIsPlannedAt() throws Exception {
+        scheduler = newScheduler(true);
+        // planned a quarter past a whole second, which is truncated to the whole second by default
+        long plannedAt = (System.currentTimeMillis() / 1000 + 2) * 1000 + 250;
+        CompletableFuture<Long> executed = new CompletableFuture<>();
+        SuccessiveTrigger trigger = newTrigger("precise", plannedAt);
+        scheduler.registerTask("precise", newTask(trigger, executed));
+
+        scheduler.resume();
+
+        long lateness = executed.get(5, TimeUnit.SECONDS) - plannedAt;
+        assertThat(lateness).isBetween(0L, 200L);
+        assertThat(trigger.getPreviousFireTime().toEpochMilli()).isGreaterThan(plannedAt);
+    }
+
+    @Test
+    void jobIsExecutedAtTheWholeSecondByDefault() throws Exception {
+        scheduler = newScheduler(false);
+        long plannedAt = (System.currentTimeMillis() / 1000 + 2) * 1000 + 250;
+        CompletableFuture<Long> executed = new CompletableFuture<>();
+        scheduler.registerTask("aligned", newTask(newTrigger("aligned", plannedAt), executed));
+
+        scheduler.resume();
+
+        // the planned time is truncated to the second, so it is executed at the whole second before or after it
+        long executedAt = executed.get(5, TimeUnit.SECONDS);
+        assertThat(executedAt - plannedAt).isBetween(-250L, 950L);
+        assertThat(executedAt % 1000).isLessThan(200L);
+    }
+
+    private static SimpleScheduler newScheduler(boolean precise) {
+        SchedulerConfig config = new SchedulerConfig();
+        config.setCarbonIntensityApi(new DisabledDummyCarbonIntensityApi());
+        config.setStartMode(StartMode.HALTED);
+        config.setPreciseScheduling(precise);
+        return new SimpleScheduler(config);
+    }
+
+    /**
+     * @return a successive trigger whose first execution is planned at the given epoch millis
+     */
+    private static SuccessiveTrigger newTrigger(String id, long plannedAt) {
+        ZonedDateTime start = ZonedDateTime.now(ZoneOffset.UTC);
+        ZonedDateTime planned = ZonedDateTime.ofInstant(Instant.ofEpochMilli(plannedAt), ZoneOffset.UTC);
+        SuccessivePlanningConstraints constraints = DefaultSuccessivePlanningConstraints.builder()
+                .withIdentity(id)
+                .withInitialStartTime(start)
+                .withInitialMaximumDelay(Duration.ofMinutes(1))
+                .withMinimumGap(Duration.ofHours(1))
+                .withMaximumGap(Duration.ofHours(4))
+                .withDuration(Duration.ofMinutes(5))
+                .withCarbonIntensityZone("NL")
+                .build();
+        CarbonIntensityPlanner<SuccessivePlanningConstraints> planner = new CarbonIntensityPlanner<>() {
+            @Override
+            public boolean canSchedule(SuccessivePlanningConstraints constraints) {
+                return true;
+            }
+
+            @Override
+            public ZonedDateTime getNextExecutionTime(SuccessivePlanningConstraints constraints) {
+                return planned;
+            }
+        };
+        return new SuccessiveTrigger(id, Clock.systemUTC(), start, id, Duration.ofSeconds(30), planner, constraints,
+                (zone, from, to) -> 0L);
+    }
+
+    /**
+     * @return a task completing the given future with the time its job was executed at
+     */
+    private static ScheduledTask newTask(SuccessiveTrigger trigger, CompletableFuture<Long> executed) {
+        return new ScheduledTask(trigger, execution -> {
+            executed.complete(System.currentTimeMillis());
+            return CompletableFuture.completedStage(null);
+        }, false);
+    }
+}
@@ -0,0 +1,121 @@
+package io.carbonintensity.scheduler.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.cronutils.model.CronType;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.parser.CronParser;
+
+import io.carbonintensity.scheduler.runtime.SimpleScheduler.CronTrigger;
+
+class SimpleTriggerStateTest {
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2024, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final int EVALUATORS = 8;
+
+    @Test
+    void concurrentEvaluationsFireOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(EVALUATORS);
+        try {
+            for (int i = 0; i < 100; i++) {
+                CronTrigger trigger = newTrigger();
+                ZonedDateTime now = START.plusMinutes(1).plusSeconds(1);
+                CyclicBarrier barrier = new CyclicBarrier(EVALUATORS);
+                List<Future<ZonedDateTime>> evaluations = new ArrayList<>();
+                for (int j = 0; j < EVALUATORS; j++) {
+                    evaluations.add(executor.submit(() -> {
+                        barrier.await();
+                        return trigger.evaluate(millis(now));
+                    }));
+                }
+                int fired = 0;
+                for (Future<ZonedDateTime> evaluation : evaluations) {
+                    if (evaluation.get() != null) {
+                        fired++;
+                    }
+                }
+                assertThat(fired).isEqualTo(1);
+                assertThat(trigger.getPreviousFireTime()).isEqualTo(now.toInstant());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void pausedTriggerDoesNotFire() {
+        CronTrigger trigger = newTrigger();
+        ZonedDateTime now = START.plusMinutes(1).plusSeconds(1);
+
+        trigger.setRunning(false);
+        assertThat(trigger.isPaused()).isTrue();
+        assertThat(trigger.beginEvaluation()).isFalse();
+        assertThat(trigger.evaluate(millis(now))).isNull();
+
+        trigger.setRunning(true);
+        assertThat(trigger.isPaused()).isFalse();
+        assertThat(trigger.evaluate(millis(now))).isEqualTo(START.plusMinutes(1));
+    }
+
+    @Test
+    void triggerIsEvaluatedByOneThreadAtATime() {
+        CronTrigger trigger = newTrigger();
+
+        assertThat(trigger.beginEvaluation()).isTrue();
+        assertThat(trigger.beginEvaluation()).isFalse();
+        trigger.endEvaluation();
+        assertThat(trigger.beginEvaluation()).isTrue();
+    }
+
+    @Test
+    void failedPlanIsNotRequestedAgainRightAway() {
+        CronTrigger trigger = newTrigger();
+        AtomicInteger listened = new AtomicInteger();
+        AtomicInteger planned = new AtomicInteger();
+        trigger.setPlanning(Runnable::run, listened::incrementAndGet);
+
+        Supplier<ZonedDateTime> failing = () -> {
+            planned.incrementAndGet();
+            throw new IllegalStateException("planning failed");
+        };
+        assertThat(trigger.plan(null, null, 0L, failing)).isNull();
+        assertThat(trigger.plan(null, null, 0L, failing)).isNull();
+
+        assertThat(planned.get()).isEqualTo(1);
+        assertThat(listened.get()).isZero();
+    }
+
+    @Test
+    void storedPlanIsNotified() {
+        CronTrigger trigger = newTrigger();
+        AtomicInteger listened = new AtomicInteger();
+        trigger.setPlanning(Runnable::run, listened::incrementAndGet);
+
+        assertThat(trigger.plan(null, null, 0L, () -> START).nextExecutionTime).isEqualTo(START);
+        assertThat(listened.get()).isEqualTo(1);
+    }
+
+    private static CronTrigger newTrigger() {
+        var cron = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ)).parse("0 * * * * ?");
+        return new CronTrigger("cron", START, cron, Duration.ofSeconds(30), "cron", Clock.systemUTC());
+    }
+
+    private static long millis(ZonedDateTime time) {
+        return time.toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,154 @@
+package io.carbonintensity.scheduler.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.carbonintensity.executionplanner.planner.successive.DefaultSuccessivePlanningConstraints;
+import io.carbonintensity.executionplanner.planner.successive.SuccessivePlanningConstraints;
+import io.carbonintensity.executionplanner.spi.CarbonIntensityPlanner;
+import io.carbonintensity.scheduler.runtime.SimpleScheduler.SimpleTrigger;
+import io.carbonintensity.scheduler.runtime.SimpleScheduler.SuccessiveTrigger;
+
+class SuccessiveTriggerTest {
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2024, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final AtomicInteger plannerCalls = new AtomicInteger();
+    private final AtomicLong dataVersion = new AtomicLong();
+
+    @Test
+    void plansOnlyOnceUntilFired() {
+        SuccessiveTrigger trigger = newTrigger();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(trigger.evaluate(millis(START.plusSeconds(i)))).isNull();
+        }
+        assertThat(trigger.getNextFireTime()).isEqualTo(START.plusHours(2).toInstant());
+        assertThat(plannerCalls).hasValue(1);
+
+        assertThat(trigger.evaluate(millis(START.plusHours(2).plusSeconds(1)))).isEqualTo(START.plusHours(2));
+        assertThat(trigger.getNextFireTime()).isEqualTo(START.plusHours(4).plusSeconds(1).toInstant());
+        assertThat(plannerCalls).hasValue(2);
+    }
+
+    @Test
+    void plansAgainWhenDataVersionChanges() {
+        SuccessiveTrigger trigger = newTrigger();
+
+        trigger.getNextFireTime();
+        trigger.getNextFireTime();
+        assertThat(plannerCalls).hasValue(1);
+
+        dataVersion.incrementAndGet();
+        trigger.getNextFireTime();
+        assertThat(plannerCalls).hasValue(2);
+    }
+
+    @Test
+    void plansAgainOnlyWhenDataOfItsZoneAndDayChanges() {
+        AtomicLong otherZoneVersion = new AtomicLong();
+        SuccessiveTrigger trigger = newTrigger((zone, from, to) -> {
+            assertThat(from).isEqualTo(START.toInstant());
+            assertThat(to).isEqualTo(START.plusDays(1).toInstant());
+            return zone.equals("NL") ? dataVersion.get() : otherZoneVersion.get();
+        });
+
+        trigger.getNextFireTime();
+        otherZoneVersion.incrementAndGet();
+        trigger.getNextFireTime();
+        assertThat(plannerCalls).hasValue(1);
+
+        dataVersion.incrementAndGet();
+        trigger.getNextFireTime();
+        assertThat(plannerCalls).hasValue(2);
+
+        assertThat(trigger.isPlannedWith("nl", START.toInstant(), START.plusDays(1).toInstant())).isTrue();
+        assertThat(trigger.isPlannedWith("be", START.toInstant(), START.plusDays(1).toInstant())).isFalse();
+        assertThat(trigger.isPlannedWith("nl", START.plusDays(1).toInstant(), START.plusDays(2).toInstant())).isFalse();
+    }
+
+    @Test
+    void plansOnPlanningExecutorWithoutBlockingEvaluation() {
+        SuccessiveTrigger trigger = newTrigger();
+        Queue<Runnable> planning = new ArrayDeque<>();
+        AtomicInteger planned = new AtomicInteger();
+        trigger.setPlanning(planning::add, planned::incrementAndGet);
+
+        // nothing is planned on the checking thread, a single request is queued
+        assertThat(trigger.evaluate(millis(START.plusHours(3)))).isNull();
+        assertThat(trigger.evaluate(millis(START.plusHours(3)))).isNull();
+        assertThat(plannerCalls).hasValue(0);
+        assertThat(planning).hasSize(1);
+
+        planning.poll().run();
+        assertThat(planned).hasValue(1);
+        assertThat(trigger.evaluate(millis(START.plusHours(3)))).isEqualTo(START.plusHours(2));
+    }
+
+    @Test
+    void keepsOutdatedPlanWhileReplanning() {
+        SuccessiveTrigger trigger = newTrigger();
+        Queue<Runnable> planning = new ArrayDeque<>();
+        trigger.setPlanning(planning::add, () -> {
+        });
+        trigger.evaluate(millis(START));
+        planning.poll().run();
+
+        dataVersion.incrementAndGet();
+        assertThat(trigger.nextCheck(millis(START))).isEqualTo(START.plusHours(2).toInstant().toEpochMilli());
+        assertThat(planning).hasSize(1);
+        assertThat(plannerCalls).hasValue(1);
+    }
+
+    private SuccessiveTrigger newTrigger() {
+        return new SuccessiveTrigger("test", Clock.fixed(START.toInstant(), ZoneOffset.UTC), START, null,
+                Duration.ofSeconds(30), newPlanner(), newConstraints(), dataVersion::get);
+    }
+
+    private SuccessiveTrigger newTrigger(SimpleTrigger.DataVersion version) {
+        return new SuccessiveTrigger("test", Clock.fixed(START.toInstant(), ZoneOffset.UTC), START, null,
+                Duration.ofSeconds(30), newPlanner(), newConstraints(), version);
+    }
+
+    private static SuccessivePlanningConstraints newConstraints() {
+        return DefaultSuccessivePlanningConstraints.builder()
+                .withIdentity("test")
+                .withInitialStartTime(START)
+                .withInitialMaximumDelay(Duration.ofHours(4))
+                .withMinimumGap(Duration.ofHours(1))
+                .withMaximumGap(Duration.ofHours(4))
+                .withDuration(Duration.ofMinutes(5))
+                .withCarbonIntensityZone("NL")
+                .build();
+    }
+
+    private CarbonIntensityPlanner<SuccessivePlanningConstraints> newPlanner() {
+        return new CarbonIntensityPlanner<>() {
+            @Override
+            public boolean canSchedule(SuccessivePlanningConstraints constraints) {
+                return true;
+            }
+
+            @Override
+            public ZonedDateTime getNextExecutionTime(SuccessivePlanningConstraints constraints) {
+                plannerCalls.incrementAndGet();
+                ZonedDateTime last = constraints.getLastExecutionTime();
+                return last == null ? START.plusHours(2) : last.plusHours(2);
+            }
+        };
+    }
+
+    private static long millis(ZonedDateTime time) {
+        return time.toInstant().toEpochMilli();
+    }
+}
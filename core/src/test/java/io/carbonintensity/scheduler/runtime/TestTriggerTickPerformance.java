@@ -0,0 +1,119 @@
+package io.carbonintensity.scheduler.runtime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.cronutils.model.CronType;
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.parser.CronParser;
+
+import io.carbonintensity.executionplanner.planner.successive.DefaultSuccessivePlanningConstraints;
+import io.carbonintensity.executionplanner.planner.successive.SuccessivePlanningConstraints;
+import io.carbonintensity.executionplanner.spi.CarbonIntensityPlanner;
+import io.carbonintensity.scheduler.runtime.SimpleScheduler.CronTrigger;
+import io.carbonintensity.scheduler.runtime.SimpleScheduler.ScheduledTask;
+import io.carbonintensity.scheduler.runtime.SimpleScheduler.SuccessiveTrigger;
+
+/**
+ * Measures the allocations of evaluating triggers that are not due, which happens on every trigger check. Run with the
+ * GC profiler, evaluating a trigger and computing its next check should allocate nothing.
+ */
+@State(Scope.Benchmark)
+public class TestTriggerTickPerformance { //NOSONAR should be public for @state
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2024, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final long now = START.plusSeconds(30).toInstant().toEpochMilli();
+    private ScheduledTask cronTask;
+    private ScheduledTask successiveTask;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var cron = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ)).parse("0 * * * * ?");
+        cronTask = newTask(new CronTrigger("cron", START, cron, Duration.ofSeconds(30), "cron", Clock.systemUTC()));
+        successiveTask = newTask(new SuccessiveTrigger("successive", Clock.systemUTC(), START, "successive",
+                Duration.ofSeconds(30), newPlanner(), newConstraints(), (zone, from, to) -> 0L));
+        // plan before measuring
+        successiveTask.trigger.getNextFireTime();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public long benchmarkCronTick() {
+        // nothing is dispatched, the trigger is not due
+        cronTask.execute(now, null);
+        return cronTask.trigger.nextCheck(now);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public long benchmarkSuccessiveTick() {
+        successiveTask.execute(now, null);
+        return successiveTask.trigger.nextCheck(now);
+    }
+
+    @Test
+    @Disabled
+    void runPerformanceBenchmarks() throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(TestTriggerTickPerformance.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> runResults = new Runner(opt).run();
+        assertFalse(runResults.isEmpty());
+        for (RunResult runResult : runResults) {
+            Result<?> allocated = runResult.getSecondaryResults().get("gc.alloc.rate.norm");
+            String benchmark = runResult.getParams().getBenchmark();
+            assertTrue(allocated.getScore() < 1.0,
+                    benchmark + " should not allocate, allocated " + allocated.getScore() + " bytes/op");
+        }
+    }
+
+    private static ScheduledTask newTask(SimpleScheduler.SimpleTrigger trigger) {
+        return new ScheduledTask(trigger, execution -> CompletableFuture.completedStage(null), false);
+    }
+
+    private static SuccessivePlanningConstraints newConstraints() {
+        return DefaultSuccessivePlanningConstraints.builder()
+                .withIdentity("successive")
+                .withInitialStartTime(START)
+                .withInitialMaximumDelay(Duration.ofHours(4))
+                .withMinimumGap(Duration.ofHours(1))
+                .withMaximumGap(Duration.ofHours(4))
+                .withDuration(Duration.ofMinutes(5))
+                .withCarbonIntensityZone("NL")
+                .build();
+    }
+
+    private static CarbonIntensityPlanner<SuccessivePlanningConstraints> newPlanner() {
+        return new CarbonIntensityPlanner<>() {
+            @Override
+            public boolean canSchedule(SuccessivePlanningConstraints constraints) {
+                return true;
+            }
+
+            @Override
+            public ZonedDateTime getNextExecutionTime(SuccessivePlanningConstraints constraints) {
+                return START.plusHours(2);
+            }
+        };
+    }
+}
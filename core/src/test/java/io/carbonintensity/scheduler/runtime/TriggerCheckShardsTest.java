@@ -0,0 +1,150 @@
+package io.carbonintensity.scheduler.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.carbonintensity.scheduler.runtime.SchedulerConfig.StartMode;
+import io.carbonintensity.scheduler.runtime.SimpleScheduler.ScheduledTask;
+import io.carbonintensity.scheduler.runtime.SimpleScheduler.SimpleTrigger;
+import io.carbonintensity.scheduler.test.helper.DisabledDummyCarbonIntensityApi;
+
+class TriggerCheckShardsTest {
+
+    private final CountDownLatch slowStarted = new CountDownLatch(1);
+    private final CountDownLatch otherEvaluated = new CountDownLatch(1);
+    private SimpleScheduler scheduler;
+
+    @AfterEach
+    void afterEach() {
+        if (scheduler != null) {
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void slowTriggerDoesNotDelayTriggersOfOtherShards() throws InterruptedException {
+        scheduler = newScheduler(2);
+        // "a" and "b" hash into different shards
+        scheduler.registerTask("a", newTask("a", this::evaluateSlowly));
+        scheduler.registerTask("b", newTask("b", otherEvaluated::countDown));
+
+        scheduler.resume();
+
+        assertThat(slowStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        // the slow trigger waits until the other one has been evaluated
+        assertThat(otherEvaluated.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void slowShardDoesNotDelayTheNextCheck() throws InterruptedException {
+        scheduler = newScheduler(2);
+        CountDownLatch checkedAgain = new CountDownLatch(2);
+        // "a" and "b" hash into different shards, "b" is checked again 100 ms later
+        scheduler.registerTask("a", newTask("a", () -> {
+            slowStarted.countDown();
+            await(checkedAgain, 3);
+        }));
+        scheduler.registerTask("b", newTask("b", checkedAgain::countDown, 100L));
+
+        scheduler.resume();
+
+        assertThat(slowStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        // the check of "b" is aligned to the next whole second, long before "a" gives up waiting
+        assertThat(checkedAgain.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void slowTriggerInFirstShardDoesNotDelayOtherShards() throws InterruptedException {
+        scheduler = newScheduler(2);
+        CountDownLatch checkedAgain = new CountDownLatch(2);
+        // "b" hashes into the first shard, "a" into the second one and is checked again 100 ms later
+        scheduler.registerTask("b", newTask("b", () -> {
+            slowStarted.countDown();
+            await(checkedAgain, 3);
+        }));
+        scheduler.registerTask("a", newTask("a", checkedAgain::countDown, 100L));
+
+        scheduler.resume();
+
+        assertThat(slowStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(checkedAgain.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void singleShardEvaluatesTriggersInTurn() throws InterruptedException {
+        scheduler = newScheduler(1);
+        scheduler.registerTask("a", newTask("a", this::evaluateSlowly));
+        scheduler.registerTask("b", newTask("b", otherEvaluated::countDown));
+
+        scheduler.resume();
+
+        assertThat(slowStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(otherEvaluated.await(200, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(otherEvaluated.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void evaluateSlowly() {
+        slowStarted.countDown();
+        await(otherEvaluated, 1);
+    }
+
+    private static void await(CountDownLatch latch, long seconds) {
+        try {
+            latch.await(seconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static SimpleScheduler newScheduler(int shards) {
+        SchedulerConfig config = new SchedulerConfig();
+        config.setCarbonIntensityApi(new DisabledDummyCarbonIntensityApi());
+        // triggers are only checked after both are registered
+        config.setStartMode(StartMode.HALTED);
+        config.setTriggerCheckShards(shards);
+        return new SimpleScheduler(config);
+    }
+
+    private static ScheduledTask newTask(String id, Runnable onEvaluate) {
+        return newTask(id, onEvaluate, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param interval milliseconds after which the trigger is checked again, {@link Long#MAX_VALUE} for never
+     */
+    private static ScheduledTask newTask(String id, Runnable onEvaluate, long interval) {
+        SimpleTrigger trigger = new SimpleTrigger(id, Clock.systemUTC(), ZonedDateTime.now(), id) {
+
+            @Override
+            ZonedDateTime evaluate(long now) {
+                onEvaluate.run();
+                return null;
+            }
+
+            @Override
+            long nextCheck(long now) {
+                return interval == Long.MAX_VALUE ? Long.MAX_VALUE : now + interval;
+            }
+
+            @Override
+            public Instant getNextFireTime() {
+                return null;
+            }
+
+            @Override
+            public boolean isOverdue() {
+                return false;
+            }
+        };
+        return new ScheduledTask(trigger, execution -> CompletableFuture.completedStage(null), false);
+    }
+}
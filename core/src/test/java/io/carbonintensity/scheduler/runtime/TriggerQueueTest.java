@@ -0,0 +1,79 @@
+package io.carbonintensity.scheduler.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.carbonintensity.scheduler.runtime.SimpleScheduler.ScheduledTask;
+
+class TriggerQueueTest {
+
+    @Test
+    void pollsOnlyDueTasksInOrder() {
+        TriggerQueue queue = new TriggerQueue();
+        ScheduledTask first = newTask();
+        ScheduledTask second = newTask();
+        ScheduledTask later = newTask();
+        queue.schedule(later, 5000L);
+        queue.schedule(second, 2000L);
+        queue.schedule(first, 1000L);
+
+        assertThat(queue.nextDueAt()).isEqualTo(1000L);
+        assertThat(queue.pollDue(999L)).isEmpty();
+        assertThat(queue.pollDue(2000L)).containsExactly(first, second);
+        assertThat(queue.nextDueAt()).isEqualTo(5000L);
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    void reschedulingSupersedesPreviousEntry() {
+        TriggerQueue queue = new TriggerQueue();
+        ScheduledTask task = newTask();
+        queue.schedule(task, 1000L);
+        queue.schedule(task, 3000L);
+
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.nextDueAt()).isEqualTo(3000L);
+        assertThat(queue.pollDue(2000L)).isEmpty();
+        assertThat(queue.pollDue(3000L)).containsExactly(task);
+        assertThat(queue.pollDue(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void removedAndNeverDueTasksAreNotPolled() {
+        TriggerQueue queue = new TriggerQueue();
+        ScheduledTask removed = newTask();
+        ScheduledTask neverDue = newTask();
+        queue.schedule(removed, 1000L);
+        queue.schedule(neverDue, 1000L);
+        queue.schedule(neverDue, Long.MAX_VALUE);
+        queue.remove(removed);
+
+        assertThat(queue.size()).isZero();
+        assertThat(queue.nextDueAt()).isEqualTo(Long.MAX_VALUE);
+        assertThat(queue.pollDue(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void supersededEntriesArePurged() {
+        TriggerQueue queue = new TriggerQueue();
+        ScheduledTask first = newTask();
+        ScheduledTask second = newTask();
+        for (int i = 0; i < 1000; i++) {
+            queue.schedule(first, 1000L + i);
+            queue.schedule(second, 2000L + i);
+        }
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.queuedEntries()).isLessThanOrEqualTo(4);
+        assertThat(queue.pollDue(Long.MAX_VALUE)).containsExactly(first, second);
+
+        queue.schedule(first, 1000L);
+        queue.remove(first);
+        assertThat(queue.queuedEntries()).isZero();
+    }
+
+    private static ScheduledTask newTask() {
+        return new ScheduledTask(null, null, true);
+    }
+}
@@ -1,9 +1,7 @@
 package io.carbonintensity.scheduler.runtime.impl;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import java.text.DecimalFormat;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Collection;
@@ -21,14 +19,13 @@ import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensity;
 import io.carbonintensity.executionplanner.runtime.impl.rest.CarbonIntensityJsonParser;
 import io.carbonintensity.executionplanner.strategy.SingleJobStrategy;
 
+/**
+ * Benchmarks {@link SingleJobStrategy}. The reference scores measured on the timeslot calculation it used before are not
+ * comparable to it, {@link TestStrategyPerformance} compares it to that calculation in the same run.
+ */
 @State(Scope.Benchmark)
 public class TestPerformance { //NOSONAR should be public for @state
 
-    private static final double MAX_DEVIATION = 0.10; // 10 % deviation allowed
-    //    private static final double REFERENCE_SCORE = 8.704; // arjanl's macbook pro, original score for 24h window
-    private static final double REFERENCE_SCORE = 18073.666; // arjanl's macbook pro, window granularity of 30 mins score for 24h window
-    private static final DecimalFormat DF = new DecimalFormat("0.000");
-
     private CarbonIntensity carbonIntensity;
 
     @Setup(Level.Trial)
@@ -56,17 +53,5 @@ public class TestPerformance { //NOSONAR should be public for @state
                 .build();
         Collection<RunResult> runResults = new Runner(opt).run();
         assertFalse(runResults.isEmpty());
-        for (RunResult runResult : runResults) {
-            assertDeviationWithin(runResult, REFERENCE_SCORE, MAX_DEVIATION);
-        }
-    }
-
-    private static void assertDeviationWithin(RunResult result, double referenceScore, double maxDeviation) {
-        double score = result.getPrimaryResult().getScore();
-        double deviation = Math.abs(score / referenceScore - 1);
-        String deviationString = DF.format(deviation * 100) + "%";
-        String maxDeviationString = DF.format(maxDeviation * 100) + "%";
-        String errorMessage = "Deviation " + deviationString + " exceeds maximum allowed deviation " + maxDeviationString;
-        assertTrue(deviation < maxDeviation, errorMessage);
     }
 }
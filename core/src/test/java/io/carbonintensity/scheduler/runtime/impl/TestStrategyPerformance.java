@@ -0,0 +1,101 @@
+package io.carbonintensity.scheduler.runtime.impl;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.carbonintensity.executionplanner.planner.Timeslot;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensity;
+import io.carbonintensity.executionplanner.runtime.impl.rest.CarbonIntensityJsonParser;
+import io.carbonintensity.executionplanner.strategy.BreakpointStrategy;
+import io.carbonintensity.executionplanner.strategy.SingleJobStrategy;
+import io.carbonintensity.executionplanner.strategy.SlidingWindowStrategy;
+
+/**
+ * Compares {@link SlidingWindowStrategy}, which {@link SingleJobStrategy} delegates to, to the BigDecimal
+ * {@link Timeslot#getTimeslots timeslot calculation} that {@link SingleJobStrategy} used before, on the workload of
+ * {@link TestPerformance#benchmarkScheduler()}, at its 30 minute resolution and at a resolution of 1 minute.
+ * {@link BreakpointStrategy} does not use a resolution and is included as a reference.
+ */
+@State(Scope.Benchmark)
+public class TestStrategyPerformance { //NOSONAR should be public for @state
+
+    private static final ZonedDateTime WS = ZonedDateTime.parse("2024-08-27T00:00:00Z");
+    private static final ZonedDateTime WE = ZonedDateTime.parse("2024-08-28T00:00:00Z");
+    private static final Duration DURATION = Duration.ofSeconds(60);
+
+    @Param({ "PT30M", "PT1M" })
+    private String resolution;
+
+    private CarbonIntensity carbonIntensity;
+    private Duration timeslotResolution;
+    private SlidingWindowStrategy slidingWindowStrategy;
+    private final BreakpointStrategy breakpointStrategy = new BreakpointStrategy();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CarbonIntensityJsonParser parser = new CarbonIntensityJsonParser();
+        carbonIntensity = parser.parse(
+                ClassLoader.getSystemResourceAsStream("day-ahead-20240824-Z.json"));
+        timeslotResolution = Duration.parse(resolution);
+        slidingWindowStrategy = new SlidingWindowStrategy(Duration.parse(resolution));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public Timeslot benchmarkTimeslotCalculation() {
+        // the former implementation of SingleJobStrategy
+        Timeslot best = null;
+        for (Timeslot t : Timeslot.getTimeslots(WS, WE, DURATION, timeslotResolution, carbonIntensity)) {
+            if (best == null || t.carbonIntensity().compareTo(best.carbonIntensity()) < 0) {
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public Timeslot benchmarkSlidingWindowStrategy() {
+        return slidingWindowStrategy.bestTimeslot(WS, WE, DURATION, carbonIntensity);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public Timeslot benchmarkBreakpointStrategy() {
+        return breakpointStrategy.bestTimeslot(WS, WE, DURATION, carbonIntensity);
+    }
+
+    @Test
+    @Disabled
+    void runPerformanceBenchmarks() throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(TestStrategyPerformance.class.getSimpleName())
+                .build();
+        Collection<RunResult> runResults = new Runner(opt).run();
+        assertFalse(runResults.isEmpty());
+        Map<String, Double> scores = runResults.stream()
+                .collect(Collectors.toMap(
+                        r -> r.getParams().getBenchmark() + "@" + r.getParams().getParam("resolution"),
+                        r -> r.getPrimaryResult().getScore()));
+        for (String res : new String[] { "PT30M", "PT1M" }) {
+            double calculation = scores.get(TestStrategyPerformance.class.getName() + ".benchmarkTimeslotCalculation@" + res);
+            double sliding = scores.get(TestStrategyPerformance.class.getName() + ".benchmarkSlidingWindowStrategy@" + res);
+            assertTrue(sliding > calculation, "Sliding window strategy should outperform the timeslot calculation at " + res);
+        }
+    }
+}
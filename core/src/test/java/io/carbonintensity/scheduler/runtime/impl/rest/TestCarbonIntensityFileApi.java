@@ -1,14 +1,24 @@
 package io.carbonintensity.scheduler.runtime.impl.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import io.carbonintensity.executionplanner.runtime.impl.ZonedCarbonIntensityPeriod;
 
@@ -44,4 +54,63 @@ class TestCarbonIntensityFileApi {
         assertThat(data.getZone()).isEqualTo("xy");
     }
 
+    @Test
+    void whenGettingDataTwice_thenShareParsedDataset() {
+        var first = fileApi.getCarbonIntensity(zonedPeriod).join();
+        var second = fileApi.getCarbonIntensity(zonedPeriod).join();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getData()).isSameAs(first.getData());
+    }
+
+    @Test
+    void givenExternalDirectory_whenZoneHasDataset_thenPreferExternalDataset(@TempDir Path directory) throws IOException {
+        Files.createDirectories(directory.resolve("nl"));
+        Files.writeString(directory.resolve("nl/z.json"), dataset(42));
+        try (var externalFileApi = new CarbonIntensityFileApi(directory)) {
+            when(zonedPeriod.getStartTime()).thenReturn(startTime.withZoneSameInstant(ZoneOffset.UTC));
+            assertThat(externalFileApi.getCarbonIntensity(zonedPeriod).join().getData())
+                    .isEqualTo(List.of(BigDecimal.valueOf(42)));
+
+            when(zonedPeriod.getZone()).thenReturn("xy");
+            assertThat(externalFileApi.getCarbonIntensity(zonedPeriod).join().getData()).hasSizeGreaterThan(1);
+        }
+    }
+
+    @Test
+    void givenExternalDirectory_whenDatasetChanges_thenReloadDataset(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("z.json"), dataset(1));
+        when(zonedPeriod.getZone()).thenReturn("xy");
+        try (var externalFileApi = new CarbonIntensityFileApi(directory)) {
+            assertThat(externalFileApi.getCarbonIntensity(zonedPeriod).join().getData())
+                    .isEqualTo(List.of(BigDecimal.valueOf(1)));
+
+            Files.writeString(directory.resolve("z.json"), dataset(2));
+
+            await().atMost(Duration.ofSeconds(30))
+                    .until(() -> externalFileApi.getCarbonIntensity(zonedPeriod).join().getData()
+                            .equals(List.of(BigDecimal.valueOf(2))));
+        }
+    }
+
+    @Test
+    void givenExternalDirectory_whenClosed_thenStopWatching(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("z.json"), dataset(1));
+        var externalFileApi = new CarbonIntensityFileApi(directory);
+        assertThat(watcherThreads()).isNotEmpty();
+
+        externalFileApi.close();
+
+        assertThat(watcherThreads()).isEmpty();
+    }
+
+    private static List<Thread> watcherThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("green-scheduler-fallback-watcher") && thread.isAlive())
+                .collect(Collectors.toList());
+    }
+
+    private static String dataset(int value) {
+        return "{\"resolution\":\"PT1H\",\"zone\":\"NL\",\"data\":[" + value + "]}";
+    }
+
 }
@@ -0,0 +1,158 @@
+package io.carbonintensity.executionplanner.planner;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.carbonintensity.executionplanner.runtime.impl.ZonedCarbonIntensityPeriod;
+
+/**
+ * Cache of planned execution times, shared by the planners of a scheduler so that jobs with the same constraints are
+ * planned once.
+ * <p>
+ * A plan is identified by the forecast period it was planned with, the window to start the job in, the duration of the
+ * job, the resolution of the strategy and the version of the carbon intensity data. Plans for the same key that are
+ * requested at the same time are computed once, by the first requester and outside of the cache, the others wait for
+ * it. As planning may load newer data, a plan is cached under the data version read after planning. Plans of older data
+ * versions are no longer requested and are evicted when the cache is full.
+ */
+public class PlanCache {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final AsyncCache<Key, ZonedDateTime> plans;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public PlanCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize maximum number of plans kept
+     */
+    public PlanCache(long maximumSize) {
+        this.plans = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .buildAsync();
+    }
+
+    /**
+     * Returns the cached plan, or computes and caches it.
+     *
+     * @param period the forecast period the plan uses
+     * @param ws the start of the window to start the job in
+     * @param we the end of the window to start the job in
+     * @param duration the duration of the job
+     * @param resolution the resolution of the strategy
+     * @param dataVersion the version of the carbon intensity data, read before and again after planning
+     * @param planner computes the execution time
+     * @return the planned execution time
+     */
+    public ZonedDateTime get(ZonedCarbonIntensityPeriod period, ZonedDateTime ws, ZonedDateTime we, Duration duration,
+            Duration resolution, LongSupplier dataVersion, Supplier<ZonedDateTime> planner) {
+        var key = new Key(period.getZone(), period.getStartTime(), period.getEndTime(), ws, we, duration, resolution,
+                dataVersion.getAsLong());
+        var planned = new CompletableFuture<ZonedDateTime>();
+        var existing = plans.asMap().putIfAbsent(key, planned);
+        if (existing != null) {
+            hitCount.increment();
+            return join(existing);
+        }
+        missCount.increment();
+        ZonedDateTime plan;
+        try {
+            plan = planner.get();
+        } catch (RuntimeException | Error e) {
+            // failed plans are not cached, the waiting requesters fail as well
+            plans.asMap().remove(key, planned);
+            planned.completeExceptionally(e);
+            throw e;
+        }
+        planned.complete(plan);
+        long loadedVersion = dataVersion.getAsLong();
+        if (loadedVersion != key.dataVersion) {
+            plans.asMap().remove(key, planned);
+            plans.put(new Key(key.zone, key.periodStart, key.periodEnd, ws, we, duration, resolution, loadedVersion),
+                    planned);
+        }
+        return plan;
+    }
+
+    private static ZonedDateTime join(CompletableFuture<ZonedDateTime> plan) {
+        try {
+            return plan.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return the number of plans that were found in the cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return the number of plans that had to be computed
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    static final class Key {
+
+        private final String zone;
+        private final ZonedDateTime periodStart;
+        private final ZonedDateTime periodEnd;
+        private final ZonedDateTime ws;
+        private final ZonedDateTime we;
+        private final Duration duration;
+        private final Duration resolution;
+        private final long dataVersion;
+
+        Key(String zone, ZonedDateTime periodStart, ZonedDateTime periodEnd, ZonedDateTime ws, ZonedDateTime we,
+                Duration duration, Duration resolution, long dataVersion) {
+            this.zone = zone;
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+            this.ws = ws;
+            this.we = we;
+            this.duration = duration;
+            this.resolution = resolution;
+            this.dataVersion = dataVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return dataVersion == key.dataVersion && Objects.equals(zone, key.zone)
+                    && Objects.equals(periodStart, key.periodStart) && Objects.equals(periodEnd, key.periodEnd)
+                    && Objects.equals(ws, key.ws) && Objects.equals(we, key.we)
+                    && Objects.equals(duration, key.duration) && Objects.equals(resolution, key.resolution);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(zone, periodStart, periodEnd, ws, we, duration, resolution, dataVersion);
+        }
+    }
+}
@@ -3,9 +3,12 @@ package io.carbonintensity.executionplanner.planner.fixedwindow;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 
+import io.carbonintensity.executionplanner.planner.PlanCache;
 import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensityDataFetcher;
 import io.carbonintensity.executionplanner.runtime.impl.ZonedCarbonIntensityPeriod;
 import io.carbonintensity.executionplanner.spi.CarbonIntensityPlanner;
+import io.carbonintensity.executionplanner.strategy.LoadAwareStrategy;
+import io.carbonintensity.executionplanner.strategy.SharedWindowStrategy;
 import io.carbonintensity.executionplanner.strategy.SingleJobStrategy;
 
 /**
@@ -17,7 +20,10 @@ import io.carbonintensity.executionplanner.strategy.SingleJobStrategy;
  * The {@code FixedWindowPlanner} uses a {@link SingleJobStrategy} to identify the best
  * time slot within a specified window that minimizes the carbon intensity impact. It fetches
  * the relevant carbon intensity data for the given window and determines the optimal time
- * for execution based on the constraints provided.
+ * for execution based on the constraints provided. When a {@link LoadAwareStrategy} is given, it is used instead, to
+ * spread jobs over timeslots that are nearly as green as the best one. When a {@link SharedWindowStrategy} is given,
+ * the jobs sharing a window are planned together with it, so that no more of them run at the same time than it allows.
+ * Otherwise, plans can be shared with other planners through a {@link PlanCache}.
  * </p>
  *
  * @see CarbonIntensityPlanner
@@ -28,10 +34,54 @@ import io.carbonintensity.executionplanner.strategy.SingleJobStrategy;
  */
 public class FixedWindowPlanner implements CarbonIntensityPlanner<FixedWindowPlanningConstraints> {
 
+    private static final Duration RESOLUTION = Duration.ofHours(1);
+    private static final SingleJobStrategy STRATEGY = new SingleJobStrategy(RESOLUTION);
+
     private final CarbonIntensityDataFetcher dataFetcher;
+    private final LoadAwareStrategy loadAwareStrategy;
+    private final SharedWindowStrategy sharedWindowStrategy;
+    private final PlanCache planCache;
 
     public FixedWindowPlanner(CarbonIntensityDataFetcher dataFetcher) {
+        this(dataFetcher, null);
+    }
+
+    /**
+     * @param dataFetcher fetches the carbon intensity data
+     * @param loadAwareStrategy strategy shared by the planners of a scheduler, or {@code null} to place each job in
+     *        the best timeslot
+     */
+    public FixedWindowPlanner(CarbonIntensityDataFetcher dataFetcher, LoadAwareStrategy loadAwareStrategy) {
+        this(dataFetcher, loadAwareStrategy, null);
+    }
+
+    /**
+     * @param dataFetcher fetches the carbon intensity data
+     * @param loadAwareStrategy strategy shared by the planners of a scheduler, or {@code null} to place each job in
+     *        the best timeslot
+     * @param planCache cache shared by the planners of a scheduler, or {@code null} to always plan. Not used with a
+     *        load aware strategy.
+     */
+    public FixedWindowPlanner(CarbonIntensityDataFetcher dataFetcher, LoadAwareStrategy loadAwareStrategy,
+            PlanCache planCache) {
+        this(dataFetcher, loadAwareStrategy, null, planCache);
+    }
+
+    /**
+     * @param dataFetcher fetches the carbon intensity data
+     * @param loadAwareStrategy strategy shared by the planners of a scheduler, or {@code null} to place each job in
+     *        the best timeslot
+     * @param sharedWindowStrategy strategy shared by the planners of a scheduler to plan the jobs of a window together,
+     *        or {@code null} to plan each job on its own. Not used with a load aware strategy.
+     * @param planCache cache shared by the planners of a scheduler, or {@code null} to always plan. Not used with a
+     *        load aware or shared window strategy.
+     */
+    public FixedWindowPlanner(CarbonIntensityDataFetcher dataFetcher, LoadAwareStrategy loadAwareStrategy,
+            SharedWindowStrategy sharedWindowStrategy, PlanCache planCache) {
         this.dataFetcher = dataFetcher;
+        this.loadAwareStrategy = loadAwareStrategy;
+        this.sharedWindowStrategy = loadAwareStrategy == null ? sharedWindowStrategy : null;
+        this.planCache = planCache;
     }
 
     @Override
@@ -47,10 +97,35 @@ public class FixedWindowPlanner implements CarbonIntensityPlanner<FixedWindowPla
                 .withEndTime(constraints.getEnd())
                 .withCarbonIntensityZone(constraints.getCarbonIntensityZone())
                 .build();
+        if (planCache != null && loadAwareStrategy == null && sharedWindowStrategy == null) {
+            return planCache.get(period, constraints.getStart(), constraints.getEnd(), constraints.getDuration(),
+                    RESOLUTION, () -> dataVersion(period), () -> plan(period, constraints));
+        }
+        return plan(period, constraints);
+    }
+
+    /**
+     * @return the version of the data of the period, so that changes of other zones and days keep the cached plans
+     */
+    private long dataVersion(ZonedCarbonIntensityPeriod period) {
+        return dataFetcher.getDataVersion(period.getZone(), period.getStartTime().toInstant(),
+                period.getEndTime().toInstant());
+    }
+
+    private ZonedDateTime plan(ZonedCarbonIntensityPeriod period, FixedWindowPlanningConstraints constraints) {
         final var carbonIntensity = dataFetcher.fetchCarbonIntensity(period);
 
-        final var strategy = new SingleJobStrategy(Duration.ofHours(1));
-        return strategy.bestTimeslot(constraints.getStart(), constraints.getEnd(), constraints.getDuration(),
-                carbonIntensity).start();
+        if (loadAwareStrategy != null) {
+            return loadAwareStrategy.bestTimeslot(constraints.getIdentity(), constraints.getCarbonIntensityZone(),
+                    constraints.getStart(), constraints.getEnd(), constraints.getDuration(), RESOLUTION,
+                    carbonIntensity.toSeries()).start();
+        }
+        if (sharedWindowStrategy != null) {
+            return sharedWindowStrategy.bestTimeslot(constraints.getIdentity(), constraints.getCarbonIntensityZone(),
+                    constraints.getStart(), constraints.getEnd(), constraints.getDuration(), RESOLUTION,
+                    carbonIntensity.toSeries(), dataVersion(period)).start();
+        }
+        return STRATEGY.bestTimeslot(constraints.getStart(), constraints.getEnd(), constraints.getDuration(),
+                carbonIntensity.toSeries()).start();
     }
 }
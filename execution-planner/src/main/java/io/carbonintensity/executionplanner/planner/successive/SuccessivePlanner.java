@@ -1,11 +1,18 @@
 package io.carbonintensity.executionplanner.planner.successive;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 
+import io.carbonintensity.executionplanner.planner.PlanCache;
+import io.carbonintensity.executionplanner.planner.Timeslot;
 import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensity;
 import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensityDataFetcher;
 import io.carbonintensity.executionplanner.runtime.impl.ZonedCarbonIntensityPeriod;
 import io.carbonintensity.executionplanner.spi.CarbonIntensityPlanner;
+import io.carbonintensity.executionplanner.strategy.HorizonStrategy;
+import io.carbonintensity.executionplanner.strategy.LoadAwareStrategy;
 import io.carbonintensity.executionplanner.strategy.SingleJobStrategy;
 
 /**
@@ -16,7 +23,17 @@ import io.carbonintensity.executionplanner.strategy.SingleJobStrategy;
  * The {@code SuccessivePlanner} calculates the best execution time for tasks that need to be scheduled
  * successively, considering a gap between executions and ensuring that tasks are scheduled at the optimal
  * carbon intensity levels. It retrieves carbon intensity data from the {@link CarbonIntensityDataFetcher}
- * and uses the {@link SingleJobStrategy} to find the best time slot within the given constraints.
+ * and uses the {@link SingleJobStrategy} to find the best time slot within the given constraints. When a
+ * {@link LoadAwareStrategy} is given, it is used instead, to spread jobs over timeslots that are nearly as green as the
+ * best one.
+ * </p>
+ *
+ * <p>
+ * With a planning horizon of more than one run, the next executions are planned together with the
+ * {@link HorizonStrategy}, so that a green first execution does not push the following ones into a dirty period. The
+ * planned executions are kept and returned one by one, as long as each execution starts within the resolution of its
+ * planned time and no new carbon intensity data was fetched for the zone and days they were planned with. Plans of the
+ * next execution only can be shared with other planners through a {@link PlanCache}.
  * </p>
  *
  * @see CarbonIntensityPlanner
@@ -27,10 +44,56 @@ import io.carbonintensity.executionplanner.strategy.SingleJobStrategy;
  */
 public class SuccessivePlanner implements CarbonIntensityPlanner<SuccessivePlanningConstraints> {
 
+    private static final Duration RESOLUTION = Duration.ofMinutes(30);
+    private static final SingleJobStrategy STRATEGY = new SingleJobStrategy(RESOLUTION);
+
     private final CarbonIntensityDataFetcher dataFetcher;
+    private final LoadAwareStrategy loadAwareStrategy;
+    private final HorizonStrategy horizonStrategy;
+    private final PlanCache planCache;
+    private volatile PlannedExecutions plannedExecutions;
 
     public SuccessivePlanner(CarbonIntensityDataFetcher dataFetcher) {
+        this(dataFetcher, null);
+    }
+
+    /**
+     * @param dataFetcher fetches the carbon intensity data
+     * @param loadAwareStrategy strategy shared by the planners of a scheduler, or {@code null} to place each job in
+     *        the best timeslot
+     */
+    public SuccessivePlanner(CarbonIntensityDataFetcher dataFetcher, LoadAwareStrategy loadAwareStrategy) {
+        this(dataFetcher, loadAwareStrategy, 1);
+    }
+
+    /**
+     * @param dataFetcher fetches the carbon intensity data
+     * @param loadAwareStrategy strategy shared by the planners of a scheduler, or {@code null} to place each job in
+     *        the best timeslot
+     * @param horizonRuns number of executions to plan together, {@code 1} to only plan the next execution. Not used
+     *        with a load aware strategy.
+     */
+    public SuccessivePlanner(CarbonIntensityDataFetcher dataFetcher, LoadAwareStrategy loadAwareStrategy,
+            int horizonRuns) {
+        this(dataFetcher, loadAwareStrategy, horizonRuns, null);
+    }
+
+    /**
+     * @param dataFetcher fetches the carbon intensity data
+     * @param loadAwareStrategy strategy shared by the planners of a scheduler, or {@code null} to place each job in
+     *        the best timeslot
+     * @param horizonRuns number of executions to plan together, {@code 1} to only plan the next execution. Not used
+     *        with a load aware strategy.
+     * @param planCache cache shared by the planners of a scheduler, or {@code null} to always plan. Only used when
+     *        the next execution is planned by itself.
+     */
+    public SuccessivePlanner(CarbonIntensityDataFetcher dataFetcher, LoadAwareStrategy loadAwareStrategy,
+            int horizonRuns, PlanCache planCache) {
         this.dataFetcher = dataFetcher;
+        this.planCache = planCache;
+        this.loadAwareStrategy = loadAwareStrategy;
+        this.horizonStrategy = horizonRuns > 1 && loadAwareStrategy == null ? new HorizonStrategy(RESOLUTION, horizonRuns)
+                : null;
     }
 
     @Override
@@ -40,8 +103,25 @@ public class SuccessivePlanner implements CarbonIntensityPlanner<SuccessivePlann
 
     @Override
     public ZonedDateTime getNextExecutionTime(SuccessivePlanningConstraints constraints) {
-        ZonedDateTime ws;
-        ZonedDateTime we;
+        ZonedDateTime nextExecutionTime = planNextExecutionTime(constraints);
+        if (nextExecutionTime != null) {
+            // the execution after it is planned with the data of the day starting at its last execution
+            dataFetcher.prefetch(dayPeriod(nextExecutionTime, constraints.getCarbonIntensityZone()));
+        }
+        return nextExecutionTime;
+    }
+
+    private ZonedDateTime planNextExecutionTime(SuccessivePlanningConstraints constraints) {
+        if (horizonStrategy != null && constraints.getLastExecutionTime() != null) {
+            var planned = plannedExecutions;
+            var next = planned != null ? planned.next(constraints, dataVersion(planned.period)) : null;
+            if (next != null) {
+                return next;
+            }
+        }
+
+        final ZonedDateTime ws;
+        final ZonedDateTime we;
 
         // first time execution
         if (constraints.getLastExecutionTime() == null) {
@@ -53,15 +133,83 @@ public class SuccessivePlanner implements CarbonIntensityPlanner<SuccessivePlann
         }
 
         ZonedDateTime dayStart = constraints.getLastExecutionTime() != null ? constraints.getLastExecutionTime() : ws;
-        var zonedPeriod = new ZonedCarbonIntensityPeriod.Builder()
+        var zonedPeriod = dayPeriod(dayStart, constraints.getCarbonIntensityZone());
+        if (planCache != null && horizonStrategy == null && loadAwareStrategy == null) {
+            // only changes of the data of the period make the cached plans outdated
+            return planCache.get(zonedPeriod, ws, we, constraints.getDuration(), RESOLUTION,
+                    () -> dataVersion(zonedPeriod),
+                    () -> STRATEGY.bestTimeslot(ws, we, constraints.getDuration(),
+                            dataFetcher.fetchCarbonIntensity(zonedPeriod).toSeries()).start());
+        }
+        CarbonIntensity carbonIntensity = dataFetcher.fetchCarbonIntensity(zonedPeriod);
+
+        if (horizonStrategy != null) {
+            List<Timeslot> timeslots = horizonStrategy.bestTimeslots(ws, we, constraints.getMinimumGap(),
+                    constraints.getMaximumGap(), constraints.getDuration(), carbonIntensity.toSeries());
+            if (!timeslots.isEmpty()) {
+                plannedExecutions = new PlannedExecutions(
+                        timeslots.stream().map(Timeslot::start).collect(Collectors.toUnmodifiableList()), zonedPeriod,
+                        dataVersion(zonedPeriod));
+                return timeslots.get(0).start();
+            }
+            plannedExecutions = null;
+        }
+
+        if (loadAwareStrategy != null) {
+            return loadAwareStrategy.bestTimeslot(constraints.getIdentity(), constraints.getCarbonIntensityZone(), ws, we,
+                    constraints.getDuration(), RESOLUTION, carbonIntensity.toSeries()).start();
+        }
+        return STRATEGY.bestTimeslot(ws, we, constraints.getDuration(), carbonIntensity.toSeries()).start();
+    }
+
+    private static ZonedCarbonIntensityPeriod dayPeriod(ZonedDateTime dayStart, String zone) {
+        return new ZonedCarbonIntensityPeriod.Builder()
                 .withStartTime(dayStart)
                 .withEndTime(dayStart.plusDays(1))
-                .withCarbonIntensityZone(constraints.getCarbonIntensityZone())
+                .withCarbonIntensityZone(zone)
                 .build();
-        CarbonIntensity carbonIntensity = dataFetcher.fetchCarbonIntensity(zonedPeriod);
+    }
+
+    /**
+     * @return the version of the data of the period, so that changes of other zones and days keep the plans
+     */
+    private long dataVersion(ZonedCarbonIntensityPeriod period) {
+        return dataFetcher.getDataVersion(period.getZone(), period.getStartTime().toInstant(),
+                period.getEndTime().toInstant());
+    }
+
+    /**
+     * Executions planned together, with the period and version of the carbon intensity data they were planned with.
+     */
+    private static final class PlannedExecutions {
 
-        SingleJobStrategy initialStrategy = new SingleJobStrategy();
-        return initialStrategy.bestTimeslot(ws, we, constraints.getDuration(), carbonIntensity).start();
+        private final List<ZonedDateTime> startTimes;
+        private final ZonedCarbonIntensityPeriod period;
+        private final long dataVersion;
+
+        private PlannedExecutions(List<ZonedDateTime> startTimes, ZonedCarbonIntensityPeriod period, long dataVersion) {
+            this.startTimes = startTimes;
+            this.period = period;
+            this.dataVersion = dataVersion;
+        }
+
+        /**
+         * @return the planned execution following the last execution, or {@code null} when it has to be planned again
+         */
+        private ZonedDateTime next(SuccessivePlanningConstraints constraints, long currentDataVersion) {
+            if (currentDataVersion != dataVersion) {
+                return null;
+            }
+            ZonedDateTime last = constraints.getLastExecutionTime();
+            for (int i = 1; i < startTimes.size(); i++) {
+                ZonedDateTime planned = startTimes.get(i - 1);
+                // the gaps were planned between the planned start times, so the last execution must have started on time
+                if (!last.isBefore(planned) && last.isBefore(planned.plus(RESOLUTION))) {
+                    return startTimes.get(i);
+                }
+            }
+            return null;
+        }
     }
 
 }
@@ -16,6 +16,7 @@ public class CarbonIntensity {
     private Instant start;
     private Instant end;
     private List<BigDecimal> data = new ArrayList<>();
+    private volatile Snapshot snapshot;
 
     public Duration getResolution() {
         return resolution;
@@ -23,6 +24,7 @@ public class CarbonIntensity {
 
     public void setResolution(Duration resolution) {
         this.resolution = resolution;
+        this.snapshot = null;
     }
 
     public String getZone() {
@@ -31,6 +33,7 @@ public class CarbonIntensity {
 
     public void setZone(String zone) {
         this.zone = zone;
+        this.snapshot = null;
     }
 
     public boolean hasData() {
@@ -43,6 +46,22 @@ public class CarbonIntensity {
 
     public void setData(List<BigDecimal> data) {
         this.data = data;
+        this.snapshot = null;
+    }
+
+    /**
+     * Returns the data as a {@link CarbonIntensitySeries}. The series is a snapshot of the data, created once and reused
+     * until one of the setters is called or the data list has changed, which is checked without allocating.
+     *
+     * @return the series, never {@code null}
+     */
+    public CarbonIntensitySeries toSeries() {
+        Snapshot current = snapshot;
+        if (current == null || !current.isOf(data)) {
+            current = new Snapshot(data, CarbonIntensitySeries.of(this));
+            snapshot = current;
+        }
+        return current.series;
     }
 
     public Instant getStart() {
@@ -51,6 +70,7 @@ public class CarbonIntensity {
 
     public void setStart(Instant start) {
         this.start = start;
+        this.snapshot = null;
     }
 
     public Instant getEnd() {
@@ -59,6 +79,7 @@ public class CarbonIntensity {
 
     public void setEnd(Instant end) {
         this.end = end;
+        this.snapshot = null;
     }
 
     @Override
@@ -71,4 +92,35 @@ public class CarbonIntensity {
                 ", data=" + data +
                 '}';
     }
+
+    /**
+     * A series together with the data it was created from.
+     */
+    private static final class Snapshot {
+
+        private final List<BigDecimal> source;
+        private final BigDecimal[] values;
+        private final CarbonIntensitySeries series;
+
+        private Snapshot(List<BigDecimal> source, CarbonIntensitySeries series) {
+            this.source = source;
+            this.values = source != null ? source.toArray(new BigDecimal[0]) : new BigDecimal[0];
+            this.series = series;
+        }
+
+        /**
+         * @return whether the data is the same list with the same values as when the series was created
+         */
+        private boolean isOf(List<BigDecimal> data) {
+            if (data != source || (data != null ? data.size() : 0) != values.length) {
+                return false;
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (data.get(i) != values[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
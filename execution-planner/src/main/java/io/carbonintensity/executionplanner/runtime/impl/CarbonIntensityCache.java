@@ -1,20 +1,28 @@
 package io.carbonintensity.executionplanner.runtime.impl;
 
+import java.nio.file.Path;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 import java.util.Optional;
-
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.Expiry;
-
+import java.util.function.BiConsumer;
+
+/**
+ * In memory cache of carbon intensity data, optionally backed by a file so that the cached data survives a restart.
+ * <p>
+ * A {@link Key} is packed into a {@code long} of the zone id and the epoch hour, and the values are kept in a map with
+ * primitive keys, so looking up cached data with {@link #getIfPresent(long)} does not allocate. Values expire when
+ * their data becomes useless, values without data are retried after a configurable time to live.
+ */
 public class CarbonIntensityCache {
 
     public static final Duration DEFAULT_TTL_EMPTY_VALUES = Duration.ofHours(1);
     private final Duration emptyValueTTL;
-    private final Cache<Key, CarbonIntensity> caffeine;
+    private final LongKeyedMap<Entry> entries = new LongKeyedMap<>();
+    private final CarbonIntensityCacheFile cacheFile;
+    private final Clock clock;
+    private volatile boolean loaded;
 
     /**
      * Creates the cache with a default TTL for empty values.
@@ -29,57 +37,200 @@ public class CarbonIntensityCache {
      * @param emptyValueTTL Time to live for empty values.
      */
     public CarbonIntensityCache(Duration emptyValueTTL) {
+        this(emptyValueTTL, null);
+    }
+
+    /**
+     * Creates the cache with given TTL for empty values, backed by the given file. The file is read when the cache is
+     * first used and every value with data that is put in the cache is appended to it.
+     *
+     * @param emptyValueTTL Time to live for empty values.
+     * @param file File to persist the cached values in, or {@code null} to keep them in memory only.
+     */
+    public CarbonIntensityCache(Duration emptyValueTTL, Path file) {
+        this(emptyValueTTL, file, Clock.systemUTC());
+    }
+
+    /**
+     * Same as {@link #CarbonIntensityCache(Duration, Path)}, expiring values and skipping the values of the file that
+     * have ended at the time of the given clock.
+     *
+     * @param emptyValueTTL Time to live for empty values.
+     * @param file File to persist the cached values in, or {@code null} to keep them in memory only.
+     * @param clock Clock to expire values and read the file with.
+     */
+    public CarbonIntensityCache(Duration emptyValueTTL, Path file, Clock clock) {
         this.emptyValueTTL = emptyValueTTL;
-        this.caffeine = createCache();
+        this.cacheFile = file != null ? new CarbonIntensityCacheFile(file) : null;
+        this.clock = Objects.requireNonNull(clock, "clock is required");
+        this.loaded = file == null;
     }
 
     public Optional<CarbonIntensity> get(Key key) {
-        return Optional.ofNullable(caffeine.getIfPresent(key));
+        return Optional.ofNullable(getIfPresent(key.toLong()));
+    }
+
+    /**
+     * Looks up cached data without allocating.
+     *
+     * @param key the packed key, see {@link Key#pack(long, String)}
+     * @return the cached data, or {@code null} if it is not cached or has expired
+     */
+    public CarbonIntensity getIfPresent(long key) {
+        ensureLoaded();
+        Entry entry = entries.get(key);
+        if (entry == null || entry.isExpired(clock.millis())) {
+            return null;
+        }
+        return entry.value;
     }
 
     public CarbonIntensity put(Key key, CarbonIntensity value) {
-        caffeine.put(key, value);
+        return put(key, value, true);
+    }
+
+    /**
+     * @param key the key
+     * @param value the carbon intensity data
+     * @param persist whether the value is appended to the file, if any
+     * @return the value
+     */
+    public CarbonIntensity put(Key key, CarbonIntensity value, boolean persist) {
+        ensureLoaded();
+        store(key.toLong(), value);
+        if (persist && cacheFile != null) {
+            cacheFile.append(key, value);
+        }
         return value;
     }
 
-    private Cache<Key, CarbonIntensity> createCache() {
-        return Caffeine.newBuilder()
-                // expire when carbon intensity data becomes useless.
-                // when we get no data, we retry in one hour.
-                .expireAfter(new Expiry<Key, CarbonIntensity>() {
-                    @Override
-                    public long expireAfterCreate(Key key, CarbonIntensity value, long currentTime) {
-                        if (value.getData().isEmpty()) {
-                            return emptyValueTTL.toNanos();
-                        }
-                        Instant current = Instant.ofEpochSecond(0L, currentTime);
-
-                        // expire endTime of day.
-                        var expirationTime = value.getEnd().plusSeconds(1);
-                        return Duration.between(current, expirationTime).toNanos();
-                    }
-
-                    @Override
-                    public long expireAfterUpdate(Key key, CarbonIntensity value, long currentTime,
-                            long currentDuration) {
-                        return currentDuration;
-                    }
-
-                    @Override
-                    public long expireAfterRead(Key key, CarbonIntensity value, long currentTime,
-                            long currentDuration) {
-                        return currentDuration;
-                    }
-                }).build();
+    private void store(long key, CarbonIntensity value) {
+        long now = clock.millis();
+        // expired values are dropped when a value is stored, which happens a few times per zone and day
+        entries.removeIf(entry -> entry.isExpired(now));
+        entries.put(key, new Entry(value, expiresAt(value, now)));
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            load((key, value) -> {
+            });
+        }
+    }
+
+    /**
+     * Reads the file backing this cache, unless it has been read already.
+     *
+     * @param listener called with every value read from the file
+     */
+    public synchronized void load(BiConsumer<Key, CarbonIntensity> listener) {
+        if (loaded) {
+            return;
+        }
+        var values = cacheFile.load(clock.instant());
+        values.forEach((key, value) -> store(key.toLong(), value));
+        loaded = true;
+        values.forEach(listener);
+    }
+
+    /**
+     * Performs the action for every value that has not expired.
+     *
+     * @param action called with the key and the value
+     */
+    public void forEach(BiConsumer<Key, CarbonIntensity> action) {
+        ensureLoaded();
+        long now = clock.millis();
+        entries.forEach((entry, key) -> {
+            if (!entry.isExpired(now)) {
+                action.accept(new Key(key), entry.value);
+            }
+        });
+    }
+
+    /**
+     * @return the epoch millis at which the value expires, when carbon intensity data becomes useless. When we get no
+     *         data, we retry after the time to live of empty values.
+     */
+    private long expiresAt(CarbonIntensity value, long now) {
+        if (value.getData().isEmpty()) {
+            return saturatedAdd(now, emptyValueTTL.toMillis());
+        }
+        // expire endTime of day.
+        return value.getEnd().plusSeconds(1).toEpochMilli();
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        if (((a ^ sum) & (b ^ sum)) < 0) {
+            return b > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        return sum;
+    }
+
+    private static final class Entry {
+
+        private final CarbonIntensity value;
+        private final long expiresAt;
+
+        private Entry(CarbonIntensity value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
     }
 
+    /**
+     * Key of the data of a zone, starting at an hour. The key is packed into a {@code long} of the id of the zone and
+     * the epoch hour.
+     */
     public static class Key {
-        private final Instant time;
-        private final String zone;
+
+        private static final int HOUR_BITS = 40;
+        private static final long HOUR_MASK = (1L << HOUR_BITS) - 1;
+        private static final long SECONDS_PER_HOUR = 3600L;
+
+        private final long packed;
 
         public Key(Instant time, String zone) {
-            this.time = time.truncatedTo(ChronoUnit.HOURS);
-            this.zone = zone.toLowerCase().trim();
+            this(pack(time.getEpochSecond(), zone));
+        }
+
+        Key(long packed) {
+            this.packed = packed;
+        }
+
+        /**
+         * Packs the key of the data of the zone starting at the hour of the given time, without allocating when the zone
+         * was used before.
+         *
+         * @param epochSecond the time, truncated to hours
+         * @param zone the zone, case-insensitive
+         * @return the packed key
+         */
+        public static long pack(long epochSecond, String zone) {
+            long epochHour = Math.floorDiv(epochSecond, SECONDS_PER_HOUR);
+            return ((long) ZoneRegistry.id(zone) << HOUR_BITS) | (epochHour & HOUR_MASK);
+        }
+
+        public Instant getTime() {
+            // sign extends the epoch hour
+            long epochHour = (packed << (Long.SIZE - HOUR_BITS)) >> (Long.SIZE - HOUR_BITS);
+            return Instant.ofEpochSecond(epochHour * SECONDS_PER_HOUR);
+        }
+
+        public String getZone() {
+            return ZoneRegistry.zone((int) (packed >>> HOUR_BITS));
+        }
+
+        /**
+         * @return the packed key
+         */
+        public long toLong() {
+            return packed;
         }
 
         @Override
@@ -89,12 +240,12 @@ public class CarbonIntensityCache {
             if (o == null || getClass() != o.getClass())
                 return false;
             Key key = (Key) o;
-            return Objects.equals(time, key.time) && Objects.equals(zone, key.zone);
+            return packed == key.packed;
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(time, zone);
+            return Long.hashCode(packed);
         }
     }
 }
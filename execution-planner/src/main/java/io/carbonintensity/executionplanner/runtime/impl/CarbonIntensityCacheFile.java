@@ -0,0 +1,209 @@
+package io.carbonintensity.executionplanner.runtime.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only binary file holding the entries of a {@link CarbonIntensityCache}, so that they survive a restart.
+ * <p>
+ * The file starts with a header, followed by length prefixed records of a cache key and its carbon intensity data. A
+ * later record for the same key replaces the earlier one. A record that was not completely written, for instance
+ * because the process was killed, or that is corrupt ends the file. Loading rewrites the file when it holds expired, replaced
+ * or
+ * incomplete records.
+ */
+class CarbonIntensityCacheFile {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarbonIntensityCacheFile.class);
+    private static final int MAGIC = 0x43494331; // "CIC1"
+
+    private final Path file;
+
+    CarbonIntensityCacheFile(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads the entries that are still valid at the given time. A file that cannot be read is a cache miss, the records
+     * before the first corrupt one are kept.
+     *
+     * @param now the current time
+     * @return the entries in the order they were written
+     */
+    synchronized Map<CarbonIntensityCache.Key, CarbonIntensity> load(Instant now) {
+        Map<CarbonIntensityCache.Key, CarbonIntensity> entries = new LinkedHashMap<>();
+        int records;
+        boolean complete;
+        try {
+            long size = Files.size(file);
+            try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (size < Integer.BYTES || in.readInt() != MAGIC) {
+                    logger.warn("Ignoring carbon intensity cache file {} with unknown format", file);
+                    records = 0;
+                    complete = false;
+                } else {
+                    records = readRecords(in, size - Integer.BYTES, entries);
+                    complete = records >= 0;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return entries;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to read carbon intensity cache file {}", file, e);
+            return new LinkedHashMap<>();
+        }
+
+        entries.values().removeIf(value -> !value.getEnd().isAfter(now));
+        if (!complete || entries.size() < records) {
+            rewrite(entries);
+        }
+        logger.debug("Loaded {} carbon intensity cache entries from {}", entries.size(), file);
+        return entries;
+    }
+
+    /**
+     * Reads the records up to the first one that is incomplete or corrupt.
+     *
+     * @param remaining the number of bytes following the header
+     * @return the number of records read, or {@code -1} if an incomplete or corrupt record ended the file
+     */
+    private int readRecords(DataInputStream in, long remaining, Map<CarbonIntensityCache.Key, CarbonIntensity> entries)
+            throws IOException {
+        int records = 0;
+        while (remaining > 0) {
+            if (remaining < Integer.BYTES) {
+                return -1;
+            }
+            int length = in.readInt();
+            remaining -= Integer.BYTES;
+            if (length <= 0 || length > remaining) {
+                logger.warn("Ignoring incomplete or corrupt record {} of carbon intensity cache file {}", records, file);
+                return -1;
+            }
+            byte[] record = new byte[length];
+            in.readFully(record);
+            remaining -= length;
+            CarbonIntensityCache.Key key;
+            CarbonIntensity value;
+            try {
+                var recordIn = new DataInputStream(new ByteArrayInputStream(record));
+                key = new CarbonIntensityCache.Key(Instant.ofEpochSecond(recordIn.readLong()), recordIn.readUTF());
+                value = readValue(recordIn, length);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Ignoring corrupt record {} of carbon intensity cache file {}", records, file, e);
+                return -1;
+            }
+            records++;
+            // a replaced key is moved to the end, so that rewriting keeps the most recent records last
+            entries.remove(key);
+            entries.put(key, value);
+        }
+        return records;
+    }
+
+    private static CarbonIntensity readValue(DataInputStream in, int length) throws IOException {
+        var value = new CarbonIntensity();
+        value.setZone(in.readUTF());
+        value.setStart(Instant.ofEpochSecond(in.readLong()));
+        value.setEnd(Instant.ofEpochSecond(in.readLong()));
+        value.setResolution(Duration.ofSeconds(in.readLong()));
+        int size = in.readInt();
+        if (size < 0 || size > length / Double.BYTES) {
+            throw new IOException("Invalid number of carbon intensities " + size);
+        }
+        List<BigDecimal> data = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            data.add(BigDecimal.valueOf(in.readDouble()));
+        }
+        value.setData(data);
+        return value;
+    }
+
+    /**
+     * Appends the entry to the file. Values without data or without start, end or resolution are not written.
+     *
+     * @param key the cache key
+     * @param value the carbon intensity data
+     */
+    synchronized void append(CarbonIntensityCache.Key key, CarbonIntensity value) {
+        if (!isPersistable(value)) {
+            return;
+        }
+        try {
+            byte[] record = toRecord(key, value);
+            boolean exists = Files.exists(file);
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+                if (!exists) {
+                    out.writeInt(MAGIC);
+                }
+                writeRecord(out, record);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write carbon intensity cache file {}", file, e);
+        }
+    }
+
+    private void rewrite(Map<CarbonIntensityCache.Key, CarbonIntensity> entries) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (OutputStream fileOut = Files.newOutputStream(temp);
+                    var out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+                out.writeInt(MAGIC);
+                for (var entry : entries.entrySet()) {
+                    writeRecord(out, toRecord(entry.getKey(), entry.getValue()));
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to compact carbon intensity cache file {}", file, e);
+        }
+    }
+
+    private static boolean isPersistable(CarbonIntensity value) {
+        return value.hasData() && value.getStart() != null && value.getEnd() != null && value.getResolution() != null;
+    }
+
+    private static byte[] toRecord(CarbonIntensityCache.Key key, CarbonIntensity value) throws IOException {
+        var bytes = new ByteArrayOutputStream(64 + value.getData().size() * Double.BYTES);
+        var out = new DataOutputStream(bytes);
+        out.writeLong(key.getTime().getEpochSecond());
+        out.writeUTF(key.getZone());
+        out.writeUTF(value.getZone() != null ? value.getZone() : key.getZone());
+        out.writeLong(value.getStart().getEpochSecond());
+        out.writeLong(value.getEnd().getEpochSecond());
+        out.writeLong(value.getResolution().getSeconds());
+        out.writeInt(value.getData().size());
+        for (BigDecimal intensity : value.getData()) {
+            out.writeDouble(intensity.doubleValue());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeRecord(DataOutputStream out, byte[] record) throws IOException {
+        out.writeInt(record.length);
+        out.write(record);
+    }
+}
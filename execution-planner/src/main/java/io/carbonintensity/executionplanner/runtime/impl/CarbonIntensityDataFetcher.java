@@ -1,6 +1,58 @@
 package io.carbonintensity.executionplanner.runtime.impl;
 
+import java.time.Instant;
+
 public interface CarbonIntensityDataFetcher {
 
     CarbonIntensity fetchCarbonIntensity(ZonedCarbonIntensityPeriod zonedPeriod);
+
+    /**
+     * Returns the version of the fetched data. The version changes whenever new carbon intensity data is stored, so plans
+     * computed with an older version may be outdated.
+     *
+     * @return the current data version
+     */
+    default long getDataVersion() {
+        return 0L;
+    }
+
+    /**
+     * Returns the version of the fetched data of a zone in a period. The version only changes when new carbon intensity
+     * data of the zone is stored for a day overlapping the period, so plans using that period can be kept when the data
+     * of other zones or days changes.
+     *
+     * @param zone the carbon intensity zone
+     * @param start the start of the period
+     * @param end the end of the period
+     * @return the current data version of the period
+     */
+    default long getDataVersion(String zone, Instant start, Instant end) {
+        return getDataVersion();
+    }
+
+    /**
+     * Hints that the data of the period is going to be requested, so that it can be fetched ahead of that request.
+     * Fetchers that do not refresh ahead ignore the hint.
+     *
+     * @param zonedPeriod the period that is going to be requested, with the start it is going to be requested with
+     */
+    default void prefetch(ZonedCarbonIntensityPeriod zonedPeriod) {
+    }
+
+    /**
+     * Registers a listener that is notified when the data of a zone and day changes. Fetchers that do not track the
+     * versions per zone and day do not notify listeners.
+     *
+     * @param listener the listener to add
+     */
+    default void addDataVersionListener(DataVersionListener listener) {
+    }
+
+    /**
+     * @param listener the listener to remove
+     * @return {@code true} if the listener was registered
+     */
+    default boolean removeDataVersionListener(DataVersionListener listener) {
+        return false;
+    }
 }
@@ -1,20 +1,109 @@
 package io.carbonintensity.executionplanner.runtime.impl;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.carbonintensity.executionplanner.spi.CarbonIntensityApi;
 
-public class CarbonIntensityDataFetcherImpl implements CarbonIntensityDataFetcher {
+/**
+ * Fetches carbon intensity data from the rest API, falling back to the fallback API, and caches the results.
+ * <p>
+ * When created with a positive refresh-ahead lead time, the forecast of the next day is fetched in the background
+ * {@code refreshLeadTime} before the cached data of a period ends, for every zone that was requested since the last
+ * refresh. Periods whose start depends on the last execution of a job, and so is not the next day of a requested
+ * period, are fetched {@code refreshLeadTime} before their start when the planner hints them through
+ * {@link #prefetch(ZonedCarbonIntensityPeriod)}. Cached data keeps being served while it is refreshed, so planning on
+ * the steady-state path does not wait for the rest API.
+ * <p>
+ * Besides the global data version, a version is kept for every zone and UTC day that data was stored for, and the
+ * registered {@link DataVersionListener}s are notified of every changed zone and day. Data read from the file of the
+ * cache is versioned and refreshed ahead like fetched data, data of the fallback API is not written to that file.
+ */
+public class CarbonIntensityDataFetcherImpl implements CarbonIntensityDataFetcher, AutoCloseable {
 
     private static final Logger logger = LoggerFactory.getLogger(CarbonIntensityDataFetcherImpl.class);
-    private final CarbonIntensityCache cache = new CarbonIntensityCache();
+    private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+    private final CarbonIntensityCache cache;
+    private final AtomicLong dataVersion = new AtomicLong();
+    // data version per zone and epoch day
+    private final Map<String, NavigableMap<Long, Long>> dayVersions = new ConcurrentHashMap<>();
+    private final List<DataVersionListener> dataVersionListeners = new CopyOnWriteArrayList<>();
+    private final Map<CarbonIntensityCache.Key, CompletableFuture<CarbonIntensity>> inFlight = new ConcurrentHashMap<>();
+    // packed keys of the periods requested since their last refresh
+    private final LongKeyedMap<Boolean> requestedKeys = new LongKeyedMap<>();
+    private final Map<CarbonIntensityCache.Key, ScheduledFuture<?>> scheduledRefreshes = new ConcurrentHashMap<>();
+    private final Map<CarbonIntensityCache.Key, ScheduledFuture<?>> scheduledPrefetches = new ConcurrentHashMap<>();
     private final CarbonIntensityApi restApi;
     private final CarbonIntensityApi fallbackApi;
+    private final Clock clock;
+    private final Duration refreshLeadTime;
+    private final int refreshConcurrency;
+    private volatile ScheduledExecutorService refreshExecutor;
 
+    /**
+     * Creates a data fetcher without refresh-ahead.
+     *
+     * @param restApi the carbon intensity rest API
+     * @param fallbackApi API used when the rest API is disabled or fails
+     */
     public CarbonIntensityDataFetcherImpl(CarbonIntensityApi restApi, CarbonIntensityApi fallbackApi) {
+        this(restApi, fallbackApi, Clock.systemDefaultZone(), Duration.ZERO, 0);
+    }
+
+    /**
+     * Creates a data fetcher that refreshes the forecasts of the requested zones ahead of their expiry.
+     *
+     * @param restApi the carbon intensity rest API
+     * @param fallbackApi API used when the rest API is disabled or fails
+     * @param clock clock used to expire the cached data and to schedule the refreshes
+     * @param refreshLeadTime time before the end of the cached data at which the next day is fetched, zero disables
+     *        refresh-ahead
+     * @param refreshConcurrency number of threads fetching forecasts in the background
+     */
+    public CarbonIntensityDataFetcherImpl(CarbonIntensityApi restApi, CarbonIntensityApi fallbackApi, Clock clock,
+            Duration refreshLeadTime, int refreshConcurrency) {
+        this(restApi, fallbackApi, new CarbonIntensityCache(CarbonIntensityCache.DEFAULT_TTL_EMPTY_VALUES, null, clock), clock,
+                refreshLeadTime, refreshConcurrency);
+    }
+
+    /**
+     * Creates a data fetcher that stores the fetched data in the given cache and refreshes the forecasts of the
+     * requested zones ahead of their expiry.
+     *
+     * @param restApi the carbon intensity rest API
+     * @param fallbackApi API used when the rest API is disabled or fails
+     * @param cache the cache to store the fetched data in
+     * @param clock clock used to schedule the refreshes
+     * @param refreshLeadTime time before the end of the cached data at which the next day is fetched, zero disables
+     *        refresh-ahead
+     * @param refreshConcurrency number of threads fetching forecasts in the background
+     */
+    public CarbonIntensityDataFetcherImpl(CarbonIntensityApi restApi, CarbonIntensityApi fallbackApi,
+            CarbonIntensityCache cache, Clock clock, Duration refreshLeadTime, int refreshConcurrency) {
+        this.cache = Objects.requireNonNull(cache, "cache is required");
         this.fallbackApi = fallbackApi;
         if (restApi.isEnabled()) {
             this.restApi = restApi;
@@ -22,36 +111,290 @@ public class CarbonIntensityDataFetcherImpl implements CarbonIntensityDataFetche
             logger.warn("Rest API not configured. Using only fallback API.");
             this.restApi = this.fallbackApi;
         }
+        this.clock = Objects.requireNonNull(clock, "clock is required");
+        this.refreshLeadTime = Objects.requireNonNull(refreshLeadTime, "refreshLeadTime is required");
+        if (refreshLeadTime.isNegative()) {
+            throw new IllegalArgumentException("refreshLeadTime must not be negative");
+        }
+        if (!refreshLeadTime.isZero() && refreshConcurrency < 1) {
+            throw new IllegalArgumentException("refreshConcurrency must be greater than zero");
+        }
+        this.refreshConcurrency = refreshConcurrency;
+        this.refreshExecutor = refreshLeadTime.isZero() ? null : newRefreshExecutor(refreshConcurrency);
+        cache.load(this::restore);
+    }
+
+    private static ScheduledExecutorService newRefreshExecutor(int refreshConcurrency) {
+        ThreadFactory tf = new ThreadFactory() {
+
+            private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread t = new Thread(runnable, "carbon-intensity-refresh-" + threadNumber.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            }
+        };
+        return Executors.newScheduledThreadPool(refreshConcurrency, tf);
+    }
+
+    /**
+     * Versions and refreshes the data that was read from the file of the cache, like data that was fetched.
+     */
+    private void restore(CarbonIntensityCache.Key key, CarbonIntensity carbonIntensity) {
+        var zonedPeriod = cachedPeriod(key, carbonIntensity);
+        updateDataVersion(key, zonedPeriod);
+        scheduleRefresh(key, zonedPeriod, carbonIntensity);
+    }
+
+    private static ZonedCarbonIntensityPeriod cachedPeriod(CarbonIntensityCache.Key key, CarbonIntensity carbonIntensity) {
+        return new ZonedCarbonIntensityPeriod.Builder()
+                .withStartTime(key.getTime().atZone(ZoneOffset.UTC))
+                .withEndTime(carbonIntensity.getEnd().atZone(ZoneOffset.UTC))
+                .withCarbonIntensityZone(key.getZone())
+                .build();
     }
 
     public CarbonIntensity fetchCarbonIntensity(ZonedCarbonIntensityPeriod zonedPeriod) {
         logger.trace("Fetching data for zone {}", zonedPeriod);
-        var carbonIntensity = getFromCache(zonedPeriod);
-        if (carbonIntensity.isPresent()) {
+        // the packed key does not allocate on the cache hit path
+        long key = CarbonIntensityCache.Key.pack(zonedPeriod.getStartTime().toEpochSecond(), zonedPeriod.getZone());
+        if (refreshExecutor != null && requestedKeys.get(key) == null) {
+            requestedKeys.put(key, Boolean.TRUE);
+        }
+        var carbonIntensity = cache.getIfPresent(key);
+        if (carbonIntensity != null) {
             logger.trace("Found carbonIntensity data in cache");
-            return carbonIntensity.get();
+            return carbonIntensity;
         }
+        return load(new CarbonIntensityCache.Key(key), zonedPeriod, true);
+    }
 
+    /**
+     * Fetches and stores the data of the period. Concurrent loads of the same key share a single request.
+     *
+     * @param useCache whether data that was cached in the meantime may be returned instead of fetching it again
+     */
+    private CarbonIntensity load(CarbonIntensityCache.Key key, ZonedCarbonIntensityPeriod zonedPeriod, boolean useCache) {
+        var request = new CompletableFuture<CarbonIntensity>();
+        var pending = inFlight.putIfAbsent(key, request);
+        if (pending != null) {
+            logger.trace("Waiting for data that is already being fetched {}", zonedPeriod);
+            return pending.join();
+        }
+        try {
+            // a request for the same key may have completed since the cache was checked
+            var cached = useCache ? cache.get(key) : Optional.<CarbonIntensity> empty();
+            var result = cached.orElseGet(() -> fetchAndStore(key, zonedPeriod));
+            request.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            request.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, request);
+        }
+    }
+
+    private CarbonIntensity fetchAndStore(CarbonIntensityCache.Key key, ZonedCarbonIntensityPeriod zonedPeriod) {
         logger.debug("Empty cache, fetching data from rest API {}", zonedPeriod);
+        var fallback = new AtomicBoolean(restApi == fallbackApi);
         var restResponse = restApi.getCarbonIntensity(zonedPeriod)
-                .exceptionally(e -> handleException(e, zonedPeriod))
+                .exceptionally(e -> {
+                    fallback.set(true);
+                    return handleException(e, zonedPeriod);
+                })
                 .join();
 
-        return storeInCache(restResponse);
+        // the fallback data is available again after a restart, so it is kept in memory only
+        cache.put(key, restResponse, !fallback.get());
+        updateDataVersion(key, zonedPeriod);
+        scheduleRefresh(key, zonedPeriod, restResponse);
+        return restResponse;
+    }
+
+    @Override
+    public long getDataVersion() {
+        return dataVersion.get();
     }
 
-    private Optional<CarbonIntensity> getFromCache(ZonedCarbonIntensityPeriod zonedPeriod) {
-        var start = zonedPeriod.getStartTime().toInstant();
-        return cache.get(new CarbonIntensityCache.Key(start, zonedPeriod.getZone()));
+    private static CarbonIntensityCache.Key cacheKey(ZonedCarbonIntensityPeriod zonedPeriod) {
+        return new CarbonIntensityCache.Key(zonedPeriod.getStartTime().toInstant(), zonedPeriod.getZone());
     }
 
-    private CarbonIntensity storeInCache(CarbonIntensity carbonIntensity) {
-        var start = carbonIntensity.getStart();
-        return cache.put(new CarbonIntensityCache.Key(start, carbonIntensity.getZone()), carbonIntensity);
+    @Override
+    public long getDataVersion(String zone, Instant start, Instant end) {
+        var versions = dayVersions.get(zone.toLowerCase().trim());
+        if (versions == null) {
+            return 0L;
+        }
+        long version = 0L;
+        for (long dayVersion : versions.subMap(epochDay(start), true, lastEpochDay(start, end), true).values()) {
+            version = Math.max(version, dayVersion);
+        }
+        return version;
+    }
+
+    @Override
+    public void addDataVersionListener(DataVersionListener listener) {
+        dataVersionListeners.add(Objects.requireNonNull(listener, "listener is required"));
+    }
+
+    @Override
+    public boolean removeDataVersionListener(DataVersionListener listener) {
+        return dataVersionListeners.remove(listener);
+    }
+
+    /**
+     * Changes the version of the days of the period of data that was stored under the key it was requested with, which
+     * is the key it is looked up with, and notifies the listeners of those days.
+     */
+    private void updateDataVersion(CarbonIntensityCache.Key key, ZonedCarbonIntensityPeriod zonedPeriod) {
+        long version = dataVersion.incrementAndGet();
+        Instant start = zonedPeriod.getStartTime().toInstant();
+        long firstDay = epochDay(start);
+        long lastDay = lastEpochDay(start, zonedPeriod.getEndTime().toInstant());
+        var versions = dayVersions.computeIfAbsent(key.getZone(), zone -> new ConcurrentSkipListMap<>());
+        for (long day = firstDay; day <= lastDay; day++) {
+            versions.merge(day, version, Math::max);
+        }
+        for (long day = firstDay; day <= lastDay; day++) {
+            var dayStart = Instant.ofEpochMilli(day * DAY_MILLIS);
+            for (DataVersionListener listener : dataVersionListeners) {
+                try {
+                    listener.dataVersionChanged(key.getZone(), dayStart, dayStart.plusMillis(DAY_MILLIS), version);
+                } catch (RuntimeException e) {
+                    logger.warn("Data version listener failed for zone {}", key.getZone(), e);
+                }
+            }
+        }
+    }
+
+    private static long epochDay(Instant time) {
+        return Math.floorDiv(time.toEpochMilli(), DAY_MILLIS);
+    }
+
+    /**
+     * @return the epoch day of the last moment of the period, which ends exclusively
+     */
+    private static long lastEpochDay(Instant start, Instant end) {
+        return Math.max(epochDay(start), Math.floorDiv(end.toEpochMilli() - 1, DAY_MILLIS));
+    }
+
+    /**
+     * Schedules fetching the next day of the period {@link #refreshLeadTime} before the given data ends.
+     */
+    private void scheduleRefresh(CarbonIntensityCache.Key key, ZonedCarbonIntensityPeriod zonedPeriod,
+            CarbonIntensity carbonIntensity) {
+        var executor = refreshExecutor;
+        if (executor == null || !carbonIntensity.hasData() || carbonIntensity.getEnd() == null) {
+            return;
+        }
+        long now = clock.millis();
+        long end = carbonIntensity.getEnd().toEpochMilli();
+        if (end <= now) {
+            return;
+        }
+        long delay = Math.max(0L, end - refreshLeadTime.toMillis() - now);
+        try {
+            var refresh = executor.schedule(() -> refresh(key, zonedPeriod), delay, TimeUnit.MILLISECONDS);
+            var previous = scheduledRefreshes.put(key, refresh);
+            if (previous != null) {
+                previous.cancel(false);
+            }
+        } catch (RejectedExecutionException e) {
+            logger.debug("Refresh-ahead has been stopped, not refreshing {}", zonedPeriod);
+        }
+    }
+
+    /**
+     * Fetches the next day of the period, if the period was requested since it was stored. Data of the next day that
+     * is already cached keeps being served until the fetched data replaces it.
+     */
+    private void refresh(CarbonIntensityCache.Key key, ZonedCarbonIntensityPeriod zonedPeriod) {
+        scheduledRefreshes.remove(key);
+        if (requestedKeys.remove(key.toLong()) == null) {
+            logger.debug("Not refreshing unused period {}", zonedPeriod);
+            return;
+        }
+        var nextPeriod = new ZonedCarbonIntensityPeriod.Builder()
+                .withStartTime(zonedPeriod.getStartTime().plusDays(1))
+                .withEndTime(zonedPeriod.getEndTime().plusDays(1))
+                .withCarbonIntensityZone(zonedPeriod.getZone())
+                .build();
+        logger.debug("Refreshing ahead {}", nextPeriod);
+        try {
+            load(cacheKey(nextPeriod), nextPeriod, false);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh carbon intensity data ahead {}", nextPeriod, e);
+        }
+    }
+
+    /**
+     * Schedules fetching the period {@link #refreshLeadTime} before it starts, under the key it is going to be requested
+     * with, unless it is cached already.
+     */
+    @Override
+    public void prefetch(ZonedCarbonIntensityPeriod zonedPeriod) {
+        var executor = refreshExecutor;
+        if (executor == null) {
+            return;
+        }
+        long packed = CarbonIntensityCache.Key.pack(zonedPeriod.getStartTime().toEpochSecond(), zonedPeriod.getZone());
+        if (cache.getIfPresent(packed) != null) {
+            return;
+        }
+        var key = new CarbonIntensityCache.Key(packed);
+        long delay = Math.max(0L,
+                zonedPeriod.getStartTime().toInstant().toEpochMilli() - refreshLeadTime.toMillis() - clock.millis());
+        try {
+            scheduledPrefetches.computeIfAbsent(key, k -> executor.schedule(() -> {
+                scheduledPrefetches.remove(k);
+                logger.debug("Fetching ahead {}", zonedPeriod);
+                try {
+                    load(k, zonedPeriod, true);
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to fetch carbon intensity data ahead {}", zonedPeriod, e);
+                }
+            }, delay, TimeUnit.MILLISECONDS));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Refresh-ahead has been stopped, not fetching {}", zonedPeriod);
+        }
     }
 
     private CarbonIntensity handleException(Throwable e, ZonedCarbonIntensityPeriod zonedPeriod) {
         logger.error("Failed to get data from rest API. Using fallback API", e);
         return fallbackApi.getCarbonIntensity(zonedPeriod).join();
     }
+
+    /**
+     * Refreshes ahead again after {@link #close()}, starting with the data that is still cached. Does nothing when
+     * refresh-ahead is disabled or running.
+     */
+    public synchronized void start() {
+        if (refreshExecutor == null || !refreshExecutor.isShutdown()) {
+            return;
+        }
+        refreshExecutor = newRefreshExecutor(refreshConcurrency);
+        cache.forEach((key, carbonIntensity) -> {
+            if (carbonIntensity.hasData() && carbonIntensity.getEnd() != null) {
+                scheduleRefresh(key, cachedPeriod(key, carbonIntensity), carbonIntensity);
+            }
+        });
+        logger.debug("Restarted refresh-ahead");
+    }
+
+    /**
+     * Stops refreshing ahead, until {@link #start()} is called. Fetching data on demand keeps working.
+     */
+    @Override
+    public synchronized void close() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+            scheduledRefreshes.clear();
+            scheduledPrefetches.clear();
+        }
+    }
+
 }
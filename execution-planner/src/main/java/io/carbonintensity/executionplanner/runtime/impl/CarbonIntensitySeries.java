@@ -0,0 +1,151 @@
+package io.carbonintensity.executionplanner.runtime.impl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable, array backed view of {@link CarbonIntensity}: the values of consecutive periods of equal length, starting at
+ * a given epoch second.
+ * <p>
+ * This is the representation the planning strategies work on. It holds no objects per period and can be shared freely
+ * between threads. {@link #toCarbonIntensity()} converts it back for code that needs the {@code BigDecimal} values.
+ */
+public final class CarbonIntensitySeries {
+
+    private final String zone;
+    private final long start;
+    private final long resolution;
+    private final double[] values;
+    private final double[] cumulative;
+
+    /**
+     * @param zone the carbon intensity zone
+     * @param start epoch second at which the first period starts
+     * @param resolution length of each period in seconds
+     * @param values the carbon intensity of each period
+     */
+    public CarbonIntensitySeries(String zone, long start, long resolution, double[] values) {
+        if (resolution <= 0 && values.length > 0) {
+            throw new IllegalArgumentException("Resolution must be positive, got " + resolution);
+        }
+        this.zone = zone;
+        this.start = start;
+        this.resolution = resolution;
+        this.values = values.clone();
+        this.cumulative = new double[values.length + 1];
+        for (int i = 0; i < values.length; i++) {
+            cumulative[i + 1] = cumulative[i] + values[i];
+        }
+    }
+
+    /**
+     * Converts the data of the carbon intensity API. Prefer {@link CarbonIntensity#toSeries()}, which keeps the result.
+     *
+     * @param carbonIntensity the carbon intensity data
+     * @return the series
+     */
+    public static CarbonIntensitySeries of(CarbonIntensity carbonIntensity) {
+        List<BigDecimal> data = carbonIntensity.hasData() ? carbonIntensity.getData() : List.of();
+        double[] values = new double[data.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = data.get(i).doubleValue();
+        }
+        Instant start = carbonIntensity.getStart();
+        Duration resolution = carbonIntensity.getResolution();
+        return new CarbonIntensitySeries(carbonIntensity.getZone(),
+                start != null ? start.getEpochSecond() : 0L,
+                resolution != null ? resolution.getSeconds() : 0L,
+                values);
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    /**
+     * @return epoch second at which the first period starts
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return epoch second at which the last period ends
+     */
+    public long getEnd() {
+        return periodStart(values.length);
+    }
+
+    /**
+     * @return length of each period in seconds
+     */
+    public long getResolution() {
+        return resolution;
+    }
+
+    /**
+     * @return the number of periods
+     */
+    public int size() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    /**
+     * @param period index of the period
+     * @return the carbon intensity of the period
+     */
+    public double value(int period) {
+        return values[period];
+    }
+
+    /**
+     * @param period index of the period, {@link #size()} for the end of the last period
+     * @return the sum of the carbon intensity of all periods before the given one
+     */
+    public double cumulativeValue(int period) {
+        return cumulative[period];
+    }
+
+    /**
+     * @param period index of the period, {@link #size()} for the end of the last period
+     * @return epoch second at which the period starts
+     */
+    public long periodStart(int period) {
+        return start + period * resolution;
+    }
+
+    /**
+     * @return a new {@link CarbonIntensity} with the same data
+     */
+    public CarbonIntensity toCarbonIntensity() {
+        CarbonIntensity carbonIntensity = new CarbonIntensity();
+        carbonIntensity.setZone(zone);
+        carbonIntensity.setStart(Instant.ofEpochSecond(start));
+        carbonIntensity.setEnd(Instant.ofEpochSecond(getEnd()));
+        carbonIntensity.setResolution(Duration.ofSeconds(resolution));
+        List<BigDecimal> data = new ArrayList<>(values.length);
+        for (double value : values) {
+            data.add(BigDecimal.valueOf(value));
+        }
+        carbonIntensity.setData(data);
+        return carbonIntensity;
+    }
+
+    @Override
+    public String toString() {
+        return "CarbonIntensitySeries{" +
+                "zone='" + zone + '\'' +
+                ", start=" + Instant.ofEpochSecond(start) +
+                ", resolution=" + resolution +
+                ", values=" + Arrays.toString(values) +
+                '}';
+    }
+}
@@ -0,0 +1,23 @@
+package io.carbonintensity.executionplanner.runtime.impl;
+
+import java.time.Instant;
+
+/**
+ * Listens to changes of the carbon intensity data of a zone, so that only the plans using the changed data need to be
+ * planned again.
+ *
+ * @see CarbonIntensityDataFetcher#addDataVersionListener(DataVersionListener)
+ */
+@FunctionalInterface
+public interface DataVersionListener {
+
+    /**
+     * Called after new carbon intensity data of a zone is stored, once for every day the data covers.
+     *
+     * @param zone the carbon intensity zone, in lower case
+     * @param start the start of the changed day (UTC)
+     * @param end the end of the changed day (UTC)
+     * @param dataVersion the data version of the changed day
+     */
+    void dataVersionChanged(String zone, Instant start, Instant end, long dataVersion);
+}
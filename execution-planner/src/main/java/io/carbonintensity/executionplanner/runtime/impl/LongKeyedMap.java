@@ -0,0 +1,160 @@
+package io.carbonintensity.executionplanner.runtime.impl;
+
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Map with primitive {@code long} keys for small maps that are read far more often than they are written, like the
+ * carbon intensity of a few zones and days.
+ * <p>
+ * The entries are kept in an open addressing table that is replaced on every write, so reads are lock-free and do not
+ * allocate: no key is boxed and no entry object is created. Writes copy the table and are serialized.
+ *
+ * @param <V> the type of the values, {@code null} values are not supported
+ */
+final class LongKeyedMap<V> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private volatile Table table = new Table(MIN_CAPACITY);
+
+    /**
+     * @param key the key
+     * @return the value of the key, or {@code null} if there is none
+     */
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        Table current = table;
+        int mask = current.keys.length - 1;
+        for (int i = index(key, mask);; i = (i + 1) & mask) {
+            Object value = current.values[i];
+            if (value == null) {
+                return null;
+            }
+            if (current.keys[i] == key) {
+                return (V) value;
+            }
+        }
+    }
+
+    /**
+     * @param key the key
+     * @param value the value
+     * @return the previous value of the key, or {@code null} if there was none
+     */
+    synchronized V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        V previous = get(key);
+        Table current = table;
+        Table next = new Table(capacity(current.size + 1));
+        copyExcept(current, next, key);
+        next.insert(key, value);
+        table = next;
+        return previous;
+    }
+
+    /**
+     * @param key the key
+     * @return the removed value, or {@code null} if there was none
+     */
+    synchronized V remove(long key) {
+        V previous = get(key);
+        if (previous != null) {
+            Table current = table;
+            Table next = new Table(capacity(current.size - 1));
+            copyExcept(current, next, key);
+            table = next;
+        }
+        return previous;
+    }
+
+    /**
+     * Removes the entries whose value matches the filter.
+     *
+     * @param filter selects the values to remove
+     */
+    @SuppressWarnings("unchecked")
+    synchronized void removeIf(Predicate<? super V> filter) {
+        Table current = table;
+        Table next = new Table(current.keys.length);
+        for (int i = 0; i < current.keys.length; i++) {
+            Object value = current.values[i];
+            if (value != null && !filter.test((V) value)) {
+                next.insert(current.keys[i], value);
+            }
+        }
+        if (next.size != current.size) {
+            table = next;
+        }
+    }
+
+    /**
+     * Performs the action for every entry, without locking.
+     *
+     * @param action called with the value and the key of every entry
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(ObjLongConsumer<? super V> action) {
+        Table current = table;
+        for (int i = 0; i < current.keys.length; i++) {
+            Object value = current.values[i];
+            if (value != null) {
+                action.accept((V) value, current.keys[i]);
+            }
+        }
+    }
+
+    int size() {
+        return table.size;
+    }
+
+    private static void copyExcept(Table from, Table to, long skippedKey) {
+        for (int i = 0; i < from.keys.length; i++) {
+            Object value = from.values[i];
+            if (value != null && from.keys[i] != skippedKey) {
+                to.insert(from.keys[i], value);
+            }
+        }
+    }
+
+    /**
+     * @return a power of two that keeps the table at most half full
+     */
+    private static int capacity(int size) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int index(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static final class Table {
+
+        private final long[] keys;
+        private final Object[] values;
+        private int size;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+        }
+
+        private void insert(long key, Object value) {
+            int mask = keys.length - 1;
+            int i = index(key, mask);
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.carbonintensity.executionplanner.runtime.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registry of the carbon intensity zones, giving every zone a small integer id so that cache keys can be packed into a
+ * {@code long}.
+ * <p>
+ * Zones are case-insensitive and surrounding whitespace is ignored. Only the zones in lower case are stored. A known
+ * zone in another spelling is found by comparing it with the stored zones, so looking up a known zone does not allocate
+ * in any spelling. The number of zones is small, so ids are never released.
+ */
+final class ZoneRegistry {
+
+    // ids are packed into the upper bits of a cache key
+    static final int MAX_ZONES = 1 << 23;
+
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static final List<String> zones = new CopyOnWriteArrayList<>();
+
+    private ZoneRegistry() {
+    }
+
+    /**
+     * @param zone the zone in any spelling
+     * @return the id of the zone
+     */
+    static int id(String zone) {
+        Integer id = ids.get(zone);
+        if (id != null) {
+            return id;
+        }
+        int start = 0;
+        int end = zone.length();
+        while (start < end && zone.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && zone.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int length = end - start;
+        for (int i = 0; i < zones.size(); i++) {
+            String known = zones.get(i);
+            if (known.length() == length && known.regionMatches(true, 0, zone, start, length)) {
+                return i;
+            }
+        }
+        return register(zone.toLowerCase().trim());
+    }
+
+    /**
+     * @param id the id of a registered zone
+     * @return the zone in lower case
+     */
+    static String zone(int id) {
+        return zones.get(id);
+    }
+
+    private static synchronized int register(String normalized) {
+        Integer id = ids.get(normalized);
+        if (id == null) {
+            if (zones.size() >= MAX_ZONES) {
+                throw new IllegalStateException("Too many carbon intensity zones, unable to register " + normalized);
+            }
+            id = zones.size();
+            zones.add(normalized);
+            ids.put(normalized, id);
+        }
+        return id;
+    }
+}
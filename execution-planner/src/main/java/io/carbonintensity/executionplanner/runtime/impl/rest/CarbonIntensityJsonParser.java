@@ -10,10 +10,9 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import jakarta.json.Json;
-import jakarta.json.JsonNumber;
-import jakarta.json.JsonObject;
 import jakarta.json.JsonWriter;
 import jakarta.json.stream.JsonParser;
 
@@ -31,24 +30,99 @@ public final class CarbonIntensityJsonParser {
     private static final String FIELD_ZONE = "zone";
     private static final String FIELD_DATA = "data";
 
+    /**
+     * Parses the carbon intensity data, reading the fields straight from the JSON event stream.
+     *
+     * @param inputStream the JSON
+     * @return the carbon intensity data, empty if the JSON is not an object
+     */
     public CarbonIntensity parse(InputStream inputStream) {
         var result = new CarbonIntensity();
+        var data = new ArrayList<BigDecimal>();
         try (JsonParser parser = Json.createParser(new InputStreamReader(inputStream, CHARSET))) {
-            if (parser.hasNext()) {
-                var event = parser.next();
-                if (event == JsonParser.Event.START_OBJECT) {
-                    var jsonWrapper = new JsonWrapper(parser.getObject());
-                    result.setStart(jsonWrapper.getInstant(FIELD_START));
-                    result.setEnd(jsonWrapper.getInstant(FIELD_END));
-                    result.setResolution(jsonWrapper.getDuration(FIELD_RESOLUTION));
-                    result.setZone(jsonWrapper.getString(FIELD_ZONE));
-                    result.setData(jsonWrapper.getBigDecimalList(FIELD_DATA));
-                }
+            if (parser.hasNext() && parser.next() == JsonParser.Event.START_OBJECT) {
+                var fields = readFields(parser, dataParser -> readData(dataParser, data));
+                result.setStart(fields.start);
+                result.setEnd(fields.end);
+                result.setResolution(fields.resolution);
+                result.setZone(fields.zone);
             }
         }
+        result.setData(data);
         return result;
     }
 
+    /**
+     * Reads the fields of the object the parser is in, up to and including its end. Unknown fields are skipped.
+     *
+     * @param dataReader reads the values of the data array, up to and including its end
+     */
+    private static Fields readFields(JsonParser parser, Consumer<JsonParser> dataReader) {
+        var fields = new Fields();
+        while (parser.hasNext()) {
+            var event = parser.next();
+            if (event != JsonParser.Event.KEY_NAME) {
+                break;
+            }
+            var name = parser.getString();
+            event = parser.next();
+            switch (name) {
+                case FIELD_START:
+                    fields.start = toInstant(stringValue(parser, event));
+                    break;
+                case FIELD_END:
+                    fields.end = toInstant(stringValue(parser, event));
+                    break;
+                case FIELD_RESOLUTION:
+                    var resolution = stringValue(parser, event);
+                    fields.resolution = resolution != null && !resolution.isEmpty() ? Duration.parse(resolution) : null;
+                    break;
+                case FIELD_ZONE:
+                    fields.zone = stringValue(parser, event);
+                    break;
+                case FIELD_DATA:
+                    if (event == JsonParser.Event.START_ARRAY) {
+                        dataReader.accept(parser);
+                    }
+                    break;
+                default:
+                    skip(parser, event);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Reads the numbers of the data array the parser is in, up to and including its end. Values of another type are
+     * skipped.
+     */
+    private static void readData(JsonParser parser, List<BigDecimal> data) {
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            if (event == JsonParser.Event.VALUE_NUMBER) {
+                data.add(parser.getBigDecimal());
+            } else {
+                skip(parser, event);
+            }
+        }
+    }
+
+    private static String stringValue(JsonParser parser, JsonParser.Event event) {
+        return event == JsonParser.Event.VALUE_STRING ? parser.getString() : null;
+    }
+
+    private static Instant toInstant(String value) {
+        return value != null && !value.isEmpty() ? Instant.parse(value) : null;
+    }
+
+    private static void skip(JsonParser parser, JsonParser.Event event) {
+        if (event == JsonParser.Event.START_OBJECT) {
+            parser.skipObject();
+        } else if (event == JsonParser.Event.START_ARRAY) {
+            parser.skipArray();
+        }
+    }
+
     public String toJson(CarbonIntensity carbonIntensity) {
         var dataJsonArray = Json.createArrayBuilder();
         carbonIntensity.getData().forEach(dataJsonArray::add);
@@ -68,39 +142,11 @@ public final class CarbonIntensityJsonParser {
         }
     }
 
-    private static class JsonWrapper {
-        final JsonObject jsonObject;
-
-        private JsonWrapper(JsonObject jsonObject) {
-            this.jsonObject = jsonObject;
-        }
-
-        Instant getInstant(String property) {
-            var value = getString(property);
-            return value != null && !value.isEmpty() ? Instant.parse(value) : null;
-        }
-
-        String getString(String property) {
-            return jsonObject.get(property) != null ? jsonObject.getString(property) : null;
-        }
-
-        Duration getDuration(String property) {
-            var value = getString(property);
-            return value != null && !value.isEmpty() ? Duration.parse(value) : null;
-        }
-
-        List<BigDecimal> getBigDecimalList(String property) {
-            var result = new ArrayList<BigDecimal>();
-            if (jsonObject.get(property) != null) {
-                var jsonArray = jsonObject.getJsonArray(property);
-                jsonArray.forEach(jsonValue -> {
-                    var jsonNumber = (JsonNumber) jsonValue;
-                    result.add(jsonNumber.bigDecimalValue());
-                });
-            }
-            return result;
-        }
-
+    private static class Fields {
+        Instant start;
+        Instant end;
+        Duration resolution;
+        String zone;
     }
 
 }
@@ -11,7 +11,8 @@ import io.carbonintensity.executionplanner.runtime.impl.ZonedCarbonIntensityPeri
 public interface CarbonIntensityApi {
 
     /**
-     * Gets carbon intensity data for the given period and zone
+     * Gets carbon intensity data for the given period and zone. The returned data may be cached and shared with other
+     * callers, so it is read-only: it must not be modified.
      *
      * @param zonedPeriod period and zone
      * @return data for the given period
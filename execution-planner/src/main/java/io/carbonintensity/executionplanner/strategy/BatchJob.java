@@ -0,0 +1,55 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * A job to plan with a {@link BatchPlanningStrategy}: the window to start it in and how long it runs.
+ */
+public final class BatchJob {
+
+    private final String identity;
+    private final ZonedDateTime windowStart;
+    private final ZonedDateTime windowEnd;
+    private final Duration duration;
+
+    /**
+     * @param identity the job identity
+     * @param windowStart the start of the window to start the job in
+     * @param windowEnd the end of the window to start the job in
+     * @param duration the duration of the job
+     */
+    public BatchJob(String identity, ZonedDateTime windowStart, ZonedDateTime windowEnd, Duration duration) {
+        this.identity = Objects.requireNonNull(identity, "identity cannot be null");
+        this.windowStart = Objects.requireNonNull(windowStart, "windowStart cannot be null");
+        this.windowEnd = Objects.requireNonNull(windowEnd, "windowEnd cannot be null");
+        this.duration = Objects.requireNonNull(duration, "duration cannot be null");
+    }
+
+    public String getIdentity() {
+        return identity;
+    }
+
+    public ZonedDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    public ZonedDateTime getWindowEnd() {
+        return windowEnd;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchJob{" +
+                "identity='" + identity + '\'' +
+                ", windowStart=" + windowStart +
+                ", windowEnd=" + windowEnd +
+                ", duration=" + duration +
+                '}';
+    }
+}
@@ -0,0 +1,21 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import java.util.List;
+import java.util.Map;
+
+import io.carbonintensity.executionplanner.planner.Timeslot;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
+
+/**
+ * Plans a set of jobs of the same carbon intensity zone together, where a {@link PlanningStrategy} plans one job at a
+ * time without considering the others.
+ */
+public interface BatchPlanningStrategy {
+
+    /**
+     * @param jobs the jobs to plan, identities must be unique
+     * @param series the carbon intensity data covering the windows of the jobs
+     * @return the timeslot for each job identity, jobs with an empty window are left out
+     */
+    Map<String, Timeslot> bestTimeslots(List<BatchJob> jobs, CarbonIntensitySeries series);
+}
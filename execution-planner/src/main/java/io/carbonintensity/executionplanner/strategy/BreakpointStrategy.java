@@ -0,0 +1,89 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.carbonintensity.executionplanner.planner.Timeslot;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensity;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
+
+/**
+ * Places a single job at the exact best start time in the given window, without sampling the window at a fixed
+ * resolution.
+ * <p>
+ * The carbon intensity of a timeslot of fixed duration is piecewise linear in its start time, with breakpoints where
+ * the start or the end of the timeslot crosses a period boundary of the forecast. The minimum is therefore found at
+ * the start of the window, the end of the window or one of these breakpoints, so only those are scored. That is at
+ * most two candidates per forecast period, regardless of the size of the window. When several start times are equally
+ * good, the earliest one is returned.
+ *
+ * @see SlidingWindowStrategy
+ */
+public class BreakpointStrategy implements PlanningStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(BreakpointStrategy.class);
+
+    @Override
+    public Timeslot bestTimeslot(ZonedDateTime ws, ZonedDateTime we, Duration duration, CarbonIntensity carbonIntensity) {
+        return bestTimeslot(ws, we, duration, carbonIntensity.toSeries());
+    }
+
+    @Override
+    public Timeslot bestTimeslot(ZonedDateTime ws, ZonedDateTime we, Duration duration, CarbonIntensitySeries series) {
+        if (ws.isAfter(we)) {
+            log.warn("No timeslots found!  {}", series.size());
+            return null;
+        }
+
+        CumulativeIntensity cumulative = new CumulativeIntensity(series);
+        long windowStart = ws.toInstant().toEpochMilli();
+        long windowEnd = we.toInstant().toEpochMilli();
+        long durationMillis = duration.toMillis();
+
+        long[] candidates = candidates(cumulative, windowStart, windowEnd, durationMillis);
+        long bestStart = windowStart;
+        double best = Double.MAX_VALUE;
+        for (long start : candidates) {
+            double value = cumulative.between(start, start + durationMillis);
+            if (CumulativeIntensity.isLower(value, best)) {
+                best = value;
+                bestStart = start;
+            }
+        }
+
+        ZonedDateTime start = ws.plus(Duration.ofMillis(bestStart - windowStart));
+        Timeslot timeslot = new Timeslot(start, start.plus(duration), BigDecimal.valueOf(best));
+        log.debug("Found best timeslot of {} job between {} - {} at {} (CI: {}, {} candidates)", duration, ws, we,
+                timeslot.start(), timeslot.carbonIntensity(), candidates.length);
+        return timeslot;
+    }
+
+    /**
+     * @return the start times, in ascending order, at which the start or the end of the timeslot is on the window
+     *         boundaries or on a period boundary
+     */
+    private static long[] candidates(CumulativeIntensity cumulative, long windowStart, long windowEnd,
+            long durationMillis) {
+        long[] candidates = new long[2 * (cumulative.periods() + 1) + 2];
+        int count = 0;
+        candidates[count++] = windowStart;
+        candidates[count++] = windowEnd;
+        for (int period = 0; period <= cumulative.periods(); period++) {
+            long boundary = cumulative.periodStart(period);
+            if (boundary > windowStart && boundary < windowEnd) {
+                candidates[count++] = boundary;
+            }
+            if (boundary - durationMillis > windowStart && boundary - durationMillis < windowEnd) {
+                candidates[count++] = boundary - durationMillis;
+            }
+        }
+        candidates = Arrays.copyOf(candidates, count);
+        Arrays.sort(candidates);
+        return candidates;
+    }
+}
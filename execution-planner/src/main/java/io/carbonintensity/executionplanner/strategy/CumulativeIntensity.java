@@ -0,0 +1,78 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
+
+/**
+ * Cumulative carbon intensity of a forecast, with the intensity of every period spread evenly over its duration.
+ * Outside the forecast the intensity is zero.
+ */
+final class CumulativeIntensity {
+
+    private static final double TIE_TOLERANCE = 1e-9;
+
+    private final CarbonIntensitySeries series;
+    private final long start;
+    private final long end;
+    private final long periodMillis;
+
+    CumulativeIntensity(CarbonIntensitySeries series) {
+        this.series = series;
+        this.start = series.getStart() * 1000;
+        this.end = series.getEnd() * 1000;
+        this.periodMillis = series.getResolution() * 1000;
+    }
+
+    /**
+     * @param from epoch millis, inclusive
+     * @param to epoch millis, exclusive
+     * @return the carbon intensity between both instants
+     */
+    double between(long from, long to) {
+        from = Math.max(from, start);
+        to = Math.min(to, end);
+        if (to <= from) {
+            return 0;
+        }
+        int first = (int) ((from - start) / periodMillis);
+        int last = (int) ((to - start) / periodMillis);
+        if (first == last) {
+            // kept separate so equal timeslots within one period get exactly the same value
+            return rate(first) * (to - from);
+        }
+        double value = rate(first) * (periodStart(first + 1) - from)
+                + (series.cumulativeValue(last) - series.cumulativeValue(first + 1));
+        if (last < series.size()) {
+            value += rate(last) * (to - periodStart(last));
+        }
+        return value;
+    }
+
+    /**
+     * Compares two scores. Scores that differ by less than a billionth are ties, so that the earliest of equally scored
+     * timeslots is kept instead of the one with the smallest floating-point error.
+     *
+     * @return whether the value is lower than the best value so far
+     */
+    static boolean isLower(double value, double best) {
+        return value < best - Math.abs(best) * TIE_TOLERANCE;
+    }
+
+    /**
+     * @return the number of periods in the forecast
+     */
+    int periods() {
+        return series.size();
+    }
+
+    /**
+     * @param period index of the period, {@link #periods()} for the end of the forecast
+     * @return epoch millis at which the period starts
+     */
+    long periodStart(int period) {
+        return start + period * periodMillis;
+    }
+
+    private double rate(int period) {
+        return series.value(period) / periodMillis;
+    }
+}
@@ -0,0 +1,167 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.carbonintensity.executionplanner.planner.Timeslot;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
+
+/**
+ * Plans a set of jobs so that their total carbon intensity is low, while no more than a maximum number of jobs run at
+ * the same time.
+ * <p>
+ * Each job can start at its window start plus a multiple of the resolution, like {@link SlidingWindowStrategy}, and
+ * every candidate is scored once. The jobs are then placed one by one, the job with the fewest candidates first, in the
+ * greenest timeslot where fewer than the maximum number of jobs are already placed. Concurrency is counted per
+ * resolution step from the earliest window start. When every timeslot of a job is at the maximum, the job is placed in
+ * the least crowded one, so every job with a non-empty window gets a timeslot.
+ * <p>
+ * The placement is a heuristic, not an optimal assignment, but its cost is linear in the number of candidates times the
+ * number of steps a job covers, so hundreds of jobs are planned in milliseconds.
+ */
+public class GreedyBatchStrategy implements BatchPlanningStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(GreedyBatchStrategy.class);
+
+    private final Duration resolution;
+    private final int maxConcurrency;
+
+    /**
+     * @param resolution the resolution of generating timeslots
+     * @param maxConcurrency the maximum number of jobs running at the same time
+     */
+    public GreedyBatchStrategy(Duration resolution, int maxConcurrency) {
+        if (resolution.isNegative() || resolution.isZero()) {
+            throw new IllegalArgumentException("Resolution must be positive, got " + resolution);
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Maximum concurrency must be greater than 0, got " + maxConcurrency);
+        }
+        this.resolution = resolution;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public Map<String, Timeslot> bestTimeslots(List<BatchJob> jobs, CarbonIntensitySeries series) {
+        CumulativeIntensity cumulative = new CumulativeIntensity(series);
+        long step = resolution.toMillis();
+
+        List<Candidates> plannable = new ArrayList<>(jobs.size());
+        long origin = Long.MAX_VALUE;
+        long horizon = Long.MIN_VALUE;
+        for (BatchJob job : jobs) {
+            if (job.getWindowStart().isAfter(job.getWindowEnd())) {
+                log.warn("No timeslots found for {}", job);
+                continue;
+            }
+            Candidates candidates = new Candidates(job, step, cumulative);
+            plannable.add(candidates);
+            origin = Math.min(origin, candidates.windowStart);
+            horizon = Math.max(horizon, candidates.lastStart() + candidates.occupied);
+        }
+        if (plannable.isEmpty()) {
+            return Map.of();
+        }
+
+        int[] running = new int[(int) Math.floorDiv(horizon - origin, step) + 2];
+        List<Candidates> ordered = new ArrayList<>(plannable);
+        ordered.sort(Comparator.comparingInt((Candidates c) -> c.values.length)
+                .thenComparing(c -> c.job.getDuration(), Comparator.reverseOrder()));
+        for (Candidates candidates : ordered) {
+            place(candidates, running, origin, step);
+        }
+
+        Map<String, Timeslot> timeslots = new LinkedHashMap<>();
+        for (Candidates candidates : plannable) {
+            timeslots.put(candidates.job.getIdentity(), candidates.timeslot());
+        }
+        log.debug("Planned {} jobs with at most {} running at the same time", timeslots.size(), maxConcurrency);
+        return timeslots;
+    }
+
+    private void place(Candidates candidates, int[] running, long origin, long step) {
+        int chosen = -1;
+        int chosenPeak = Integer.MAX_VALUE;
+        for (int slot = 0; slot < candidates.values.length; slot++) {
+            int peak = peak(running, candidates.firstStep(slot, origin), candidates.lastStep(slot, origin));
+            boolean available = peak < maxConcurrency;
+            boolean chosenAvailable = chosenPeak < maxConcurrency;
+            if (chosen < 0
+                    || (available && (!chosenAvailable
+                            || CumulativeIntensity.isLower(candidates.values[slot], candidates.values[chosen])))
+                    || (!available && !chosenAvailable && peak < chosenPeak)) {
+                chosen = slot;
+                chosenPeak = peak;
+            }
+        }
+        if (chosenPeak >= maxConcurrency) {
+            log.warn("No timeslot with fewer than {} running jobs found for {}", maxConcurrency, candidates.job);
+        }
+        candidates.chosen = chosen;
+        for (int i = candidates.firstStep(chosen, origin); i < candidates.lastStep(chosen, origin); i++) {
+            running[i]++;
+        }
+    }
+
+    private static int peak(int[] running, int from, int to) {
+        int peak = 0;
+        for (int i = from; i < to; i++) {
+            peak = Math.max(peak, running[i]);
+        }
+        return peak;
+    }
+
+    /**
+     * The scored start times of a job.
+     */
+    private static final class Candidates {
+
+        private final BatchJob job;
+        private final long windowStart;
+        private final long step;
+        // a job without duration still runs for a moment
+        private final long occupied;
+        private final double[] values;
+        private int chosen;
+
+        private Candidates(BatchJob job, long step, CumulativeIntensity cumulative) {
+            this.job = job;
+            this.windowStart = job.getWindowStart().toInstant().toEpochMilli();
+            this.step = step;
+            long durationMillis = job.getDuration().toMillis();
+            this.occupied = Math.max(durationMillis, 1);
+            int slots = (int) ((job.getWindowEnd().toInstant().toEpochMilli() - windowStart) / step + 1);
+            this.values = new double[slots];
+            for (int slot = 0; slot < slots; slot++) {
+                long start = windowStart + slot * step;
+                values[slot] = cumulative.between(start, start + durationMillis);
+            }
+        }
+
+        private long lastStart() {
+            return windowStart + (values.length - 1) * step;
+        }
+
+        private int firstStep(int slot, long origin) {
+            return (int) Math.floorDiv(windowStart + slot * step - origin, step);
+        }
+
+        private int lastStep(int slot, long origin) {
+            long end = windowStart + slot * step + occupied - origin;
+            return (int) -Math.floorDiv(-end, step);
+        }
+
+        private Timeslot timeslot() {
+            var start = job.getWindowStart().plus(Duration.ofMillis(chosen * step));
+            return new Timeslot(start, start.plus(job.getDuration()), BigDecimal.valueOf(values[chosen]));
+        }
+    }
+}
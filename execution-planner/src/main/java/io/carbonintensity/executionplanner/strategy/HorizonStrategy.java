@@ -0,0 +1,147 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.carbonintensity.executionplanner.planner.Timeslot;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
+
+/**
+ * Plans a number of successive executions of a job together, so that their total carbon intensity is minimal, where
+ * {@link SingleJobStrategy} only looks at the next execution.
+ * <p>
+ * The first execution starts in the given window, every following one between the minimum and maximum gap after the
+ * previous one. Executions start at the window start plus a multiple of the resolution and, except the first one, must
+ * end within the forecast. The best sequence is found with dynamic programming over the candidate start times: the
+ * best total for each number of executions and each start time follows from the best totals of one execution less in
+ * the range of start times the gaps allow, which is kept in a sliding window minimum. The cost is linear in the number
+ * of executions times the number of candidate start times.
+ * <p>
+ * Executions are scored like {@link SingleJobStrategy} scores a timeslot, so a planned execution has the same carbon
+ * intensity as the same timeslot planned on its own. Unlike {@link SingleJobStrategy}, the first execution must also end
+ * within the forecast, as a timeslot past its end has no known intensity to plan the following executions with.
+ */
+public class HorizonStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(HorizonStrategy.class);
+
+    private final Duration resolution;
+    private final int runs;
+
+    /**
+     * @param resolution the resolution of generating timeslots
+     * @param runs the maximum number of executions to plan together
+     */
+    public HorizonStrategy(Duration resolution, int runs) {
+        if (resolution.isNegative() || resolution.isZero()) {
+            throw new IllegalArgumentException("Resolution must be positive, got " + resolution);
+        }
+        if (runs < 1) {
+            throw new IllegalArgumentException("Runs must be greater than 0, got " + runs);
+        }
+        this.resolution = resolution;
+        this.runs = runs;
+    }
+
+    /**
+     * @param ws the start of the window to start the first execution in
+     * @param we the end of the window to start the first execution in
+     * @param minimumGap the minimum time between the start of two executions
+     * @param maximumGap the maximum time between the start of two executions
+     * @param duration the duration of the job
+     * @param series the carbon intensity data
+     * @return the timeslots of the planned executions in order, or an empty list when the forecast does not cover at
+     *         least two executions
+     */
+    public List<Timeslot> bestTimeslots(ZonedDateTime ws, ZonedDateTime we, Duration minimumGap, Duration maximumGap,
+            Duration duration, CarbonIntensitySeries series) {
+        if (ws.isAfter(we) || series.isEmpty()) {
+            return List.of();
+        }
+        long windowStart = ws.toInstant().toEpochMilli();
+        long durationMillis = duration.toMillis();
+        long step = resolution.toMillis();
+        int firstSlots = (int) ((we.toInstant().toEpochMilli() - windowStart) / step);
+        long lastStart = series.getEnd() * 1000 - durationMillis;
+        int minGap = (int) Math.max(1, -Math.floorDiv(-minimumGap.toMillis(), step));
+        int maxGap = (int) Math.min(Integer.MAX_VALUE, maximumGap.toMillis() / step);
+        if (lastStart < windowStart || maxGap < minGap) {
+            return List.of();
+        }
+        int slots = (int) Math.min((lastStart - windowStart) / step + 1, Integer.MAX_VALUE);
+        int count = (int) Math.min(runs, (slots - 1L) / minGap + 1);
+        if (count < 2) {
+            return List.of();
+        }
+
+        CumulativeIntensity cumulative = new CumulativeIntensity(series);
+        double[] values = new double[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            long start = windowStart + slot * step;
+            values[slot] = cumulative.between(start, start + durationMillis);
+        }
+
+        // best[slot] is the lowest total of the executions planned so far, with the last one starting at slot
+        double[] best = new double[slots];
+        for (int slot = 0; slot < slots; slot++) {
+            best[slot] = slot <= firstSlots ? values[slot] : Double.POSITIVE_INFINITY;
+        }
+        int[][] previous = new int[count][slots];
+        int[] window = new int[slots];
+        for (int run = 1; run < count; run++) {
+            double[] next = new double[slots];
+            int head = 0;
+            int tail = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                int entering = slot - minGap;
+                if (entering >= 0) {
+                    // equal totals keep the earlier slot in front
+                    while (tail > head && best[window[tail - 1]] > best[entering]) {
+                        tail--;
+                    }
+                    window[tail++] = entering;
+                }
+                while (tail > head && window[head] < slot - maxGap) {
+                    head++;
+                }
+                if (tail > head && best[window[head]] < Double.POSITIVE_INFINITY) {
+                    next[slot] = best[window[head]] + values[slot];
+                    previous[run][slot] = window[head];
+                } else {
+                    next[slot] = Double.POSITIVE_INFINITY;
+                }
+            }
+            best = next;
+        }
+
+        int last = -1;
+        for (int slot = 0; slot < slots; slot++) {
+            if (best[slot] < Double.POSITIVE_INFINITY && (last < 0 || CumulativeIntensity.isLower(best[slot], best[last]))) {
+                last = slot;
+            }
+        }
+        if (last < 0) {
+            return List.of();
+        }
+        int[] planned = new int[count];
+        planned[count - 1] = last;
+        for (int run = count - 1; run > 0; run--) {
+            planned[run - 1] = previous[run][planned[run]];
+        }
+
+        List<Timeslot> timeslots = new ArrayList<>(count);
+        for (int slot : planned) {
+            ZonedDateTime start = ws.plus(resolution.multipliedBy(slot));
+            timeslots.add(new Timeslot(start, start.plus(duration), BigDecimal.valueOf(values[slot])));
+        }
+        log.debug("Planned {} executions of {} job from {} (total CI: {})", count, duration, timeslots.get(0).start(),
+                best[last]);
+        return timeslots;
+    }
+}
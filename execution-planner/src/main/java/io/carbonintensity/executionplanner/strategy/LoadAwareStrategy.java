@@ -0,0 +1,163 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.carbonintensity.executionplanner.planner.Timeslot;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
+
+/**
+ * Places jobs like {@link SingleJobStrategy}, but spreads them over the timeslots that are nearly as green as the best
+ * one, instead of starting every job of a carbon intensity zone at the same moment.
+ * <p>
+ * The strategy keeps track of the timeslot that was planned for each job. A timeslot is a candidate when its carbon
+ * intensity is at most the given tolerance above the best timeslot. The greenest candidate that is planned for fewer
+ * jobs than the capacity is chosen; when all candidates are at capacity, the candidate with the fewest planned jobs is
+ * chosen. A single instance is meant to be shared by the planners of a scheduler.
+ */
+public class LoadAwareStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadAwareStrategy.class);
+
+    private final int capacity;
+    private final double tolerance;
+    private final Clock clock;
+    private final Map<String, PlannedJob> plannedJobs = new HashMap<>();
+
+    /**
+     * @param capacity the number of jobs that can run at the same time, usually the number of job executors
+     * @param tolerance the fraction the carbon intensity of a timeslot can be above the best timeslot, e.g. {@code 0.05}
+     *        for 5%
+     * @param clock clock used to forget jobs that have finished
+     */
+    public LoadAwareStrategy(int capacity, double tolerance, Clock clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("tolerance cannot be negative");
+        }
+        this.capacity = capacity;
+        this.tolerance = tolerance;
+        this.clock = clock;
+    }
+
+    /**
+     * Finds a timeslot for the job and plans the job in it, replacing the previous timeslot of the job.
+     *
+     * @param identity the job identity
+     * @param zone the carbon intensity zone the job runs in
+     * @param ws the start of the window to start the job in
+     * @param we the end of the window to start the job in
+     * @param duration the duration of the job
+     * @param resolution the resolution of generating timeslots
+     * @param series the carbon intensity data
+     * @return the timeslot, or {@code null} when the window is empty
+     */
+    public synchronized Timeslot bestTimeslot(String identity, String zone, ZonedDateTime ws, ZonedDateTime we,
+            Duration duration, Duration resolution, CarbonIntensitySeries series) {
+        if (ws.isAfter(we)) {
+            log.warn("No timeslots found!  {}", series.size());
+            return null;
+        }
+        removeFinishedJobs();
+
+        long windowStart = ws.toInstant().toEpochMilli();
+        long durationMillis = duration.toMillis();
+        long step = resolution.toMillis();
+        int slots = (int) ((we.toInstant().toEpochMilli() - windowStart) / step + 1);
+
+        CumulativeIntensity cumulative = new CumulativeIntensity(series);
+        double[] values = new double[slots];
+        double best = Double.MAX_VALUE;
+        for (int slot = 0; slot < slots; slot++) {
+            long start = windowStart + slot * step;
+            values[slot] = cumulative.between(start, start + durationMillis);
+            best = Math.min(best, values[slot]);
+        }
+
+        double threshold = best + Math.abs(best) * tolerance;
+        // a job without duration still occupies a job executor for a moment
+        long occupied = Math.max(durationMillis, step);
+        int chosen = -1;
+        int chosenLoad = Integer.MAX_VALUE;
+        for (int slot = 0; slot < slots; slot++) {
+            if (values[slot] > threshold) {
+                continue;
+            }
+            long start = windowStart + slot * step;
+            int load = load(identity, zone, start, start + occupied);
+            boolean available = load < capacity;
+            boolean chosenAvailable = chosenLoad < capacity;
+            if (chosen < 0
+                    || (available && (!chosenAvailable || CumulativeIntensity.isLower(values[slot], values[chosen])))
+                    || (!available && !chosenAvailable && load < chosenLoad)) {
+                chosen = slot;
+                chosenLoad = load;
+            }
+        }
+
+        long start = windowStart + chosen * step;
+        plannedJobs.put(identity, new PlannedJob(zone, start, start + occupied));
+
+        ZonedDateTime slotStart = ws.plus(resolution.multipliedBy(chosen));
+        Timeslot timeslot = new Timeslot(slotStart, slotStart.plus(duration), BigDecimal.valueOf(values[chosen]));
+        log.debug("Found timeslot of {} job {} between {} - {} at {} (CI: {}, planned jobs: {})", duration, identity, ws,
+                we, timeslot.start(), timeslot.carbonIntensity(), chosenLoad);
+        return timeslot;
+    }
+
+    /**
+     * Forgets the timeslot planned for the job, for instance because it was unscheduled.
+     *
+     * @param identity the job identity
+     */
+    public synchronized void remove(String identity) {
+        plannedJobs.remove(identity);
+    }
+
+    /**
+     * @param zone the carbon intensity zone
+     * @param time the moment, as epoch millis
+     * @return the number of jobs planned to run in the zone at the given moment
+     */
+    public synchronized int getPlannedJobs(String zone, long time) {
+        return load(null, zone, time, time + 1);
+    }
+
+    private int load(String identity, String zone, long start, long end) {
+        int load = 0;
+        for (Map.Entry<String, PlannedJob> entry : plannedJobs.entrySet()) {
+            PlannedJob job = entry.getValue();
+            if (!entry.getKey().equals(identity) && job.zone.equals(zone) && job.start < end && start < job.end) {
+                load++;
+            }
+        }
+        return load;
+    }
+
+    private void removeFinishedJobs() {
+        long now = clock.millis();
+        plannedJobs.values().removeIf(job -> job.end <= now);
+    }
+
+    private static final class PlannedJob {
+
+        private final String zone;
+        private final long start;
+        private final long end;
+
+        private PlannedJob(String zone, long start, long end) {
+            this.zone = zone;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -5,7 +5,16 @@ import java.time.ZonedDateTime;
 
 import io.carbonintensity.executionplanner.planner.Timeslot;
 import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensity;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
 
 public interface PlanningStrategy {
     Timeslot bestTimeslot(ZonedDateTime ws, ZonedDateTime we, Duration duration, CarbonIntensity carbonIntensity);
+
+    /**
+     * Same as {@link #bestTimeslot(ZonedDateTime, ZonedDateTime, Duration, CarbonIntensity)}, for strategies that work on
+     * the series directly. The default implementation converts the series back to a {@link CarbonIntensity}.
+     */
+    default Timeslot bestTimeslot(ZonedDateTime ws, ZonedDateTime we, Duration duration, CarbonIntensitySeries series) {
+        return bestTimeslot(ws, we, duration, series.toCarbonIntensity());
+    }
 }
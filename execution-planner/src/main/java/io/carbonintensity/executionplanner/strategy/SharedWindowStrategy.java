@@ -0,0 +1,217 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.carbonintensity.executionplanner.planner.Timeslot;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
+
+/**
+ * Plans the jobs of a carbon intensity zone that share a window together with a {@link GreedyBatchStrategy}, so that
+ * no more jobs than the capacity run at the same time, where {@link SingleJobStrategy} would start every job of the
+ * window in the same timeslot.
+ * <p>
+ * The strategy keeps track of the window of every job it planned. Planning a job plans all known jobs of its zone and
+ * window at once, and the assignment is reused for the other jobs until a job joins the window or the carbon intensity
+ * data changes. A window gets a new version when a job joins it, and the listener is notified, so that the jobs that
+ * were planned before can be planned again with the new assignment. A single instance is meant to be shared by the
+ * planners of a scheduler.
+ */
+public class SharedWindowStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedWindowStrategy.class);
+
+    private final int capacity;
+    private final Clock clock;
+    private final Listener listener;
+    private final Map<String, WindowKey> plannedJobs = new HashMap<>();
+    private final Map<WindowKey, Window> windows = new HashMap<>();
+    private long version;
+
+    /**
+     * @param capacity the number of jobs that can run at the same time, usually the number of job executors
+     * @param clock clock used to forget windows that have passed
+     * @param listener notified when a job joins a window that has other jobs
+     */
+    public SharedWindowStrategy(int capacity, Clock clock, Listener listener) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.clock = Objects.requireNonNull(clock, "clock is required");
+        this.listener = Objects.requireNonNull(listener, "listener is required");
+    }
+
+    /**
+     * Plans the jobs of the window of the job, unless they were planned already, and returns the timeslot of the job.
+     *
+     * @param identity the job identity
+     * @param zone the carbon intensity zone the job runs in
+     * @param ws the start of the window to start the job in
+     * @param we the end of the window to start the job in
+     * @param duration the duration of the job
+     * @param resolution the resolution of generating timeslots
+     * @param series the carbon intensity data covering the window
+     * @param dataVersion the version of the carbon intensity data
+     * @return the timeslot, or {@code null} when the window is empty
+     */
+    public Timeslot bestTimeslot(String identity, String zone, ZonedDateTime ws, ZonedDateTime we, Duration duration,
+            Duration resolution, CarbonIntensitySeries series, long dataVersion) {
+        if (ws.isAfter(we)) {
+            log.warn("No timeslots found!  {}", series.size());
+            return null;
+        }
+        WindowKey key = new WindowKey(zone, ws, we);
+        Window joined = null;
+        Timeslot timeslot;
+        synchronized (this) {
+            removePassedWindows();
+            Window window = windows.computeIfAbsent(key, k -> new Window());
+            BatchJob job = new BatchJob(identity, ws, we, duration);
+            BatchJob previous = window.jobs.put(identity, job);
+            if (previous == null || !previous.getDuration().equals(duration)) {
+                WindowKey previousKey = plannedJobs.put(identity, key);
+                if (!key.equals(previousKey)) {
+                    leave(identity, previousKey);
+                }
+                window.version = ++version;
+                window.assignment = null;
+                if (window.jobs.size() > 1) {
+                    joined = window;
+                }
+            }
+            if (window.assignment == null || window.dataVersion != dataVersion || !window.resolution.equals(resolution)) {
+                window.assignment = new GreedyBatchStrategy(resolution, capacity)
+                        .bestTimeslots(new ArrayList<>(window.jobs.values()), series);
+                window.dataVersion = dataVersion;
+                window.resolution = resolution;
+                log.debug("Planned {} jobs of {} between {} - {}", window.jobs.size(), zone, ws, we);
+            }
+            timeslot = window.assignment.get(identity);
+        }
+        if (joined != null) {
+            listener.windowChanged(key.zone, ws.toInstant(), we.toInstant(), joined.version);
+        }
+        return timeslot;
+    }
+
+    /**
+     * Forgets the job, for instance because it was unscheduled. The other jobs of its window keep their timeslots.
+     *
+     * @param identity the job identity
+     */
+    public synchronized void remove(String identity) {
+        leave(identity, plannedJobs.remove(identity));
+    }
+
+    /**
+     * @param zone the carbon intensity zone
+     * @param from the start of the period
+     * @param to the end of the period
+     * @return the latest version of the windows of the zone that overlap the period, zero when there are none
+     */
+    public synchronized long getVersion(String zone, Instant from, Instant to) {
+        String normalizedZone = normalize(zone);
+        long latest = 0L;
+        for (Map.Entry<WindowKey, Window> entry : windows.entrySet()) {
+            WindowKey key = entry.getKey();
+            if (key.zone.equals(normalizedZone) && key.start < to.toEpochMilli() && from.toEpochMilli() < key.end) {
+                latest = Math.max(latest, entry.getValue().version);
+            }
+        }
+        return latest;
+    }
+
+    private void leave(String identity, WindowKey key) {
+        if (key == null) {
+            return;
+        }
+        Window window = windows.get(key);
+        if (window != null && window.jobs.remove(identity) != null) {
+            window.assignment = null;
+            if (window.jobs.isEmpty()) {
+                windows.remove(key);
+            }
+        }
+    }
+
+    private void removePassedWindows() {
+        long now = clock.millis();
+        windows.entrySet().removeIf(entry -> {
+            Window window = entry.getValue();
+            long longest = window.jobs.values().stream().mapToLong(job -> job.getDuration().toMillis()).max().orElse(0L);
+            if (entry.getKey().end + longest > now) {
+                return false;
+            }
+            window.jobs.keySet().forEach(plannedJobs::remove);
+            return true;
+        });
+    }
+
+    private static String normalize(String zone) {
+        return zone.trim().toLowerCase();
+    }
+
+    /**
+     * Notified when a job joins a window that has other jobs, which changes the timeslots of those jobs.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param zone the carbon intensity zone, in lower case
+         * @param start the start of the window
+         * @param end the end of the window
+         * @param version the new version of the window
+         */
+        void windowChanged(String zone, Instant start, Instant end, long version);
+    }
+
+    private static final class WindowKey {
+
+        private final String zone;
+        private final long start;
+        private final long end;
+
+        private WindowKey(String zone, ZonedDateTime start, ZonedDateTime end) {
+            this.zone = normalize(zone);
+            this.start = start.toInstant().toEpochMilli();
+            this.end = end.toInstant().toEpochMilli();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            WindowKey that = (WindowKey) o;
+            return start == that.start && end == that.end && zone.equals(that.zone);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(zone, start, end);
+        }
+    }
+
+    private static final class Window {
+
+        // ordered by identity, so that the assignment does not depend on the order the jobs were planned in
+        private final Map<String, BatchJob> jobs = new TreeMap<>();
+        private long version;
+        private long dataVersion;
+        private Duration resolution = Duration.ZERO;
+        private Map<String, Timeslot> assignment;
+    }
+}
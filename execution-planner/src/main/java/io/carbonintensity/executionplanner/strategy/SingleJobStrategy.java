@@ -1,26 +1,24 @@
 package io.carbonintensity.executionplanner.strategy;
 
-import static io.carbonintensity.executionplanner.planner.Timeslot.getTimeslots;
-
 import java.time.Duration;
 import java.time.ZonedDateTime;
-import java.util.List;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import io.carbonintensity.executionplanner.planner.Timeslot;
 import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensity;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
 
 /**
  * Places a single job in the best spot in the given window.
  * Does not consider the next job's placement.
+ * <p>
+ * Timeslots are scored on the {@link CarbonIntensitySeries} like every other strategy does, see
+ * {@link SlidingWindowStrategy}: the carbon intensity of every period the timeslot covers counts for the part that it
+ * covers. Unlike {@link Timeslot#calculateCarbonIntensity}, periods that the timeslot covers without starting or ending
+ * in them are included, so jobs longer than a period can be planned elsewhere than by the {@link Timeslot} based search.
  */
 public class SingleJobStrategy implements PlanningStrategy {
 
-    private static final Logger log = LoggerFactory.getLogger(SingleJobStrategy.class);
-
-    private final Duration resolution;
+    private final SlidingWindowStrategy strategy;
 
     /**
      * Default constructor, uses a resolution of 30 minutes to find timeslots
@@ -30,30 +28,17 @@ public class SingleJobStrategy implements PlanningStrategy {
     }
 
     public SingleJobStrategy(Duration resolution) {
-        this.resolution = resolution;
+        this.strategy = new SlidingWindowStrategy(resolution);
     }
 
     @Override
     public Timeslot bestTimeslot(ZonedDateTime ws, ZonedDateTime we, Duration duration, CarbonIntensity carbonIntensity) {
+        return strategy.bestTimeslot(ws, we, duration, carbonIntensity.toSeries());
+    }
 
-        // create timeslots and calculate carbon intensity
-        List<Timeslot> timeslots = getTimeslots(ws, we, duration, resolution, carbonIntensity);
-
-        if (timeslots.isEmpty()) {
-            log.warn("No timeslots found!  {}", carbonIntensity.getData().size());
-            return null;
-        }
-
-        Timeslot best = null;
-        for (Timeslot t : timeslots) {
-            if (best == null || t.carbonIntensity().compareTo(best.carbonIntensity()) < 0) {
-                best = t;
-            }
-        }
-
-        log.debug("Found best timeslot of {} job between {} - {} at {} (CI: {})", duration, ws, we, best.start(),
-                best.carbonIntensity());
-        return best;
+    @Override
+    public Timeslot bestTimeslot(ZonedDateTime ws, ZonedDateTime we, Duration duration, CarbonIntensitySeries series) {
+        return strategy.bestTimeslot(ws, we, duration, series);
     }
 
 }
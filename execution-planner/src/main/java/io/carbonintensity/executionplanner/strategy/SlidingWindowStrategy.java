@@ -0,0 +1,88 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.carbonintensity.executionplanner.planner.Timeslot;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensity;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
+
+/**
+ * Places a single job in the best spot in the given window, scoring each candidate timeslot in constant time. This is
+ * the scoring every strategy uses, {@link SingleJobStrategy} delegates to this strategy.
+ * <p>
+ * The cumulative carbon intensity of the forecast is computed once per call, after which the carbon intensity of a
+ * timeslot is the difference of two cumulative values plus the partial periods at both ends. No {@link Timeslot} is
+ * created for the candidates and all arithmetic is done on primitive doubles, so the cost is linear in the number of
+ * forecast periods plus the number of candidates.
+ * <p>
+ * The carbon intensity of a timeslot differs from {@link Timeslot#calculateCarbonIntensity} in two ways:
+ * <ul>
+ * <li>the latter rounds the intensity per second, so the scores differ by at most half a unit in the last place of the
+ * forecast values for every second of the timeslot;</li>
+ * <li>the latter leaves out the periods that the timeslot covers without starting or ending in them, which this
+ * strategy includes. For timeslots longer than a period the scores therefore differ by the values of those periods as
+ * well, which is not bounded by the rounding, and the best timeslot can be another one.</li>
+ * </ul>
+ */
+public class SlidingWindowStrategy implements PlanningStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(SlidingWindowStrategy.class);
+
+    private final Duration resolution;
+
+    /**
+     * Default constructor, uses a resolution of 30 minutes to find timeslots
+     */
+    public SlidingWindowStrategy() {
+        this(Duration.ofMinutes(30));
+    }
+
+    public SlidingWindowStrategy(Duration resolution) {
+        if (resolution.isNegative() || resolution.isZero()) {
+            throw new IllegalArgumentException("Resolution must be positive, got " + resolution);
+        }
+        this.resolution = resolution;
+    }
+
+    @Override
+    public Timeslot bestTimeslot(ZonedDateTime ws, ZonedDateTime we, Duration duration, CarbonIntensity carbonIntensity) {
+        return bestTimeslot(ws, we, duration, carbonIntensity.toSeries());
+    }
+
+    @Override
+    public Timeslot bestTimeslot(ZonedDateTime ws, ZonedDateTime we, Duration duration, CarbonIntensitySeries series) {
+        if (ws.isAfter(we)) {
+            log.warn("No timeslots found!  {}", series.size());
+            return null;
+        }
+
+        CumulativeIntensity cumulative = new CumulativeIntensity(series);
+        long windowStart = ws.toInstant().toEpochMilli();
+        long windowEnd = we.toInstant().toEpochMilli();
+        long durationMillis = duration.toMillis();
+        long step = resolution.toMillis();
+
+        long bestStart = windowStart;
+        double best = Double.MAX_VALUE;
+        long slots = (windowEnd - windowStart) / step + 1;
+        for (long slot = 0; slot < slots; slot++) {
+            long start = windowStart + slot * step;
+            double value = cumulative.between(start, start + durationMillis);
+            if (CumulativeIntensity.isLower(value, best)) {
+                best = value;
+                bestStart = start;
+            }
+        }
+
+        ZonedDateTime start = ws.plus(resolution.multipliedBy((bestStart - windowStart) / step));
+        Timeslot timeslot = new Timeslot(start, start.plus(duration), BigDecimal.valueOf(best));
+        log.debug("Found best timeslot of {} job between {} - {} at {} (CI: {})", duration, ws, we, timeslot.start(),
+                timeslot.carbonIntensity());
+        return timeslot;
+    }
+}
@@ -2,7 +2,10 @@ package io.carbonintensity.executionplanner.planner.fixedwindow;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.DayOfWeek;
@@ -20,6 +23,7 @@ import com.cronutils.model.CronType;
 import com.cronutils.model.definition.CronDefinitionBuilder;
 import com.cronutils.parser.CronParser;
 
+import io.carbonintensity.executionplanner.planner.PlanCache;
 import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensityDataFetcher;
 import io.carbonintensity.executionplanner.runtime.impl.rest.CarbonIntensityJsonParser;
 
@@ -181,4 +185,71 @@ class TestFixedWindowPlanner {
         assertThat(nextExecutionTime).isAfter(date.minusMinutes(1));
         assertThat(nextExecutionTime).isBefore(date.plusDays(7));
     }
+
+    @Test
+    void givenSharedPlanCache_whenPlanningSameConstraints_thenPlannedOnce() {
+        final var parser = new CarbonIntensityJsonParser();
+        final var carbonIntensity = parser.parse(ClassLoader.getSystemResourceAsStream("day-ahead-20240824-Z.json"));
+        when(carbonIntensityDataFetcher.fetchCarbonIntensity(any()))
+                .thenReturn(carbonIntensity);
+        // read before and after planning on a miss, once on a hit
+        when(carbonIntensityDataFetcher.getDataVersion(anyString(), any(), any())).thenReturn(1L, 1L, 1L, 2L);
+
+        CronParser cronparser = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ));
+        ZonedDateTime start = ZonedDateTime.parse("2024-08-27T08:00:00Z");
+        final var builder = DefaultFixedWindowPlanningConstraints.builder()
+                .withDuration(Duration.ofMinutes(60))
+                .withCarbonIntensityZone("NL")
+                .withCronExpression(cronparser.parse("0 0 8 * * ?"))
+                .withStartAndEnd(start, start.plusHours(6))
+                .withFallbackCronExpression(cronparser.parse("0 0 12 * * ?"))
+                .withTimeZoneId(ZoneId.of("UTC"));
+
+        PlanCache planCache = new PlanCache();
+        ZonedDateTime first = new FixedWindowPlanner(carbonIntensityDataFetcher, null, planCache)
+                .getNextExecutionTime(builder.withIdentity("foo").build());
+        ZonedDateTime second = new FixedWindowPlanner(carbonIntensityDataFetcher, null, planCache)
+                .getNextExecutionTime(builder.withIdentity("bar").build());
+
+        assertThat(second).isEqualTo(first);
+        assertThat(planCache.getHitCount()).isEqualTo(1);
+        assertThat(planCache.getMissCount()).isEqualTo(1);
+        verify(carbonIntensityDataFetcher, times(1)).fetchCarbonIntensity(any());
+
+        // new carbon intensity data was fetched, so it is planned again
+        new FixedWindowPlanner(carbonIntensityDataFetcher, null, planCache)
+                .getNextExecutionTime(builder.withIdentity("baz").build());
+        assertThat(planCache.getMissCount()).isEqualTo(2);
+        verify(carbonIntensityDataFetcher, times(2)).fetchCarbonIntensity(any());
+    }
+
+    @Test
+    void givenDataLoadedWhilePlanning_whenPlanningAgain_thenCachedPlanOfLoadedVersionIsUsed() {
+        final var parser = new CarbonIntensityJsonParser();
+        final var carbonIntensity = parser.parse(ClassLoader.getSystemResourceAsStream("day-ahead-20240824-Z.json"));
+        when(carbonIntensityDataFetcher.fetchCarbonIntensity(any()))
+                .thenReturn(carbonIntensity);
+        // the first plan loads the data, which bumps its version
+        when(carbonIntensityDataFetcher.getDataVersion(anyString(), any(), any())).thenReturn(0L, 1L);
+
+        CronParser cronparser = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(CronType.QUARTZ));
+        ZonedDateTime start = ZonedDateTime.parse("2024-08-27T08:00:00Z");
+        final var builder = DefaultFixedWindowPlanningConstraints.builder()
+                .withDuration(Duration.ofMinutes(60))
+                .withCarbonIntensityZone("NL")
+                .withCronExpression(cronparser.parse("0 0 8 * * ?"))
+                .withStartAndEnd(start, start.plusHours(6))
+                .withFallbackCronExpression(cronparser.parse("0 0 12 * * ?"))
+                .withTimeZoneId(ZoneId.of("UTC"));
+
+        PlanCache planCache = new PlanCache();
+        new FixedWindowPlanner(carbonIntensityDataFetcher, null, planCache)
+                .getNextExecutionTime(builder.withIdentity("foo").build());
+        new FixedWindowPlanner(carbonIntensityDataFetcher, null, planCache)
+                .getNextExecutionTime(builder.withIdentity("bar").build());
+
+        assertThat(planCache.getMissCount()).isEqualTo(1);
+        assertThat(planCache.getHitCount()).isEqualTo(1);
+        verify(carbonIntensityDataFetcher, times(1)).fetchCarbonIntensity(any());
+    }
 }
@@ -2,7 +2,12 @@ package io.carbonintensity.executionplanner.planner.successive;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Duration;
@@ -14,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensityDataFetcher;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
 import io.carbonintensity.executionplanner.runtime.impl.rest.CarbonIntensityJsonParser;
 
 @ExtendWith(MockitoExtension.class)
@@ -83,4 +89,93 @@ class TestSuccessivePlanner {
         assertThat(nextExecutionTime.isBefore(lastExecutionTime.plus(minGap))).isFalse();
         assertThat(nextExecutionTime.isAfter(lastExecutionTime.plus(maxGap))).isFalse();
     }
+
+    @Test
+    void whenPlanning_thenPeriodOfTheNextPlanIsPrefetched() {
+        final var parser = new CarbonIntensityJsonParser();
+        final var carbonIntensity = parser.parse(ClassLoader.getSystemResourceAsStream("day-ahead-20240824-Z.json"));
+        when(carbonIntensityDataFetcher.fetchCarbonIntensity(any()))
+                .thenReturn(carbonIntensity);
+        final var constraints = DefaultSuccessivePlanningConstraints.builder()
+                .withIdentity("foo")
+                .withInitialStartTime(ZonedDateTime.now())
+                .withInitialMaximumDelay(Duration.ofHours(1))
+                .withDuration(Duration.ofMinutes(5))
+                .withMinimumGap(Duration.ofHours(1))
+                .withMaximumGap(Duration.ofHours(4))
+                .withCarbonIntensityZone("NL")
+                .build();
+
+        ZonedDateTime nextExecutionTime = defaultCarbonIntensityScheduler.getNextExecutionTime(constraints);
+
+        // the same period that is fetched when planning from that execution
+        verify(carbonIntensityDataFetcher).prefetch(argThat(period -> period.getStartTime().isEqual(nextExecutionTime)
+                && period.getEndTime().isEqual(nextExecutionTime.plusDays(1)) && period.getZone().equals("NL")));
+    }
+
+    @Test
+    void givenHorizon_whenPlanningSuccessiveExecutions_thenPlannedExecutionsAreReused() {
+        ZonedDateTime start = ZonedDateTime.parse("2024-08-27T00:00:00Z");
+        // the greenest first execution at 01:00 is followed by dirty periods every two hours
+        final var carbonIntensity = new CarbonIntensitySeries("NL", start.toEpochSecond(), 3600,
+                new double[] { 100, 90, 300, 400, 100, 500, 100, 600 }).toCarbonIntensity();
+        when(carbonIntensityDataFetcher.fetchCarbonIntensity(any()))
+                .thenReturn(carbonIntensity);
+        SuccessivePlanner planner = new SuccessivePlanner(carbonIntensityDataFetcher, null, 3);
+        final var constraints = DefaultSuccessivePlanningConstraints.builder()
+                .withIdentity("foo")
+                .withInitialStartTime(start)
+                .withInitialMaximumDelay(Duration.ofHours(1))
+                .withMinimumGap(Duration.ofHours(2))
+                .withMaximumGap(Duration.ofHours(2))
+                .withDuration(Duration.ofHours(1))
+                .withCarbonIntensityZone("NL")
+                .build();
+
+        assertThat(planner.getNextExecutionTime(constraints)).isEqualTo(start);
+        assertThat(planner.getNextExecutionTime(lastExecutedAt(constraints, start.plusSeconds(1))))
+                .isEqualTo(start.plusHours(2));
+        assertThat(planner.getNextExecutionTime(lastExecutedAt(constraints, start.plusHours(2).plusSeconds(1))))
+                .isEqualTo(start.plusHours(4));
+        verify(carbonIntensityDataFetcher, times(1)).fetchCarbonIntensity(any());
+
+        // the plan is used up
+        assertThat(planner.getNextExecutionTime(lastExecutedAt(constraints, start.plusHours(4))))
+                .isEqualTo(start.plusHours(6));
+        verify(carbonIntensityDataFetcher, times(2)).fetchCarbonIntensity(any());
+    }
+
+    @Test
+    void givenHorizon_whenDataOfOtherZonesChanges_thenPlannedExecutionsAreReused() {
+        ZonedDateTime start = ZonedDateTime.parse("2024-08-27T00:00:00Z");
+        final var carbonIntensity = new CarbonIntensitySeries("NL", start.toEpochSecond(), 3600,
+                new double[] { 100, 90, 300, 400, 100, 500, 100, 600 }).toCarbonIntensity();
+        when(carbonIntensityDataFetcher.fetchCarbonIntensity(any()))
+                .thenReturn(carbonIntensity);
+        when(carbonIntensityDataFetcher.getDataVersion(anyString(), any(), any())).thenReturn(1L);
+        SuccessivePlanner planner = new SuccessivePlanner(carbonIntensityDataFetcher, null, 3);
+        final var constraints = DefaultSuccessivePlanningConstraints.builder()
+                .withIdentity("foo")
+                .withInitialStartTime(start)
+                .withInitialMaximumDelay(Duration.ofHours(1))
+                .withMinimumGap(Duration.ofHours(2))
+                .withMaximumGap(Duration.ofHours(2))
+                .withDuration(Duration.ofHours(1))
+                .withCarbonIntensityZone("NL")
+                .build();
+
+        planner.getNextExecutionTime(constraints);
+        assertThat(planner.getNextExecutionTime(lastExecutedAt(constraints, start.plusSeconds(1))))
+                .isEqualTo(start.plusHours(2));
+
+        verify(carbonIntensityDataFetcher, times(1)).fetchCarbonIntensity(any());
+        verify(carbonIntensityDataFetcher, never()).getDataVersion();
+    }
+
+    private static SuccessivePlanningConstraints lastExecutedAt(SuccessivePlanningConstraints constraints,
+            ZonedDateTime lastExecutionTime) {
+        return DefaultSuccessivePlanningConstraints.from(constraints)
+                .withLastExecutionTime(lastExecutionTime)
+                .build();
+    }
 }
@@ -0,0 +1,115 @@
+package io.carbonintensity.executionplanner.runtime.impl;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.carbonintensity.executionplanner.spi.CarbonIntensityApi;
+
+/**
+ * Measures the allocations of fetching carbon intensity data that is cached, which happens on every planning call. Run
+ * with the GC profiler, the cache hit path should allocate nothing.
+ */
+@State(Scope.Benchmark)
+public class TestCarbonIntensityCachePerformance { //NOSONAR should be public for @state
+
+    private final ZonedDateTime start = ZonedDateTime.parse("2024-08-27T00:00:00Z");
+    private final ZonedCarbonIntensityPeriod period = new ZonedCarbonIntensityPeriod.Builder()
+            .withStartTime(start)
+            .withEndTime(start.plusDays(1))
+            .withCarbonIntensityZone("NL")
+            .build();
+    private CarbonIntensityCache cache;
+    private CarbonIntensityDataFetcherImpl dataFetcher;
+    private long key;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var carbonIntensity = new CarbonIntensity();
+        carbonIntensity.setStart(start.toInstant());
+        carbonIntensity.setEnd(start.plusDays(1).toInstant());
+        carbonIntensity.setResolution(Duration.ofHours(1));
+        carbonIntensity.setZone("NL");
+        for (int i = 0; i < 24; i++) {
+            carbonIntensity.getData().add(BigDecimal.valueOf(100 + i));
+        }
+        CarbonIntensityApi api = new CarbonIntensityApi() {
+            @Override
+            public String getApiName() {
+                return "benchmark";
+            }
+
+            @Override
+            public CompletableFuture<CarbonIntensity> getCarbonIntensity(ZonedCarbonIntensityPeriod zonedPeriod) {
+                return CompletableFuture.completedFuture(carbonIntensity);
+            }
+
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+        };
+        cache = new CarbonIntensityCache();
+        dataFetcher = new CarbonIntensityDataFetcherImpl(api, api, cache, Clock.systemUTC(),
+                Duration.ofHours(2), 1);
+        dataFetcher.fetchCarbonIntensity(period);
+        key = CarbonIntensityCache.Key.pack(start.toEpochSecond(), "NL");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataFetcher.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public CarbonIntensity benchmarkCacheHit() {
+        return cache.getIfPresent(key);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public long benchmarkPackKey() {
+        return CarbonIntensityCache.Key.pack(start.toEpochSecond(), "NL");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public CarbonIntensity benchmarkFetchCached() {
+        return dataFetcher.fetchCarbonIntensity(period);
+    }
+
+    @Test
+    @Disabled
+    void runPerformanceBenchmarks() throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(TestCarbonIntensityCachePerformance.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> runResults = new Runner(opt).run();
+        assertFalse(runResults.isEmpty());
+        for (RunResult runResult : runResults) {
+            Result<?> allocated = runResult.getSecondaryResults().get("gc.alloc.rate.norm");
+            String benchmark = runResult.getParams().getBenchmark();
+            assertTrue(allocated.getScore() < 1.0,
+                    benchmark + " should not allocate, allocated " + allocated.getScore() + " bytes/op");
+        }
+    }
+}
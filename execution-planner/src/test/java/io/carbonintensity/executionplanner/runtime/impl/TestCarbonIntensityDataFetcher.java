@@ -1,18 +1,33 @@
 package io.carbonintensity.executionplanner.runtime.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -67,4 +82,175 @@ class TestCarbonIntensityDataFetcher {
         verify(fallbackApi).getCarbonIntensity(zonedPeriod);
     }
 
+    @Test
+    void givenRestApi_whenFetchingData_thenDataVersionChangesOnlyOnCacheMiss() {
+        when(restApi.getCarbonIntensity(zonedPeriod)).thenReturn(CompletableFuture.completedFuture(carbonIntensity));
+        long initialVersion = dataFetcher.getDataVersion();
+        dataFetcher.fetchCarbonIntensity(zonedPeriod);
+        long fetchedVersion = dataFetcher.getDataVersion();
+        dataFetcher.fetchCarbonIntensity(zonedPeriod);
+        assertThat(fetchedVersion).isGreaterThan(initialVersion);
+        assertThat(dataFetcher.getDataVersion()).isEqualTo(fetchedVersion);
+    }
+
+    @Test
+    void givenDataVersionListener_whenFetchingData_thenOnlyVersionOfZoneAndDaysChanges() {
+        when(restApi.getCarbonIntensity(zonedPeriod)).thenReturn(CompletableFuture.completedFuture(carbonIntensity));
+        List<Instant> changedDays = new ArrayList<>();
+        dataFetcher.addDataVersionListener((zone, start, end, version) -> {
+            assertThat(zone).isEqualTo("nl");
+            assertThat(end).isEqualTo(start.plus(Duration.ofDays(1)));
+            changedDays.add(start);
+        });
+        Instant start = startTime.toInstant();
+        Instant end = endTime.toInstant();
+
+        dataFetcher.fetchCarbonIntensity(zonedPeriod);
+        dataFetcher.fetchCarbonIntensity(zonedPeriod);
+
+        assertThat(changedDays).isNotEmpty()
+                .allMatch(day -> day.isBefore(end) && !day.plus(Duration.ofDays(1)).isBefore(start));
+        assertThat(dataFetcher.getDataVersion("NL", start, end)).isEqualTo(dataFetcher.getDataVersion());
+        assertThat(dataFetcher.getDataVersion("be", start, end)).isZero();
+        assertThat(dataFetcher.getDataVersion("nl", start.plus(Duration.ofDays(3)), end.plus(Duration.ofDays(3)))).isZero();
+    }
+
+    @Test
+    void givenConcurrentCacheMisses_whenFetchingData_thenCallRestApiOnce() throws Exception {
+        CompletableFuture<CarbonIntensity> response = new CompletableFuture<>();
+        when(restApi.getCarbonIntensity(zonedPeriod)).thenReturn(response);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<CarbonIntensity>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> dataFetcher.fetchCarbonIntensity(zonedPeriod)));
+            }
+            Thread.sleep(200); // let all fetches reach the pending request
+            response.complete(carbonIntensity);
+
+            for (Future<CarbonIntensity> result : results) {
+                assertThat(result.get()).isSameAs(carbonIntensity);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(restApi, times(1)).getCarbonIntensity(zonedPeriod);
+    }
+
+    @Test
+    void givenRefreshAhead_whenDataIsAboutToExpire_thenFetchNextDayInBackground() {
+        when(restApi.getCarbonIntensity(any())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                carbonIntensityOf(invocation.getArgument(0))));
+        try (var refreshingFetcher = new CarbonIntensityDataFetcherImpl(restApi, fallbackApi, Clock.systemDefaultZone(),
+                Duration.ofDays(1), 1)) {
+            refreshingFetcher.fetchCarbonIntensity(zonedPeriod);
+
+            verify(restApi, timeout(1000)).getCarbonIntensity(argThat(period -> period.getStartTime()
+                    .isEqual(startTime.plusDays(1))));
+            var nextPeriod = new ZonedCarbonIntensityPeriod.Builder()
+                    .withStartTime(startTime.plusDays(1))
+                    .withEndTime(endTime.plusDays(1))
+                    .withCarbonIntensityZone("nl")
+                    .build();
+            assertThat(refreshingFetcher.fetchCarbonIntensity(nextPeriod).getStart())
+                    .isEqualTo(nextPeriod.getStartTime().toInstant());
+            verify(restApi, times(2)).getCarbonIntensity(any());
+        }
+    }
+
+    @Test
+    void givenRefreshAhead_whenPeriodIsNotRequestedAgain_thenStopRefreshing() {
+        when(restApi.getCarbonIntensity(any())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                carbonIntensityOf(invocation.getArgument(0))));
+        try (var refreshingFetcher = new CarbonIntensityDataFetcherImpl(restApi, fallbackApi, Clock.systemDefaultZone(),
+                Duration.ofDays(3), 1)) {
+            refreshingFetcher.fetchCarbonIntensity(zonedPeriod);
+
+            // the next day is fetched right away, the day after is not as the next day is never requested
+            verify(restApi, timeout(1000).times(2)).getCarbonIntensity(any());
+            verify(restApi, after(200).times(2)).getCarbonIntensity(any());
+        }
+    }
+
+    @Test
+    void givenClosedRefreshAhead_whenStarted_thenRefreshCachedData() {
+        when(restApi.getCarbonIntensity(any())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                carbonIntensityOf(invocation.getArgument(0))));
+        try (var refreshingFetcher = new CarbonIntensityDataFetcherImpl(restApi, fallbackApi, Clock.systemDefaultZone(),
+                Duration.ofDays(1), 1)) {
+            refreshingFetcher.close();
+            refreshingFetcher.fetchCarbonIntensity(zonedPeriod);
+            verify(restApi, after(200).times(1)).getCarbonIntensity(any());
+
+            refreshingFetcher.start();
+
+            // the cached data is keyed by the hour its period starts in
+            var nextHour = startTime.plusDays(1).toInstant().truncatedTo(ChronoUnit.HOURS);
+            verify(restApi, timeout(1000)).getCarbonIntensity(argThat(period -> period.getStartTime().toInstant()
+                    .equals(nextHour)));
+        }
+    }
+
+    @Test
+    void givenRefreshAhead_whenPeriodIsPrefetched_thenNextLookupHitsPrefetchedData() {
+        when(restApi.getCarbonIntensity(any())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                carbonIntensityOf(invocation.getArgument(0))));
+        // starts at the time of a last execution, not at the next day of a requested period
+        var nextPeriod = new ZonedCarbonIntensityPeriod.Builder()
+                .withStartTime(startTime.plusHours(7))
+                .withEndTime(endTime.plusHours(7))
+                .withCarbonIntensityZone("nl")
+                .build();
+        try (var refreshingFetcher = new CarbonIntensityDataFetcherImpl(restApi, fallbackApi, Clock.systemDefaultZone(),
+                Duration.ofHours(8), 1)) {
+            refreshingFetcher.prefetch(nextPeriod);
+            verify(restApi, timeout(1000)).getCarbonIntensity(nextPeriod);
+
+            assertThat(refreshingFetcher.fetchCarbonIntensity(nextPeriod).getStart())
+                    .isEqualTo(nextPeriod.getStartTime().toInstant());
+            // prefetching cached data does nothing
+            refreshingFetcher.prefetch(nextPeriod);
+            verify(restApi, after(200).times(1)).getCarbonIntensity(any());
+        }
+    }
+
+    @Test
+    void givenCacheFile_whenRestApiFails_thenFallbackDataIsNotPersisted(@TempDir Path dir) {
+        when(restApi.getCarbonIntensity(zonedPeriod))
+                .thenReturn(CompletableFuture.failedFuture(new CarbonIntensityApiException("Failure intentionally.")));
+        when(fallbackApi.getCarbonIntensity(zonedPeriod)).thenReturn(CompletableFuture.completedFuture(carbonIntensity));
+        var file = dir.resolve("carbon-intensity.cache");
+        var fetcher = new CarbonIntensityDataFetcherImpl(restApi, fallbackApi,
+                new CarbonIntensityCache(Duration.ofHours(1), file), Clock.systemDefaultZone(), Duration.ZERO, 0);
+
+        assertThat(fetcher.fetchCarbonIntensity(zonedPeriod)).isEqualTo(carbonIntensity);
+
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void givenCacheFile_whenCreatingFetcher_thenLoadedDataIsVersioned(@TempDir Path dir) {
+        var file = dir.resolve("carbon-intensity.cache");
+        var key = new CarbonIntensityCache.Key(startTime.toInstant(), "nl");
+        new CarbonIntensityCache(Duration.ofHours(1), file).put(key, carbonIntensity);
+
+        var fetcher = new CarbonIntensityDataFetcherImpl(restApi, fallbackApi,
+                new CarbonIntensityCache(Duration.ofHours(1), file), Clock.systemDefaultZone(), Duration.ZERO, 0);
+
+        assertThat(fetcher.getDataVersion("nl", startTime.toInstant(), endTime.toInstant())).isPositive();
+        assertThat(fetcher.fetchCarbonIntensity(zonedPeriod).getData()).hasSize(1);
+        verify(restApi, never()).getCarbonIntensity(any());
+    }
+
+    private static CarbonIntensity carbonIntensityOf(ZonedCarbonIntensityPeriod period) {
+        var data = new CarbonIntensity();
+        data.setStart(period.getStartTime().toInstant());
+        data.setEnd(period.getEndTime().toInstant());
+        data.setZone(period.getZone());
+        data.setResolution(Duration.ofHours(1));
+        data.getData().add(BigDecimal.valueOf(1));
+        return data;
+    }
+
 }
@@ -0,0 +1,82 @@
+package io.carbonintensity.executionplanner.runtime.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TestCarbonIntensitySeries {
+
+    private static final Instant START = Instant.parse("2024-08-27T00:00:00Z");
+
+    @Test
+    void givenCarbonIntensity_whenConvertingToSeries_thenKeepValuesAndPeriods() {
+        CarbonIntensitySeries series = newCarbonIntensity().toSeries();
+
+        assertThat(series.getZone()).isEqualTo("NL");
+        assertThat(series.getStart()).isEqualTo(START.getEpochSecond());
+        assertThat(series.getResolution()).isEqualTo(3600);
+        assertThat(series.getEnd()).isEqualTo(START.plusSeconds(3 * 3600).getEpochSecond());
+        assertThat(series.size()).isEqualTo(3);
+        assertThat(series.value(1)).isEqualTo(72175.1);
+        assertThat(series.cumulativeValue(0)).isZero();
+        assertThat(series.cumulativeValue(3)).isEqualTo(68070.73 + 72175.1 + 75010.1);
+    }
+
+    @Test
+    void givenCarbonIntensity_whenConvertingTwice_thenReuseSeriesUntilModified() {
+        CarbonIntensity carbonIntensity = newCarbonIntensity();
+        CarbonIntensitySeries series = carbonIntensity.toSeries();
+
+        assertThat(carbonIntensity.toSeries()).isSameAs(series);
+        carbonIntensity.setStart(START.plusSeconds(3600));
+        assertThat(carbonIntensity.toSeries()).isNotSameAs(series);
+        assertThat(carbonIntensity.toSeries().getStart()).isEqualTo(START.plusSeconds(3600).getEpochSecond());
+    }
+
+    @Test
+    void givenDataList_whenModifiedAfterSetting_thenSeriesIsNotStale() {
+        List<BigDecimal> data = new ArrayList<>(List.of(new BigDecimal("100"), new BigDecimal("200")));
+        CarbonIntensity carbonIntensity = newCarbonIntensity();
+        carbonIntensity.setData(data);
+        CarbonIntensitySeries series = carbonIntensity.toSeries();
+        assertThat(carbonIntensity.toSeries()).isSameAs(series);
+
+        data.set(0, new BigDecimal("300"));
+
+        assertThat(carbonIntensity.getData()).isSameAs(data);
+        assertThat(carbonIntensity.toSeries().value(0)).isEqualTo(300.0);
+        assertThat(series.value(0)).isEqualTo(100.0);
+    }
+
+    @Test
+    void givenSeries_whenConvertingBack_thenGetSameData() {
+        CarbonIntensity carbonIntensity = newCarbonIntensity().toSeries().toCarbonIntensity();
+
+        assertThat(carbonIntensity.getStart()).isEqualTo(START);
+        assertThat(carbonIntensity.getResolution()).isEqualTo(Duration.ofHours(1));
+        assertThat(carbonIntensity.getData()).usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("68070.73"), new BigDecimal("72175.10"), new BigDecimal("75010.10"));
+    }
+
+    @Test
+    void givenEmptyCarbonIntensity_whenConvertingToSeries_thenSeriesIsEmpty() {
+        CarbonIntensitySeries series = new CarbonIntensity().toSeries();
+        assertThat(series.isEmpty()).isTrue();
+    }
+
+    private static CarbonIntensity newCarbonIntensity() {
+        CarbonIntensity carbonIntensity = new CarbonIntensity();
+        carbonIntensity.setZone("NL");
+        carbonIntensity.setStart(START);
+        carbonIntensity.setEnd(START.plusSeconds(3 * 3600));
+        carbonIntensity.setResolution(Duration.ofHours(1));
+        carbonIntensity.setData(List.of(new BigDecimal("68070.73"), new BigDecimal("72175.10"), new BigDecimal("75010.10")));
+        return carbonIntensity;
+    }
+}
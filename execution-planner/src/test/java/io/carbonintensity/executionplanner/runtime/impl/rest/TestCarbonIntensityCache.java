@@ -2,13 +2,24 @@ package io.carbonintensity.executionplanner.runtime.impl.rest;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.awaitility.Awaitility.waitAtMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensity;
 import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensityCache;
@@ -44,6 +55,27 @@ class TestCarbonIntensityCache {
         assertThat(cache.get(key)).isPresent().hasValue(carbonIntensity);
     }
 
+    @Test
+    void whenPackingKey_thenZoneIsCaseInsensitiveAndTimeTruncatedToHours() {
+        var key = new CarbonIntensityCache.Key(startTime, " nl ");
+        assertThat(key).isEqualTo(new CarbonIntensityCache.Key(startTime, zone));
+        assertThat(key.getZone()).isEqualTo("nl");
+        assertThat(key.getTime()).isEqualTo(Instant.parse("2018-11-30T18:00:00Z"));
+        assertThat(CarbonIntensityCache.Key.pack(startTime.getEpochSecond(), "NL")).isEqualTo(key.toLong());
+        assertThat(CarbonIntensityCache.Key.pack(startTime.getEpochSecond(), "\tnL ")).isEqualTo(key.toLong());
+        assertThat(CarbonIntensityCache.Key.pack(startTime.getEpochSecond(), "DE")).isNotEqualTo(key.toLong());
+    }
+
+    @Test
+    void givenPopulatedCache_whenGettingPackedKey_thenReturnValue() {
+        var key = new CarbonIntensityCache.Key(startTime, zone);
+        cache.put(key, carbonIntensity);
+        assertThat(cache.getIfPresent(CarbonIntensityCache.Key.pack(startTime.getEpochSecond(), "nl")))
+                .isSameAs(carbonIntensity);
+        assertThat(cache.getIfPresent(CarbonIntensityCache.Key.pack(startTime.plusSeconds(3600).getEpochSecond(), zone)))
+                .isNull();
+    }
+
     @Test
     void givenCacheWithExpiredItem_whenGettingItemFromCache_thenReturnNull() {
         cache = new CarbonIntensityCache(Duration.ofMillis(1));
@@ -54,4 +86,105 @@ class TestCarbonIntensityCache {
         assertThat(cache.get(key)).isNotPresent();
     }
 
+    @Test
+    void givenClockPastEndOfData_whenGettingItemFromCache_thenReturnNull() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(startTime.toEpochMilli());
+        cache = new CarbonIntensityCache(Duration.ofHours(1), null, clock);
+        var key = new CarbonIntensityCache.Key(startTime, zone);
+        var value = carbonIntensity(startTime.plus(1, ChronoUnit.DAYS));
+        cache.put(key, value);
+        assertThat(cache.get(key)).isPresent().hasValue(value);
+
+        when(clock.millis()).thenReturn(value.getEnd().minusSeconds(1).toEpochMilli());
+        assertThat(cache.get(key)).isPresent().hasValue(value);
+
+        when(clock.millis()).thenReturn(value.getEnd().plusSeconds(1).toEpochMilli());
+        assertThat(cache.get(key)).isNotPresent();
+    }
+
+    @Test
+    void givenCacheFile_whenCreatingNewCache_thenLoadPersistedValues(@TempDir Path dir) {
+        var file = dir.resolve("carbon-intensity.cache");
+        var key = new CarbonIntensityCache.Key(Instant.now(), zone);
+        new CarbonIntensityCache(Duration.ofHours(1), file).put(key, carbonIntensity(Instant.now().plus(1, ChronoUnit.DAYS)));
+
+        var restored = new CarbonIntensityCache(Duration.ofHours(1), file).get(key);
+
+        assertThat(restored).isPresent();
+        assertThat(restored.get().getData()).isEqualTo(List.of(new BigDecimal("123.4"), new BigDecimal("56.7")));
+        assertThat(restored.get().getResolution()).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void givenCacheFileWithExpiredValue_whenCreatingNewCache_thenSkipAndCompactFile(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("carbon-intensity.cache");
+        var persistingCache = new CarbonIntensityCache(Duration.ofHours(1), file);
+        var expiredKey = new CarbonIntensityCache.Key(startTime, zone);
+        persistingCache.put(expiredKey, carbonIntensity(startTime.plus(1, ChronoUnit.DAYS)));
+        var key = new CarbonIntensityCache.Key(Instant.now(), zone);
+        persistingCache.put(key, carbonIntensity(Instant.now().plus(1, ChronoUnit.DAYS)));
+        long size = Files.size(file);
+
+        var restoredCache = new CarbonIntensityCache(Duration.ofHours(1), file);
+
+        assertThat(restoredCache.get(expiredKey)).isNotPresent();
+        assertThat(restoredCache.get(key)).isPresent();
+        assertThat(Files.size(file)).isLessThan(size);
+    }
+
+    @Test
+    void givenTruncatedCacheFile_whenCreatingNewCache_thenLoadCompleteValues(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("carbon-intensity.cache");
+        var key = new CarbonIntensityCache.Key(Instant.now(), zone);
+        new CarbonIntensityCache(Duration.ofHours(1), file).put(key, carbonIntensity(Instant.now().plus(1, ChronoUnit.DAYS)));
+        // a record that was cut off while writing
+        Files.write(file, new byte[] { 0, 0, 0, 100, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+        var restoredCache = new CarbonIntensityCache(Duration.ofHours(1), file);
+        assertThat(restoredCache.get(key)).isPresent();
+
+        var otherKey = new CarbonIntensityCache.Key(Instant.now(), "DE");
+        restoredCache.put(otherKey, carbonIntensity(Instant.now().plus(1, ChronoUnit.DAYS)));
+        var reloadedCache = new CarbonIntensityCache(Duration.ofHours(1), file);
+        assertThat(reloadedCache.get(key)).isPresent();
+        assertThat(reloadedCache.get(otherKey)).isPresent();
+    }
+
+    @Test
+    void givenCorruptCacheFile_whenCreatingNewCache_thenLoadRecordsBeforeCorruptOne(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("carbon-intensity.cache");
+        var key = new CarbonIntensityCache.Key(Instant.now(), zone);
+        new CarbonIntensityCache(Duration.ofHours(1), file).put(key, carbonIntensity(Instant.now().plus(1, ChronoUnit.DAYS)));
+        // a record claiming to be larger than the file, followed by a garbage record of the right length
+        Files.write(file, new byte[] { 0x7f, 0, 0, 0, 0, 0, 0, 3, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+        var restoredCache = new CarbonIntensityCache(Duration.ofHours(1), file);
+        assertThat(restoredCache.get(key)).isPresent();
+
+        Files.write(file, new byte[] { 0, 0, 0, 3, 1, 2, 3 }, StandardOpenOption.APPEND);
+        assertThat(new CarbonIntensityCache(Duration.ofHours(1), file).get(key)).isPresent();
+    }
+
+    @Test
+    void givenUnreadableCacheFile_whenCreatingNewCache_thenStartEmpty(@TempDir Path dir) throws IOException {
+        var file = dir.resolve("carbon-intensity.cache");
+        Files.write(file, new byte[] { 1, 2 });
+
+        var restoredCache = new CarbonIntensityCache(Duration.ofHours(1), file);
+
+        assertThat(restoredCache.get(new CarbonIntensityCache.Key(Instant.now(), zone))).isNotPresent();
+    }
+
+    private CarbonIntensity carbonIntensity(Instant end) {
+        var value = new CarbonIntensity();
+        value.setZone(zone);
+        value.setStart(end.minus(1, ChronoUnit.DAYS));
+        value.setEnd(end);
+        value.setResolution(Duration.ofHours(1));
+        value.getData().add(new BigDecimal("123.4"));
+        value.getData().add(new BigDecimal("56.7"));
+        return value;
+    }
+
 }
@@ -46,4 +46,26 @@ class TestCarbonIntensityJsonParser {
                 "{\"start\":\"2024-09-20T08:00:00Z\",\"end\":\"2024-09-21T08:00:00Z\",\"resolution\":\"PT1H\",\"zone\":\"NL\",\"data\":[1000]}");
     }
 
+    @Test
+    void givenJsonWithUnknownFields_whenParsing_thenSkipThem() {
+        var json = "{\"meta\":{\"source\":[1,{\"a\":null}]},\"start\":\"2024-09-20T08:00:00Z\",\"tags\":[\"x\"],"
+                + "\"end\":\"2024-09-21T08:00:00Z\",\"resolution\":\"PT1H\",\"zone\":\"NL\",\"data\":[1000],\"count\":1}";
+        var parsedData = parser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(parsedData)
+                .usingRecursiveComparison()
+                .isEqualTo(carbonIntensity);
+    }
+
+    @Test
+    void givenDataWithValuesOfOtherTypes_whenParsing_thenSkipThem() {
+        var json = "{\"start\":\"2024-09-20T08:00:00Z\",\"end\":\"2024-09-21T08:00:00Z\",\"resolution\":\"PT1H\","
+                + "\"zone\":\"NL\",\"data\":[null,\"12.5\",{\"value\":[1]},[2,3],true,1000]}";
+        var parsedData = parser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(parsedData)
+                .usingRecursiveComparison()
+                .isEqualTo(carbonIntensity);
+    }
+
 }
@@ -0,0 +1,103 @@
+package io.carbonintensity.executionplanner.runtime.impl.rest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import jakarta.json.Json;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensity;
+
+/**
+ * Compares the streaming {@link CarbonIntensityJsonParser} to parsing the response into a {@link JsonObject} tree first,
+ * as the parser used to do, on responses of several days at a 5 minute resolution.
+ */
+@State(Scope.Benchmark)
+public class TestCarbonIntensityJsonParserPerformance { //NOSONAR should be public for @state
+
+    @Param({ "1", "7" })
+    private int days;
+
+    private final CarbonIntensityJsonParser parser = new CarbonIntensityJsonParser();
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var start = Instant.parse("2024-08-27T00:00:00Z");
+        var resolution = Duration.ofMinutes(5);
+        int size = (int) (Duration.ofDays(days).toMinutes() / resolution.toMinutes());
+        var carbonIntensity = new CarbonIntensity();
+        carbonIntensity.setStart(start);
+        carbonIntensity.setEnd(start.plus(resolution.multipliedBy(size)));
+        carbonIntensity.setResolution(resolution);
+        carbonIntensity.setZone("NL");
+        for (int i = 0; i < size; i++) {
+            carbonIntensity.getData().add(BigDecimal.valueOf(40000 + (i * 7919L) % 80000, 2));
+        }
+        json = parser.toJson(carbonIntensity).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public CarbonIntensity benchmarkTreeParser() {
+        try (var reader = Json.createReader(new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8))) {
+            JsonObject jsonObject = reader.readObject();
+            var result = new CarbonIntensity();
+            result.setStart(Instant.parse(jsonObject.getString("start")));
+            result.setEnd(Instant.parse(jsonObject.getString("end")));
+            result.setResolution(Duration.parse(jsonObject.getString("resolution")));
+            result.setZone(jsonObject.getString("zone"));
+            var data = new ArrayList<BigDecimal>();
+            jsonObject.getJsonArray("data").forEach(value -> data.add(((JsonNumber) value).bigDecimalValue()));
+            result.setData(data);
+            return result;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public CarbonIntensity benchmarkStreamingParser() {
+        return parser.parse(new ByteArrayInputStream(json));
+    }
+
+    @Test
+    @Disabled
+    void runPerformanceBenchmarks() throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(TestCarbonIntensityJsonParserPerformance.class.getSimpleName())
+                .build();
+        Collection<RunResult> runResults = new Runner(opt).run();
+        assertFalse(runResults.isEmpty());
+        Map<String, Double> scores = runResults.stream()
+                .collect(Collectors.toMap(
+                        r -> r.getParams().getBenchmark() + "@" + r.getParams().getParam("days"),
+                        r -> r.getPrimaryResult().getScore()));
+        for (String days : new String[] { "1", "7" }) {
+            String name = TestCarbonIntensityJsonParserPerformance.class.getName();
+            double tree = scores.get(name + ".benchmarkTreeParser@" + days);
+            double streaming = scores.get(name + ".benchmarkStreamingParser@" + days);
+            assertTrue(streaming > tree, "Streaming parser should outperform tree parser for " + days + " days");
+        }
+    }
+}
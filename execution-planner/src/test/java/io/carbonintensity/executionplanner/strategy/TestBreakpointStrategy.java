@@ -0,0 +1,75 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import io.carbonintensity.executionplanner.planner.Timeslot;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensity;
+import io.carbonintensity.executionplanner.runtime.impl.rest.CarbonIntensityJsonParser;
+
+class TestBreakpointStrategy {
+
+    private static final CarbonIntensityJsonParser ciParser = new CarbonIntensityJsonParser();
+
+    @ParameterizedTest
+    @CsvSource({
+            "2024-08-27T00:00:00Z, 2024-08-28T00:00:00Z, PT1M",
+            "2024-08-27T00:00:17Z, 2024-08-27T20:03:00Z, PT47M13S",
+            "2024-08-27T06:00:00Z, 2024-08-27T18:00:00Z, PT3H30M",
+            "2024-08-27T14:20:00Z, 2024-08-27T14:40:00Z, PT2H"
+    })
+    void givenAnyWindow_whenFindingBestTimeslot_thenMatchEverySecondSearch(ZonedDateTime ws, ZonedDateTime we,
+            Duration duration) {
+        CarbonIntensity carbonIntensity = loadCarbonIntensityFromFile("day-ahead-20240824-Z.json");
+
+        Timeslot expected = new SlidingWindowStrategy(Duration.ofSeconds(1)).bestTimeslot(ws, we, duration,
+                carbonIntensity);
+        Timeslot actual = new BreakpointStrategy().bestTimeslot(ws, we, duration, carbonIntensity);
+
+        assertThat(actual.start()).isEqualTo(expected.start());
+        assertThat(actual.end()).isEqualTo(expected.end());
+        assertThat(actual.carbonIntensity().doubleValue()).isCloseTo(expected.carbonIntensity().doubleValue(),
+                within(1e-6));
+    }
+
+    @Test
+    void givenOptimumBetweenGridPoints_whenFindingBestTimeslot_thenFindExactStart() {
+        CarbonIntensity carbonIntensity = new CarbonIntensity();
+        ZonedDateTime start = ZonedDateTime.parse("2024-08-27T00:00:00Z");
+        carbonIntensity.setStart(start.toInstant());
+        carbonIntensity.setEnd(start.plusHours(3).toInstant());
+        carbonIntensity.setResolution(Duration.ofHours(1));
+        carbonIntensity.getData().add(new BigDecimal("300"));
+        carbonIntensity.getData().add(new BigDecimal("100"));
+        carbonIntensity.getData().add(new BigDecimal("300"));
+
+        // the 45 minute job only fits the low period when starting between 01:00 and 01:15,
+        // which a 30 minute grid from 00:17 would miss
+        Timeslot timeslot = new BreakpointStrategy().bestTimeslot(start.plusMinutes(17), start.plusHours(2),
+                Duration.ofMinutes(45), carbonIntensity);
+
+        assertThat(timeslot.start()).isEqualTo(start.plusHours(1));
+        assertThat(timeslot.carbonIntensity().doubleValue()).isCloseTo(75, within(1e-9));
+    }
+
+    @Test
+    void givenWindowStartAfterWindowEnd_whenFindingBestTimeslot_thenReturnNull() {
+        CarbonIntensity carbonIntensity = loadCarbonIntensityFromFile("day-ahead-20240824-Z.json");
+        ZonedDateTime ws = ZonedDateTime.parse("2024-08-27T00:00:00Z");
+        assertThat(new BreakpointStrategy().bestTimeslot(ws, ws.minusHours(1), Duration.ofMinutes(1), carbonIntensity))
+                .isNull();
+    }
+
+    private CarbonIntensity loadCarbonIntensityFromFile(String fileName) {
+        return ciParser.parse(ClassLoader.getSystemResourceAsStream(fileName));
+    }
+
+}
@@ -0,0 +1,108 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.carbonintensity.executionplanner.planner.Timeslot;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
+import io.carbonintensity.executionplanner.runtime.impl.rest.CarbonIntensityJsonParser;
+
+class TestGreedyBatchStrategy {
+
+    private static final CarbonIntensityJsonParser ciParser = new CarbonIntensityJsonParser();
+    private static final ZonedDateTime WS = ZonedDateTime.parse("2024-08-27T00:00:00Z");
+    private static final ZonedDateTime WE = WS.plusHours(5);
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private static final CarbonIntensitySeries SERIES = new CarbonIntensitySeries("NL", WS.toEpochSecond(), 3600,
+            new double[] { 300, 250, 100, 105, 108, 200, 300 });
+
+    @Test
+    void givenEnoughCapacity_whenPlanning_thenEveryJobInBestTimeslot() {
+        Map<String, Timeslot> timeslots = new GreedyBatchStrategy(HOUR, 3).bestTimeslots(
+                List.of(job("job-1", WS, WE), job("job-2", WS, WE), job("job-3", WS, WE)), SERIES);
+
+        Timeslot expected = new SlidingWindowStrategy(HOUR).bestTimeslot(WS, WE, HOUR, SERIES);
+        assertThat(timeslots).hasSize(3);
+        timeslots.values().forEach(timeslot -> assertThat(timeslot.start()).isEqualTo(expected.start()));
+    }
+
+    @Test
+    void givenMaxConcurrency_whenPlanning_thenJobsSpreadOverGreenestTimeslots() {
+        Map<String, Timeslot> timeslots = new GreedyBatchStrategy(HOUR, 1).bestTimeslots(
+                List.of(job("job-1", WS, WE), job("job-2", WS, WE), job("job-3", WS, WE)), SERIES);
+
+        assertThat(timeslots.values().stream().map(Timeslot::start))
+                .containsExactlyInAnyOrder(WS.plusHours(2), WS.plusHours(3), WS.plusHours(4));
+        assertThat(timeslots.values().stream().mapToDouble(t -> t.carbonIntensity().doubleValue()).sum())
+                .isEqualTo(313.0);
+    }
+
+    @Test
+    void givenConstrainedJob_whenPlanning_thenItGetsItsOnlyTimeslot() {
+        // the flexible job comes first, but the constrained job is placed first
+        Map<String, Timeslot> timeslots = new GreedyBatchStrategy(HOUR, 1).bestTimeslots(
+                List.of(job("flexible", WS, WE), job("constrained", WS.plusHours(2), WS.plusHours(2))), SERIES);
+
+        assertThat(timeslots.keySet()).containsExactly("flexible", "constrained");
+        assertThat(timeslots.get("constrained").start()).isEqualTo(WS.plusHours(2));
+        assertThat(timeslots.get("flexible").start()).isEqualTo(WS.plusHours(3));
+    }
+
+    @Test
+    void givenNoCapacityLeft_whenPlanning_thenLeastCrowdedTimeslot() {
+        Map<String, Timeslot> timeslots = new GreedyBatchStrategy(HOUR, 1).bestTimeslots(
+                List.of(job("job-1", WS.plusHours(2), WS.plusHours(3)), job("job-2", WS.plusHours(2), WS.plusHours(3)),
+                        job("job-3", WS.plusHours(2), WS.plusHours(3))),
+                SERIES);
+
+        assertThat(timeslots).hasSize(3);
+        assertThat(timeslots.values().stream().filter(t -> t.start().equals(WS.plusHours(2)))).hasSize(2);
+    }
+
+    @Test
+    void givenEmptyWindow_whenPlanning_thenJobIsLeftOut() {
+        Map<String, Timeslot> timeslots = new GreedyBatchStrategy(HOUR, 1).bestTimeslots(
+                List.of(job("empty", WE, WS), job("job-1", WS, WE)), SERIES);
+
+        assertThat(timeslots.keySet()).containsExactly("job-1");
+        assertThat(new GreedyBatchStrategy(HOUR, 1).bestTimeslots(List.of(job("empty", WE, WS)), SERIES)).isEmpty();
+    }
+
+    @Test
+    void givenHundredsOfJobs_whenPlanning_thenConcurrencyIsRespected() {
+        CarbonIntensitySeries series = ciParser
+                .parse(ClassLoader.getSystemResourceAsStream("day-ahead-20240824-Z.json")).toSeries();
+        ZonedDateTime dayStart = ZonedDateTime.parse("2024-08-27T00:00:00Z");
+        Duration resolution = Duration.ofMinutes(30);
+        List<BatchJob> jobs = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ZonedDateTime ws = dayStart.plusMinutes(30L * (i % 12));
+            jobs.add(new BatchJob("job-" + i, ws, ws.plusHours(12), Duration.ofMinutes(30L * (1 + i % 3))));
+        }
+
+        Map<String, Timeslot> timeslots = assertTimeout(Duration.ofSeconds(2),
+                () -> new GreedyBatchStrategy(resolution, 50).bestTimeslots(jobs, series));
+
+        assertThat(timeslots).hasSize(500);
+        for (long minute = 0; minute < 24 * 60; minute += 30) {
+            ZonedDateTime moment = dayStart.plusMinutes(minute);
+            long running = timeslots.values().stream()
+                    .filter(t -> !t.start().isAfter(moment) && t.end().isAfter(moment))
+                    .count();
+            assertThat(running).as("jobs running at %s", moment).isLessThanOrEqualTo(50);
+        }
+    }
+
+    private static BatchJob job(String identity, ZonedDateTime ws, ZonedDateTime we) {
+        return new BatchJob(identity, ws, we, HOUR);
+    }
+}
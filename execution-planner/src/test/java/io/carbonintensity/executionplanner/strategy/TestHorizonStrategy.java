@@ -0,0 +1,81 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.carbonintensity.executionplanner.planner.Timeslot;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
+
+class TestHorizonStrategy {
+
+    private static final ZonedDateTime WS = ZonedDateTime.parse("2024-08-27T00:00:00Z");
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final Duration GAP = Duration.ofHours(2);
+
+    // the greenest first execution at 01:00 is followed by dirty periods every two hours
+    private static final CarbonIntensitySeries SERIES = new CarbonIntensitySeries("NL", WS.toEpochSecond(), 3600,
+            new double[] { 100, 90, 300, 400, 100, 500, 100, 600 });
+
+    @Test
+    void givenDirtyFollowingPeriods_whenPlanningHorizon_thenMinimizeTotalIntensity() {
+        List<Timeslot> timeslots = new HorizonStrategy(HOUR, 3)
+                .bestTimeslots(WS, WS.plusHours(1), GAP, GAP, HOUR, SERIES);
+
+        assertThat(new SingleJobStrategy(HOUR).bestTimeslot(WS, WS.plusHours(1), HOUR, SERIES).start())
+                .isEqualTo(WS.plusHours(1));
+        assertThat(timeslots).extracting(Timeslot::start)
+                .containsExactly(WS, WS.plusHours(2), WS.plusHours(4));
+        assertThat(timeslots.stream().mapToDouble(t -> t.carbonIntensity().doubleValue()).sum())
+                .isCloseTo(500, within(1e-9));
+    }
+
+    @Test
+    void givenGapRange_whenPlanningHorizon_thenGapsAreRespected() {
+        List<Timeslot> timeslots = new HorizonStrategy(Duration.ofMinutes(30), 3)
+                .bestTimeslots(WS, WS.plusHours(2), Duration.ofMinutes(90), Duration.ofHours(3), HOUR, SERIES);
+
+        assertThat(timeslots).hasSize(3);
+        for (int i = 1; i < timeslots.size(); i++) {
+            Duration gap = Duration.between(timeslots.get(i - 1).start(), timeslots.get(i).start());
+            assertThat(gap).isBetween(Duration.ofMinutes(90), Duration.ofHours(3));
+        }
+    }
+
+    @Test
+    void givenShortForecast_whenPlanningHorizon_thenOnlyPlanExecutionsWithinForecast() {
+        List<Timeslot> timeslots = new HorizonStrategy(HOUR, 10)
+                .bestTimeslots(WS, WS.plusHours(1), GAP, GAP, HOUR, SERIES);
+
+        assertThat(timeslots).hasSize(4);
+        assertThat(timeslots.get(3).end()).isBeforeOrEqualTo(WS.plusHours(SERIES.size()));
+    }
+
+    @Test
+    void givenForecastNotCoveringTwoExecutions_whenPlanningHorizon_thenNothingPlanned() {
+        assertThat(new HorizonStrategy(HOUR, 3)
+                .bestTimeslots(WS.plusDays(1), WS.plusDays(1).plusHours(1), GAP, GAP, HOUR, SERIES)).isEmpty();
+        assertThat(new HorizonStrategy(HOUR, 3)
+                .bestTimeslots(WS.plusHours(6), WS.plusHours(6), GAP, GAP, HOUR, SERIES)).isEmpty();
+    }
+
+    @Test
+    void givenUnalignedTimeslots_whenPlanningHorizon_thenScoreLikeSingleJobStrategy() {
+        ZonedDateTime ws = WS.plusMinutes(15);
+        Duration duration = Duration.ofMinutes(150);
+        List<Timeslot> timeslots = new HorizonStrategy(Duration.ofMinutes(30), 2)
+                .bestTimeslots(ws, ws.plusHours(1), GAP, GAP, duration, SERIES);
+
+        assertThat(timeslots).hasSize(2);
+        for (Timeslot timeslot : timeslots) {
+            long start = timeslot.start().toInstant().toEpochMilli();
+            assertThat(timeslot.carbonIntensity().doubleValue())
+                    .isEqualTo(new CumulativeIntensity(SERIES).between(start, start + duration.toMillis()));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import io.carbonintensity.executionplanner.planner.Timeslot;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
+
+class TestLoadAwareStrategy {
+
+    private static final ZonedDateTime WS = ZonedDateTime.parse("2024-08-27T00:00:00Z");
+    private static final ZonedDateTime WE = WS.plusHours(5);
+    private static final Duration DURATION = Duration.ofMinutes(30);
+    private static final Duration RESOLUTION = Duration.ofHours(1);
+    private static final Clock CLOCK = Clock.fixed(WS.minusDays(1).toInstant(), ZoneOffset.UTC);
+
+    // hourly values, the best slot is at 02:00 with 03:00 and 04:00 within 10%
+    private static final CarbonIntensitySeries SERIES = new CarbonIntensitySeries("NL", WS.toEpochSecond(), 3600,
+            new double[] { 300, 250, 100, 105, 108, 200, 300 });
+
+    @Test
+    void givenFreeCapacity_whenPlanning_thenSameSlotAsSingleJobStrategy() {
+        var strategy = new LoadAwareStrategy(2, 0.1, CLOCK);
+
+        Timeslot expected = new SingleJobStrategy(RESOLUTION).bestTimeslot(WS, WE, DURATION, SERIES);
+        assertThat(start(strategy, "job-1")).isEqualTo(expected.start());
+        assertThat(start(strategy, "job-2")).isEqualTo(expected.start());
+    }
+
+    @Test
+    void givenSlotAtCapacity_whenPlanning_thenSpreadOverSlotsWithinTolerance() {
+        var strategy = new LoadAwareStrategy(1, 0.1, CLOCK);
+
+        assertThat(start(strategy, "job-1")).isEqualTo(WS.plusHours(2));
+        assertThat(start(strategy, "job-2")).isEqualTo(WS.plusHours(3));
+        assertThat(start(strategy, "job-3")).isEqualTo(WS.plusHours(4));
+        // every candidate is at capacity, the least loaded one is used
+        assertThat(start(strategy, "job-4")).isEqualTo(WS.plusHours(2));
+        assertThat(strategy.getPlannedJobs("NL", WS.plusHours(2).toInstant().toEpochMilli())).isEqualTo(2);
+        assertThat(strategy.getPlannedJobs("BE", WS.plusHours(2).toInstant().toEpochMilli())).isZero();
+    }
+
+    @Test
+    void givenReplannedOrRemovedJob_whenPlanning_thenPreviousSlotIsReleased() {
+        var strategy = new LoadAwareStrategy(1, 0.1, CLOCK);
+
+        assertThat(start(strategy, "job-1")).isEqualTo(WS.plusHours(2));
+        // planning the same job again does not count its own previous slot
+        assertThat(start(strategy, "job-1")).isEqualTo(WS.plusHours(2));
+
+        strategy.remove("job-1");
+        assertThat(start(strategy, "job-2")).isEqualTo(WS.plusHours(2));
+    }
+
+    @Test
+    void givenFinishedJobs_whenPlanning_thenTheyAreForgotten() {
+        var strategy = new LoadAwareStrategy(1, 0.1, Clock.fixed(Instant.parse("2024-08-27T03:00:00Z"), ZoneOffset.UTC));
+
+        assertThat(strategy.bestTimeslot("job-1", "NL", WS, WE, DURATION, RESOLUTION, SERIES).start())
+                .isEqualTo(WS.plusHours(2));
+        // the job planned at 02:00 has finished at 03:00
+        assertThat(strategy.bestTimeslot("job-2", "NL", WS, WE, DURATION, RESOLUTION, SERIES).start())
+                .isEqualTo(WS.plusHours(2));
+    }
+
+    @Test
+    void givenEmptyWindow_whenPlanning_thenNoTimeslot() {
+        var strategy = new LoadAwareStrategy(1, 0.1, CLOCK);
+        assertThat(strategy.bestTimeslot("job-1", "NL", WE, WS, DURATION, RESOLUTION, SERIES)).isNull();
+    }
+
+    private static ZonedDateTime start(LoadAwareStrategy strategy, String identity) {
+        return strategy.bestTimeslot(identity, "NL", WS, WE, DURATION, RESOLUTION, SERIES).start();
+    }
+}
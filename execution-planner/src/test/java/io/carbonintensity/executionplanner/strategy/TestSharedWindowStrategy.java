@@ -0,0 +1,108 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
+
+class TestSharedWindowStrategy {
+
+    private static final ZonedDateTime WS = ZonedDateTime.parse("2024-08-27T00:00:00Z");
+    private static final ZonedDateTime WE = WS.plusHours(5);
+    private static final Duration DURATION = Duration.ofMinutes(30);
+    private static final Duration RESOLUTION = Duration.ofHours(1);
+    private static final Clock CLOCK = Clock.fixed(WS.minusDays(1).toInstant(), ZoneOffset.UTC);
+
+    // hourly values, the best slot is at 02:00 followed by 03:00 and 04:00
+    private static final CarbonIntensitySeries SERIES = new CarbonIntensitySeries("NL", WS.toEpochSecond(), 3600,
+            new double[] { 300, 250, 100, 105, 108, 200, 300 });
+
+    private final List<String> changedWindows = new ArrayList<>();
+
+    @Test
+    void givenFreeCapacity_whenPlanning_thenSameSlotAsSingleJobStrategy() {
+        var strategy = strategy(2, CLOCK);
+
+        var expected = new SingleJobStrategy(RESOLUTION).bestTimeslot(WS, WE, DURATION, SERIES);
+        assertThat(start(strategy, "job-1")).isEqualTo(expected.start());
+        assertThat(start(strategy, "job-2")).isEqualTo(expected.start());
+    }
+
+    @Test
+    void givenWindowAtCapacity_whenPlanning_thenJobsOfTheWindowArePlannedTogether() {
+        var strategy = strategy(1, CLOCK);
+
+        assertThat(start(strategy, "job-1")).isEqualTo(WS.plusHours(2));
+        assertThat(changedWindows).isEmpty();
+        long version = strategy.getVersion("nl", WS.toInstant(), WE.toInstant());
+
+        // the jobs that were planned before are told to plan again
+        assertThat(start(strategy, "job-2")).isEqualTo(WS.plusHours(3));
+        assertThat(changedWindows).containsExactly("nl " + WS.toInstant());
+        assertThat(strategy.getVersion("NL", WS.toInstant(), WE.toInstant())).isGreaterThan(version);
+        assertThat(strategy.getVersion("BE", WS.toInstant(), WE.toInstant())).isZero();
+
+        // planning a known job again reuses the assignment
+        assertThat(start(strategy, "job-1")).isEqualTo(WS.plusHours(2));
+        assertThat(start(strategy, "job-3")).isEqualTo(WS.plusHours(4));
+        assertThat(start(strategy, "job-1")).isEqualTo(WS.plusHours(2));
+        assertThat(start(strategy, "job-2")).isEqualTo(WS.plusHours(3));
+        assertThat(changedWindows).hasSize(2);
+    }
+
+    @Test
+    void givenJobsOfOtherWindowOrZone_whenPlanning_thenTheyAreNotPlannedTogether() {
+        var strategy = strategy(1, CLOCK);
+
+        assertThat(start(strategy, "job-1")).isEqualTo(WS.plusHours(2));
+        assertThat(strategy.bestTimeslot("job-2", "BE", WS, WE, DURATION, RESOLUTION, SERIES, 1L).start())
+                .isEqualTo(WS.plusHours(2));
+        assertThat(strategy.bestTimeslot("job-3", "NL", WS.plusHours(1), WE, DURATION, RESOLUTION, SERIES, 1L).start())
+                .isEqualTo(WS.plusHours(2));
+        assertThat(changedWindows).isEmpty();
+    }
+
+    @Test
+    void givenRemovedJob_whenPlanningWindowAgain_thenItsTimeslotIsReleased() {
+        var strategy = strategy(1, CLOCK);
+        start(strategy, "job-1");
+        assertThat(start(strategy, "job-2")).isEqualTo(WS.plusHours(3));
+
+        strategy.remove("job-1");
+
+        assertThat(start(strategy, "job-2")).isEqualTo(WS.plusHours(2));
+    }
+
+    @Test
+    void givenPassedWindow_whenPlanning_thenItIsForgotten() {
+        var strategy = strategy(1, Clock.fixed(Instant.parse("2024-08-27T06:00:00Z"), ZoneOffset.UTC));
+        start(strategy, "job-1");
+
+        assertThat(start(strategy, "job-2")).isEqualTo(WS.plusHours(2));
+        assertThat(changedWindows).isEmpty();
+    }
+
+    @Test
+    void givenEmptyWindow_whenPlanning_thenNoTimeslot() {
+        var strategy = strategy(1, CLOCK);
+        assertThat(strategy.bestTimeslot("job-1", "NL", WE, WS, DURATION, RESOLUTION, SERIES, 1L)).isNull();
+    }
+
+    private SharedWindowStrategy strategy(int capacity, Clock clock) {
+        return new SharedWindowStrategy(capacity, clock,
+                (zone, start, end, version) -> changedWindows.add(zone + " " + start));
+    }
+
+    private static ZonedDateTime start(SharedWindowStrategy strategy, String identity) {
+        return strategy.bestTimeslot(identity, "NL", WS, WE, DURATION, RESOLUTION, SERIES, 1L).start();
+    }
+}
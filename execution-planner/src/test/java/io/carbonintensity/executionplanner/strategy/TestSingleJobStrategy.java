@@ -1,15 +1,24 @@
 package io.carbonintensity.executionplanner.strategy;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 import io.carbonintensity.executionplanner.planner.Timeslot;
 import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensity;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensitySeries;
 import io.carbonintensity.executionplanner.runtime.impl.rest.CarbonIntensityJsonParser;
 
 class TestSingleJobStrategy {
@@ -33,6 +42,64 @@ class TestSingleJobStrategy {
         assertThat(timeslot.carbonIntensity()).isLessThan(new BigDecimal("1135"));
     }
 
+    @ParameterizedTest
+    // timeslots of at most two periods, which the timeslot calculation scores completely
+    @CsvSource({ "PT30M, PT1M", "PT1H, PT2H", "PT15M, PT50M", "PT1M, PT45M" })
+    void givenSameForecast_whenFindingBestTimeslot_thenMatchTimeslotCalculation(Duration resolution, Duration duration) {
+        CarbonIntensity carbonIntensity = loadCarbonIntensityFromFile("day-ahead-20240824-Z.json");
+        ZonedDateTime ws = ZonedDateTime.parse("2024-08-27T03:00:00Z");
+        ZonedDateTime we = ZonedDateTime.parse("2024-08-27T20:00:00Z");
+
+        Timeslot expected = Timeslot.getTimeslots(ws, we, duration, resolution, carbonIntensity).stream()
+                .min(Comparator.comparing(Timeslot::carbonIntensity))
+                .orElseThrow();
+        Timeslot actual = new SingleJobStrategy(resolution).bestTimeslot(ws, we, duration, carbonIntensity);
+
+        assertThat(actual.start()).isEqualTo(expected.start());
+        // rounding of the per second intensity to the scale of the forecast values
+        BigDecimal tolerance = new BigDecimal("0.005").multiply(BigDecimal.valueOf(duration.getSeconds()));
+        assertThat(actual.carbonIntensity()).isCloseTo(expected.carbonIntensity(), within(tolerance));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "PT1M, PT7M", "PT7M, PT13M", "PT3M, PT11M" })
+    void givenFlatForecast_whenFindingBestTimeslot_thenPickEarliestTimeslot(Duration resolution, Duration duration) {
+        CarbonIntensity carbonIntensity = new CarbonIntensity();
+        carbonIntensity.setStart(Instant.parse("2024-08-27T00:00:00Z"));
+        carbonIntensity.setEnd(Instant.parse("2024-08-28T00:00:00Z"));
+        carbonIntensity.setResolution(Duration.ofMinutes(15));
+        carbonIntensity.setZone("NL");
+        carbonIntensity.setData(Collections.nCopies(96, new BigDecimal("68070.73")));
+        ZonedDateTime ws = ZonedDateTime.parse("2024-08-27T01:03:00Z");
+        ZonedDateTime we = ZonedDateTime.parse("2024-08-27T20:00:00Z");
+
+        Timeslot timeslot = new SingleJobStrategy(resolution).bestTimeslot(ws, we, duration, carbonIntensity);
+
+        assertThat(timeslot.start()).isEqualTo(ws);
+    }
+
+    @Test
+    void givenJobLongerThanAPeriod_whenPlanningWithEveryStrategy_thenPickSameStart() {
+        ZonedDateTime ws = ZonedDateTime.parse("2024-08-27T00:00:00Z");
+        ZonedDateTime we = ws.plusHours(7);
+        Duration duration = Duration.ofHours(3);
+        Duration resolution = Duration.ofMinutes(30);
+        // the dirty second period is covered without starting or ending in it when starting at 00:00
+        CarbonIntensitySeries series = new CarbonIntensitySeries("NL", ws.toEpochSecond(), 3600,
+                new double[] { 100, 500, 100, 300, 300, 300, 120, 120, 120, 400 });
+
+        List<ZonedDateTime> starts = List.of(
+                new SingleJobStrategy(resolution).bestTimeslot(ws, we, duration, series).start(),
+                new SlidingWindowStrategy(resolution).bestTimeslot(ws, we, duration, series).start(),
+                new BreakpointStrategy().bestTimeslot(ws, we, duration, series).start(),
+                new LoadAwareStrategy(1, 0.1, Clock.systemUTC())
+                        .bestTimeslot("job", "NL", ws, we, duration, resolution, series).start(),
+                new GreedyBatchStrategy(resolution, 1)
+                        .bestTimeslots(List.of(new BatchJob("job", ws, we, duration)), series).get("job").start());
+
+        assertThat(starts).containsOnly(ws.plusHours(6));
+    }
+
     private CarbonIntensity loadCarbonIntensityFromFile(String fileName) {
         return ciParser.parse(ClassLoader.getSystemResourceAsStream(fileName));
     }
@@ -0,0 +1,103 @@
+package io.carbonintensity.executionplanner.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import io.carbonintensity.executionplanner.planner.CarbonIntensityPeriod;
+import io.carbonintensity.executionplanner.planner.Timeslot;
+import io.carbonintensity.executionplanner.runtime.impl.CarbonIntensity;
+import io.carbonintensity.executionplanner.runtime.impl.rest.CarbonIntensityJsonParser;
+
+class TestSlidingWindowStrategy {
+
+    private static final CarbonIntensityJsonParser ciParser = new CarbonIntensityJsonParser();
+    private static final ZonedDateTime WS = ZonedDateTime.parse("2024-08-27T00:00:00Z");
+    private static final ZonedDateTime WE = ZonedDateTime.parse("2024-08-28T00:00:00Z");
+
+    @ParameterizedTest
+    // timeslots of at most two periods, which the timeslot calculation scores completely
+    @CsvSource({ "PT30M, PT1M", "PT15M, PT45M", "PT1M, PT1H", "PT10S, PT5M", "PT1M, PT20M" })
+    void givenSameForecast_whenFindingBestTimeslot_thenMatchTimeslotCalculation(Duration resolution, Duration duration) {
+        CarbonIntensity carbonIntensity = loadCarbonIntensityFromFile("day-ahead-20240824-Z.json");
+
+        Timeslot expected = Timeslot.getTimeslots(WS, WE, duration, resolution, carbonIntensity).stream()
+                .min(Comparator.comparing(Timeslot::carbonIntensity))
+                .orElseThrow();
+        Timeslot actual = new SlidingWindowStrategy(resolution).bestTimeslot(WS, WE, duration, carbonIntensity);
+
+        assertThat(actual.start()).isEqualTo(expected.start());
+        assertThat(actual.end()).isEqualTo(expected.end());
+        assertThat(actual.carbonIntensity()).isCloseTo(expected.carbonIntensity(), within(roundingTolerance(duration)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "2024-08-27T00:17:00Z, PT2H30M", "2024-08-27T03:00:00Z, PT5H", "2024-08-27T10:42:13Z, PT3H1M" })
+    void givenTimeslotLongerThanAPeriod_whenScoring_thenDifferByCoveredPeriods(ZonedDateTime start, Duration duration) {
+        CarbonIntensity carbonIntensity = loadCarbonIntensityFromFile("day-ahead-20240824-Z.json");
+        ZonedDateTime end = start.plus(duration);
+
+        BigDecimal timeslotCalculation = Timeslot.calculateCarbonIntensity(CarbonIntensityPeriod.of(carbonIntensity), start,
+                end);
+        BigDecimal actual = new SlidingWindowStrategy().bestTimeslot(start, start, duration, carbonIntensity)
+                .carbonIntensity();
+
+        // the periods the timeslot covers without starting or ending in them
+        BigDecimal covered = BigDecimal.ZERO;
+        for (int i = 0; i < carbonIntensity.getData().size(); i++) {
+            Instant periodStart = carbonIntensity.getStart().plus(carbonIntensity.getResolution().multipliedBy(i));
+            Instant periodEnd = periodStart.plus(carbonIntensity.getResolution());
+            if (periodStart.isAfter(start.toInstant()) && periodEnd.isBefore(end.toInstant())) {
+                covered = covered.add(carbonIntensity.getData().get(i));
+            }
+        }
+        assertThat(covered).isPositive();
+        assertThat(actual).isCloseTo(timeslotCalculation.add(covered), within(roundingTolerance(duration)));
+    }
+
+    @Test
+    void givenTimeslotCoveringWholePeriods_whenFindingBestTimeslot_thenIncludeAllPeriods() {
+        CarbonIntensity carbonIntensity = new CarbonIntensity();
+        carbonIntensity.setStart(WS.toInstant());
+        carbonIntensity.setEnd(WS.plusHours(4).toInstant());
+        carbonIntensity.setResolution(Duration.ofHours(1));
+        carbonIntensity.getData().add(new BigDecimal("400"));
+        carbonIntensity.getData().add(new BigDecimal("100"));
+        carbonIntensity.getData().add(new BigDecimal("200"));
+        carbonIntensity.getData().add(new BigDecimal("300"));
+
+        Timeslot timeslot = new SlidingWindowStrategy(Duration.ofMinutes(30))
+                .bestTimeslot(WS, WS.plusHours(2), Duration.ofMinutes(150), carbonIntensity);
+
+        // 100, the whole of 200 and 30 minutes of 300 beats the other candidates
+        assertThat(timeslot.start()).isEqualTo(WS.plusHours(1));
+        assertThat(timeslot.carbonIntensity().doubleValue()).isCloseTo(450, within(1e-9));
+    }
+
+    @Test
+    void givenWindowStartAfterWindowEnd_whenFindingBestTimeslot_thenReturnNull() {
+        CarbonIntensity carbonIntensity = loadCarbonIntensityFromFile("day-ahead-20240824-Z.json");
+        assertThat(new SlidingWindowStrategy().bestTimeslot(WE, WS, Duration.ofMinutes(1), carbonIntensity)).isNull();
+    }
+
+    /**
+     * @return the rounding of the per second intensity to the scale of the forecast values
+     */
+    private static BigDecimal roundingTolerance(Duration duration) {
+        return new BigDecimal("0.005").multiply(BigDecimal.valueOf(duration.getSeconds()));
+    }
+
+    private CarbonIntensity loadCarbonIntensityFromFile(String fileName) {
+        return ciParser.parse(ClassLoader.getSystemResourceAsStream(fileName));
+    }
+
+}
@@ -2,6 +2,7 @@ package io.carbonintensity.scheduler.quarkus.factory;
 
 import java.time.Duration;
 import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.OptionalInt;
 
 import io.carbonintensity.scheduler.runtime.SchedulerConfig;
@@ -31,6 +32,50 @@ public interface GreenSchedulerProperties {
      */
     OptionalInt jobExecutors();
 
+    /**
+     * How jobs are executed, on a pool of platform threads or on a virtual thread each. Default platform threads.
+     */
+    Optional<SchedulerConfig.JobExecutionMode> jobExecutionMode();
+
+    /**
+     * Maximum number of fired jobs waiting for a job executor. Default unbounded.
+     */
+    OptionalInt jobQueueCapacity();
+
+    /**
+     * What happens to a fired job when the job queue is full. Default reject.
+     */
+    Optional<SchedulerConfig.JobOverflowPolicy> jobOverflowPolicy();
+
+    /**
+     * Fraction the carbon intensity of a timeslot may be above the best timeslot, for jobs to be spread over it when
+     * more jobs than job executors would start at the same time. Jobs that run on virtual threads are not spread. Default
+     * 0, spreading is disabled.
+     */
+    OptionalDouble staggeringTolerance();
+
+    /**
+     * Plan the fixed window jobs that share a window together, so that no more of them than job executors run at the
+     * same time. Not used when jobs are spread or run on virtual threads. Default false.
+     */
+    Optional<Boolean> batchPlanning();
+
+    /**
+     * Number of executions of a successive job that are planned together. Default 1, only the next execution is
+     * planned.
+     */
+    OptionalInt planningHorizonRuns();
+
+    /**
+     * Number of shards the due triggers are partitioned into, each evaluated by its own thread. Default 2.
+     */
+    OptionalInt triggerCheckShards();
+
+    /**
+     * Fire triggers at the exact millisecond they are planned at instead of at the whole second. Default false.
+     */
+    Optional<Boolean> preciseScheduling();
+
     /**
      * Overdue grace period. Default 30 seconds.
      */
@@ -50,4 +95,27 @@ public interface GreenSchedulerProperties {
      * CarbonIntensity API url.
      */
     Optional<String> apiUrl();
+
+    /**
+     * Time before the cached carbon intensity data expires at which the forecast of the next day is fetched. Zero
+     * disables refreshing ahead. Default 2 hours.
+     */
+    Optional<Duration> refreshAheadLeadTime();
+
+    /**
+     * Number of threads refreshing carbon intensity data ahead. Default 2.
+     */
+    OptionalInt refreshAheadConcurrency();
+
+    /**
+     * File in which fetched carbon intensity data is persisted, so that it is available right after a restart. By
+     * default, the data is only kept in memory.
+     */
+    Optional<String> cacheFile();
+
+    /**
+     * Directory with fallback carbon intensity datasets, which take precedence over the bundled ones. Changes to the
+     * directory are picked up while the scheduler runs.
+     */
+    Optional<String> fallbackDirectory();
 }
@@ -1,5 +1,6 @@
 package io.carbonintensity.scheduler.quarkus.factory;
 
+import java.nio.file.Path;
 import java.time.Duration;
 
 import io.carbonintensity.executionplanner.runtime.impl.rest.CarbonIntensityApiConfig;
@@ -16,16 +17,38 @@ public class SchedulerConfigBuilder {
     public static final Duration DEFAULT_SHUTDOWN_GRACE_PERIOD = SchedulerDefaults.DEFAULT_SHUTDOWN_GRACE_PERIOD;
     public static final int DEFAULT_NUMBER_OF_JOB_EXECUTORS = SchedulerDefaults.DEFAULT_NUMBER_OF_JOB_EXECUTORS;
     public static final SchedulerConfig.StartMode DEFAULT_START_MODE = SchedulerConfig.StartMode.NORMAL;
+    public static final SchedulerConfig.JobExecutionMode DEFAULT_JOB_EXECUTION_MODE = SchedulerDefaults.DEFAULT_JOB_EXECUTION_MODE;
+    public static final int DEFAULT_JOB_QUEUE_CAPACITY = SchedulerDefaults.DEFAULT_JOB_QUEUE_CAPACITY;
+    public static final SchedulerConfig.JobOverflowPolicy DEFAULT_JOB_OVERFLOW_POLICY = SchedulerDefaults.DEFAULT_JOB_OVERFLOW_POLICY;
+    public static final double DEFAULT_STAGGERING_TOLERANCE = SchedulerDefaults.DEFAULT_STAGGERING_TOLERANCE;
+    public static final boolean DEFAULT_BATCH_PLANNING = SchedulerDefaults.DEFAULT_BATCH_PLANNING;
+    public static final int DEFAULT_PLANNING_HORIZON_RUNS = SchedulerDefaults.DEFAULT_PLANNING_HORIZON_RUNS;
+    public static final int DEFAULT_TRIGGER_CHECK_SHARDS = SchedulerDefaults.DEFAULT_TRIGGER_CHECK_SHARDS;
+    public static final boolean DEFAULT_PRECISE_SCHEDULING = SchedulerDefaults.DEFAULT_PRECISE_SCHEDULING;
     public static final String DEFAULT_API_URL = SchedulerDefaults.DEFAULT_API_URL;
     public static final Boolean DEFAULT_ENABLED = true;
+    public static final Duration DEFAULT_REFRESH_AHEAD_LEAD_TIME = SchedulerDefaults.DEFAULT_REFRESH_AHEAD_LEAD_TIME;
+    public static final int DEFAULT_REFRESH_AHEAD_CONCURRENCY = SchedulerDefaults.DEFAULT_REFRESH_AHEAD_CONCURRENCY;
 
     private boolean enabled;
     private SchedulerConfig.StartMode startMode;
     private Integer jobExecutorCount;
+    private SchedulerConfig.JobExecutionMode jobExecutionMode;
+    private Integer jobQueueCapacity;
+    private SchedulerConfig.JobOverflowPolicy jobOverflowPolicy;
+    private Double staggeringTolerance;
+    private boolean batchPlanning;
+    private Integer planningHorizonRuns;
+    private Integer triggerCheckShards;
+    private boolean preciseScheduling;
     private Duration shutdownGracePeriod;
     private Duration overdueGracePeriod;
     private String apiKey;
     private String apiUrl;
+    private Duration refreshAheadLeadTime;
+    private Integer refreshAheadConcurrency;
+    private Path cacheFile;
+    private Path fallbackDirectory;
     private CarbonIntensityApi carbonIntensityApi;
 
     /**
@@ -41,10 +64,22 @@ public class SchedulerConfigBuilder {
         enabled(properties.enabled().orElse(DEFAULT_ENABLED));
         startMode(properties.startMode().orElse(DEFAULT_START_MODE));
         jobExecutorCount(properties.jobExecutors().orElse(DEFAULT_NUMBER_OF_JOB_EXECUTORS));
+        jobExecutionMode(properties.jobExecutionMode().orElse(DEFAULT_JOB_EXECUTION_MODE));
+        jobQueueCapacity(properties.jobQueueCapacity().orElse(DEFAULT_JOB_QUEUE_CAPACITY));
+        jobOverflowPolicy(properties.jobOverflowPolicy().orElse(DEFAULT_JOB_OVERFLOW_POLICY));
+        staggeringTolerance(properties.staggeringTolerance().orElse(DEFAULT_STAGGERING_TOLERANCE));
+        batchPlanning(properties.batchPlanning().orElse(DEFAULT_BATCH_PLANNING));
+        planningHorizonRuns(properties.planningHorizonRuns().orElse(DEFAULT_PLANNING_HORIZON_RUNS));
+        triggerCheckShards(properties.triggerCheckShards().orElse(DEFAULT_TRIGGER_CHECK_SHARDS));
+        preciseScheduling(properties.preciseScheduling().orElse(DEFAULT_PRECISE_SCHEDULING));
         overdueGracePeriod(properties.overdueGracePeriod().orElse(DEFAULT_OVERDUE_GRACE_PERIOD));
         shutdownGracePeriod(properties.shutdownGracePeriod().orElse(DEFAULT_SHUTDOWN_GRACE_PERIOD));
         apiUrl(properties.apiUrl().orElse(DEFAULT_API_URL));
         properties.apiKey().ifPresent(this::apiKey);
+        refreshAheadLeadTime(properties.refreshAheadLeadTime().orElse(DEFAULT_REFRESH_AHEAD_LEAD_TIME));
+        refreshAheadConcurrency(properties.refreshAheadConcurrency().orElse(DEFAULT_REFRESH_AHEAD_CONCURRENCY));
+        properties.cacheFile().ifPresent(this::cacheFile);
+        properties.fallbackDirectory().ifPresent(this::fallbackDirectory);
     }
 
     public SchedulerConfigBuilder startMode(SchedulerConfig.StartMode startMode) {
@@ -60,6 +95,58 @@ public class SchedulerConfigBuilder {
         return this;
     }
 
+    public SchedulerConfigBuilder jobExecutionMode(SchedulerConfig.JobExecutionMode jobExecutionMode) {
+        Assert.notNull(jobExecutionMode, "jobExecutionMode cannot be null");
+        this.jobExecutionMode = jobExecutionMode;
+        return this;
+    }
+
+    public SchedulerConfigBuilder jobQueueCapacity(Integer jobQueueCapacity) {
+        Assert.notNull(jobQueueCapacity, "jobQueueCapacity cannot be null");
+        Assert.isTrue(jobQueueCapacity > 0, "jobQueueCapacity must be greater than 0");
+        this.jobQueueCapacity = jobQueueCapacity;
+        return this;
+    }
+
+    public SchedulerConfigBuilder jobOverflowPolicy(SchedulerConfig.JobOverflowPolicy jobOverflowPolicy) {
+        Assert.notNull(jobOverflowPolicy, "jobOverflowPolicy cannot be null");
+        this.jobOverflowPolicy = jobOverflowPolicy;
+        return this;
+    }
+
+    public SchedulerConfigBuilder staggeringTolerance(Double staggeringTolerance) {
+        Assert.notNull(staggeringTolerance, "staggeringTolerance cannot be null");
+        Assert.isTrue(staggeringTolerance >= 0, "staggeringTolerance cannot be negative");
+        this.staggeringTolerance = staggeringTolerance;
+        return this;
+    }
+
+    public SchedulerConfigBuilder batchPlanning(Boolean batchPlanning) {
+        Assert.notNull(batchPlanning, "batchPlanning cannot be null");
+        this.batchPlanning = batchPlanning;
+        return this;
+    }
+
+    public SchedulerConfigBuilder planningHorizonRuns(Integer planningHorizonRuns) {
+        Assert.notNull(planningHorizonRuns, "planningHorizonRuns cannot be null");
+        Assert.isTrue(planningHorizonRuns > 0, "planningHorizonRuns must be greater than 0");
+        this.planningHorizonRuns = planningHorizonRuns;
+        return this;
+    }
+
+    public SchedulerConfigBuilder triggerCheckShards(Integer triggerCheckShards) {
+        Assert.notNull(triggerCheckShards, "triggerCheckShards cannot be null");
+        Assert.isTrue(triggerCheckShards > 0, "triggerCheckShards must be greater than 0");
+        this.triggerCheckShards = triggerCheckShards;
+        return this;
+    }
+
+    public SchedulerConfigBuilder preciseScheduling(Boolean preciseScheduling) {
+        Assert.notNull(preciseScheduling, "preciseScheduling cannot be null");
+        this.preciseScheduling = preciseScheduling;
+        return this;
+    }
+
     public SchedulerConfigBuilder apiKey(String apiKey) {
         Assert.hasText(apiKey, "apiKey cannot be null");
         this.apiKey = apiKey;
@@ -88,6 +175,42 @@ public class SchedulerConfigBuilder {
         return this;
     }
 
+    public SchedulerConfigBuilder refreshAheadLeadTime(Duration refreshAheadLeadTime) {
+        Assert.notNull(refreshAheadLeadTime, "refreshAheadLeadTime cannot be null");
+        Assert.isTrue(!refreshAheadLeadTime.isNegative(), "refreshAheadLeadTime cannot be negative");
+        this.refreshAheadLeadTime = refreshAheadLeadTime;
+        return this;
+    }
+
+    public SchedulerConfigBuilder refreshAheadConcurrency(Integer refreshAheadConcurrency) {
+        Assert.notNull(refreshAheadConcurrency, "refreshAheadConcurrency cannot be null");
+        Assert.isTrue(refreshAheadConcurrency > 0, "refreshAheadConcurrency must be greater than 0");
+        this.refreshAheadConcurrency = refreshAheadConcurrency;
+        return this;
+    }
+
+    public SchedulerConfigBuilder cacheFile(String cacheFile) {
+        Assert.hasText(cacheFile, "cacheFile cannot be empty");
+        return cacheFile(Path.of(cacheFile));
+    }
+
+    public SchedulerConfigBuilder cacheFile(Path cacheFile) {
+        Assert.notNull(cacheFile, "cacheFile cannot be null");
+        this.cacheFile = cacheFile;
+        return this;
+    }
+
+    public SchedulerConfigBuilder fallbackDirectory(String fallbackDirectory) {
+        Assert.hasText(fallbackDirectory, "fallbackDirectory cannot be empty");
+        return fallbackDirectory(Path.of(fallbackDirectory));
+    }
+
+    public SchedulerConfigBuilder fallbackDirectory(Path fallbackDirectory) {
+        Assert.notNull(fallbackDirectory, "fallbackDirectory cannot be null");
+        this.fallbackDirectory = fallbackDirectory;
+        return this;
+    }
+
     public SchedulerConfigBuilder enabled(Boolean enabled) {
         Assert.notNull(enabled, "enabled cannot be null");
         this.enabled = enabled;
@@ -114,6 +237,18 @@ public class SchedulerConfigBuilder {
         schedulerConfig.setOverdueGracePeriod(overdueGracePeriod);
         schedulerConfig.setShutdownGracePeriod(shutdownGracePeriod);
         schedulerConfig.setJobExecutors(jobExecutorCount);
+        schedulerConfig.setJobExecutionMode(jobExecutionMode);
+        schedulerConfig.setJobQueueCapacity(jobQueueCapacity);
+        schedulerConfig.setJobOverflowPolicy(jobOverflowPolicy);
+        schedulerConfig.setStaggeringTolerance(staggeringTolerance);
+        schedulerConfig.setBatchPlanning(batchPlanning);
+        schedulerConfig.setPlanningHorizonRuns(planningHorizonRuns);
+        schedulerConfig.setTriggerCheckShards(triggerCheckShards);
+        schedulerConfig.setPreciseScheduling(preciseScheduling);
+        schedulerConfig.setRefreshAheadLeadTime(refreshAheadLeadTime);
+        schedulerConfig.setRefreshAheadConcurrency(refreshAheadConcurrency);
+        schedulerConfig.setCacheFile(cacheFile);
+        schedulerConfig.setFallbackDirectory(fallbackDirectory);
 
         if (this.carbonIntensityApi != null) {
             schedulerConfig.setCarbonIntensityApi(carbonIntensityApi);
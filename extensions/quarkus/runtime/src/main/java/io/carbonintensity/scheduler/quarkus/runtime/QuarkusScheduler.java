@@ -1,6 +1,8 @@
 package io.carbonintensity.scheduler.quarkus.runtime;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import jakarta.annotation.PreDestroy;
@@ -34,13 +36,15 @@ public class QuarkusScheduler implements AutoCloseable {
             return;
         }
 
-        // Create triggers and invokers for @GreenScheduled methods
+        // Create triggers and invokers for @GreenScheduled methods, their first executions are planned in parallel
+        List<io.carbonintensity.scheduler.runtime.ScheduledMethod> scheduledMethods = new ArrayList<>();
         for (ScheduledMethod method : context.getScheduledMethods()) {
             ScheduledInvoker invoker = context.createInvoker(method.getInvokerClassName());
             var schedules = method.getSchedules().stream().map(this::lookupConfiguration).collect(Collectors.toList());
-            greenScheduler.scheduleMethod(new ImmutableScheduledMethod(invoker, method.getDeclaringClassName(),
+            scheduledMethods.add(new ImmutableScheduledMethod(invoker, method.getDeclaringClassName(),
                     method.getMethodName(), schedules));
         }
+        greenScheduler.scheduleMethods(scheduledMethods);
     }
 
     @PreDestroy
@@ -1,5 +1,8 @@
 package io.carbonintensity.scheduler.spring;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import jakarta.annotation.PreDestroy;
 
 import org.slf4j.Logger;
@@ -16,6 +19,7 @@ import org.springframework.context.event.EventListener;
 
 import io.carbonintensity.executionplanner.spi.CarbonIntensityApi;
 import io.carbonintensity.scheduler.GreenScheduled;
+import io.carbonintensity.scheduler.runtime.ScheduledMethod;
 import io.carbonintensity.scheduler.runtime.SchedulerConfig;
 import io.carbonintensity.scheduler.runtime.SimpleScheduler;
 import io.carbonintensity.scheduler.spring.factory.ScheduledMethodFactory;
@@ -86,12 +90,14 @@ public class GreenSchedulerAutoConfiguration {
     @EventListener
     public void handleContextStart(ContextRefreshedEvent event) {
         var simpleScheduler = (SimpleScheduler) springSchedulerFactory().getObject();
+        List<ScheduledMethod> scheduledMethods = new ArrayList<>();
         while (greenSchedulerBeanProcessor.hasNext()) {
             var beanInfo = greenSchedulerBeanProcessor.next();
             logger.info("Green scheduler bean {}", beanInfo.getBean());
-            var scheduledMethod = scheduledMethodFactory().create(beanInfo.getBean(), beanInfo.getBeanMethod());
-            simpleScheduler.scheduleMethod(scheduledMethod);
+            scheduledMethods.add(scheduledMethodFactory().create(beanInfo.getBean(), beanInfo.getBeanMethod()));
         }
+        // plans the first executions of all methods in parallel
+        simpleScheduler.scheduleMethods(scheduledMethods);
     }
 
     @PreDestroy
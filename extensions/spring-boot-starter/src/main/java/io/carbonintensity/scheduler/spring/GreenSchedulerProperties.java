@@ -24,13 +24,27 @@ public class GreenSchedulerProperties {
     public static final Duration DEFAULT_OVERDUE_GRACE_PERIOD = SchedulerDefaults.DEFAULT_OVERDUE_GRACE_PERIOD;
     public static final Duration DEFAULT_SHUTDOWN_GRACE_PERIOD = SchedulerDefaults.DEFAULT_SHUTDOWN_GRACE_PERIOD;
     public static final int DEFAULT_NUMBER_OF_JOB_EXECUTORS = SchedulerDefaults.DEFAULT_NUMBER_OF_JOB_EXECUTORS;
+    public static final SchedulerConfig.JobExecutionMode DEFAULT_JOB_EXECUTION_MODE = SchedulerDefaults.DEFAULT_JOB_EXECUTION_MODE;
+    public static final int DEFAULT_JOB_QUEUE_CAPACITY = SchedulerDefaults.DEFAULT_JOB_QUEUE_CAPACITY;
+    public static final SchedulerConfig.JobOverflowPolicy DEFAULT_JOB_OVERFLOW_POLICY = SchedulerDefaults.DEFAULT_JOB_OVERFLOW_POLICY;
+    public static final double DEFAULT_STAGGERING_TOLERANCE = SchedulerDefaults.DEFAULT_STAGGERING_TOLERANCE;
+    public static final boolean DEFAULT_BATCH_PLANNING = SchedulerDefaults.DEFAULT_BATCH_PLANNING;
+    public static final int DEFAULT_PLANNING_HORIZON_RUNS = SchedulerDefaults.DEFAULT_PLANNING_HORIZON_RUNS;
+    public static final int DEFAULT_TRIGGER_CHECK_SHARDS = SchedulerDefaults.DEFAULT_TRIGGER_CHECK_SHARDS;
+    public static final boolean DEFAULT_PRECISE_SCHEDULING = SchedulerDefaults.DEFAULT_PRECISE_SCHEDULING;
     public static final SchedulerConfig.StartMode DEFAULT_START_MODE = SchedulerConfig.StartMode.NORMAL;
     public static final String DEFAULT_API_URL = SchedulerDefaults.DEFAULT_API_URL;
     public static final Boolean DEFAULT_ENABLED = true;
+    public static final Duration DEFAULT_REFRESH_AHEAD_LEAD_TIME = SchedulerDefaults.DEFAULT_REFRESH_AHEAD_LEAD_TIME;
+    public static final int DEFAULT_REFRESH_AHEAD_CONCURRENCY = SchedulerDefaults.DEFAULT_REFRESH_AHEAD_CONCURRENCY;
 
     @ConstructorBinding // Required to generate metadata: https://stackoverflow.com/questions/79231534/how-can-i-use-optional-values-in-spring-boot-configuration-properties
     public GreenSchedulerProperties(Boolean enabled, SchedulerConfig.StartMode startMode, Integer jobExecutors,
-            Duration overdueGracePeriod, Duration shutdownGracePeriod, String apiKey, String apiUrl) {
+            Duration overdueGracePeriod, Duration shutdownGracePeriod, String apiKey, String apiUrl,
+            Duration refreshAheadLeadTime, Integer refreshAheadConcurrency, String cacheFile,
+            String fallbackDirectory, SchedulerConfig.JobExecutionMode jobExecutionMode, Integer jobQueueCapacity,
+            SchedulerConfig.JobOverflowPolicy jobOverflowPolicy, Double staggeringTolerance,
+            Integer planningHorizonRuns, Integer triggerCheckShards, Boolean preciseScheduling, Boolean batchPlanning) {
         this.enabled = Objects.requireNonNullElse(enabled, DEFAULT_ENABLED);
         this.startMode = Objects.requireNonNullElse(startMode, DEFAULT_START_MODE);
         this.jobExecutors = Objects.requireNonNullElse(jobExecutors, DEFAULT_NUMBER_OF_JOB_EXECUTORS);
@@ -38,6 +52,25 @@ public class GreenSchedulerProperties {
         this.shutdownGracePeriod = Objects.requireNonNullElse(shutdownGracePeriod, DEFAULT_SHUTDOWN_GRACE_PERIOD);
         this.apiKey = apiKey;
         this.apiUrl = Objects.requireNonNullElse(apiUrl, DEFAULT_API_URL);
+        this.refreshAheadLeadTime = Objects.requireNonNullElse(refreshAheadLeadTime, DEFAULT_REFRESH_AHEAD_LEAD_TIME);
+        this.refreshAheadConcurrency = Objects.requireNonNullElse(refreshAheadConcurrency,
+                DEFAULT_REFRESH_AHEAD_CONCURRENCY);
+        this.cacheFile = cacheFile;
+        this.fallbackDirectory = fallbackDirectory;
+        this.jobExecutionMode = Objects.requireNonNullElse(jobExecutionMode, DEFAULT_JOB_EXECUTION_MODE);
+        this.jobQueueCapacity = Objects.requireNonNullElse(jobQueueCapacity, DEFAULT_JOB_QUEUE_CAPACITY);
+        this.jobOverflowPolicy = Objects.requireNonNullElse(jobOverflowPolicy, DEFAULT_JOB_OVERFLOW_POLICY);
+        this.staggeringTolerance = Objects.requireNonNullElse(staggeringTolerance, DEFAULT_STAGGERING_TOLERANCE);
+        this.planningHorizonRuns = Objects.requireNonNullElse(planningHorizonRuns, DEFAULT_PLANNING_HORIZON_RUNS);
+        this.triggerCheckShards = Objects.requireNonNullElse(triggerCheckShards, DEFAULT_TRIGGER_CHECK_SHARDS);
+        this.preciseScheduling = Objects.requireNonNullElse(preciseScheduling, DEFAULT_PRECISE_SCHEDULING);
+        this.batchPlanning = Objects.requireNonNullElse(batchPlanning, DEFAULT_BATCH_PLANNING);
+    }
+
+    public GreenSchedulerProperties(Boolean enabled, SchedulerConfig.StartMode startMode, Integer jobExecutors,
+            Duration overdueGracePeriod, Duration shutdownGracePeriod, String apiKey, String apiUrl) {
+        this(enabled, startMode, jobExecutors, overdueGracePeriod, shutdownGracePeriod, apiKey, apiUrl, null, null,
+                null, null, null, null, null, null, null, null, null, null);
     }
 
     public GreenSchedulerProperties() {
@@ -58,6 +91,50 @@ public class GreenSchedulerProperties {
      */
     private Integer jobExecutors = DEFAULT_NUMBER_OF_JOB_EXECUTORS;
 
+    /**
+     * How jobs are executed, on a pool of platform threads or on a virtual thread each. Default platform threads.
+     */
+    private SchedulerConfig.JobExecutionMode jobExecutionMode = DEFAULT_JOB_EXECUTION_MODE;
+
+    /**
+     * Maximum number of fired jobs waiting for a job executor. Default unbounded.
+     */
+    private Integer jobQueueCapacity = DEFAULT_JOB_QUEUE_CAPACITY;
+
+    /**
+     * What happens to a fired job when the job queue is full. Default reject.
+     */
+    private SchedulerConfig.JobOverflowPolicy jobOverflowPolicy = DEFAULT_JOB_OVERFLOW_POLICY;
+
+    /**
+     * Fraction the carbon intensity of a timeslot may be above the best timeslot, for jobs to be spread over it when
+     * more jobs than job executors would start at the same time. Jobs that run on virtual threads are not spread. Default
+     * 0, spreading is disabled.
+     */
+    private Double staggeringTolerance = DEFAULT_STAGGERING_TOLERANCE;
+
+    /**
+     * Plan the fixed window jobs that share a window together, so that no more of them than job executors run at the
+     * same time. Not used when jobs are spread or run on virtual threads. Default false.
+     */
+    private Boolean batchPlanning = DEFAULT_BATCH_PLANNING;
+
+    /**
+     * Number of executions of a successive job that are planned together. Default 1, only the next execution is
+     * planned.
+     */
+    private Integer planningHorizonRuns = DEFAULT_PLANNING_HORIZON_RUNS;
+
+    /**
+     * Number of shards the due triggers are partitioned into, each evaluated by its own thread. Default 2.
+     */
+    private Integer triggerCheckShards = DEFAULT_TRIGGER_CHECK_SHARDS;
+
+    /**
+     * Fire triggers at the exact millisecond they are planned at instead of at the whole second. Default false.
+     */
+    private Boolean preciseScheduling = DEFAULT_PRECISE_SCHEDULING;
+
     /**
      * Overdue grace period. Default 30 seconds.
      */
@@ -78,6 +155,29 @@ public class GreenSchedulerProperties {
      */
     private String apiUrl = DEFAULT_API_URL;
 
+    /**
+     * Time before the cached carbon intensity data expires at which the forecast of the next day is fetched. Zero
+     * disables refreshing ahead. Default 2 hours.
+     */
+    private Duration refreshAheadLeadTime = DEFAULT_REFRESH_AHEAD_LEAD_TIME;
+
+    /**
+     * Number of threads refreshing carbon intensity data ahead. Default 2.
+     */
+    private Integer refreshAheadConcurrency = DEFAULT_REFRESH_AHEAD_CONCURRENCY;
+
+    /**
+     * File in which fetched carbon intensity data is persisted, so that it is available right after a restart. By
+     * default, the data is only kept in memory.
+     */
+    private String cacheFile = null;
+
+    /**
+     * Directory with fallback carbon intensity datasets, which take precedence over the bundled ones. Changes to the
+     * directory are picked up while the scheduler runs.
+     */
+    private String fallbackDirectory = null;
+
     /**
      * Gets scheduler start mode.
      *
@@ -96,6 +196,78 @@ public class GreenSchedulerProperties {
         return Optional.ofNullable(jobExecutors);
     }
 
+    /**
+     * Gets the job execution mode.
+     *
+     * @return job execution mode
+     */
+    public Optional<SchedulerConfig.JobExecutionMode> getJobExecutionMode() {
+        return Optional.ofNullable(jobExecutionMode);
+    }
+
+    /**
+     * Gets the job queue capacity.
+     *
+     * @return maximum number of fired jobs waiting for a job executor
+     */
+    public Optional<Integer> getJobQueueCapacity() {
+        return Optional.ofNullable(jobQueueCapacity);
+    }
+
+    /**
+     * Gets the job overflow policy.
+     *
+     * @return job overflow policy
+     */
+    public Optional<SchedulerConfig.JobOverflowPolicy> getJobOverflowPolicy() {
+        return Optional.ofNullable(jobOverflowPolicy);
+    }
+
+    /**
+     * Gets the staggering tolerance.
+     *
+     * @return fraction the carbon intensity of a timeslot may be above the best timeslot
+     */
+    public Optional<Double> getStaggeringTolerance() {
+        return Optional.ofNullable(staggeringTolerance);
+    }
+
+    /**
+     * Gets the batch planning.
+     *
+     * @return if the fixed window jobs that share a window are planned together
+     */
+    public Optional<Boolean> getBatchPlanning() {
+        return Optional.ofNullable(batchPlanning);
+    }
+
+    /**
+     * Gets the planning horizon runs.
+     *
+     * @return number of executions of a successive job that are planned together
+     */
+    public Optional<Integer> getPlanningHorizonRuns() {
+        return Optional.ofNullable(planningHorizonRuns);
+    }
+
+    /**
+     * Gets the trigger check shards.
+     *
+     * @return number of shards the due triggers are evaluated in
+     */
+    public Optional<Integer> getTriggerCheckShards() {
+        return Optional.ofNullable(triggerCheckShards);
+    }
+
+    /**
+     * Gets the precise scheduling.
+     *
+     * @return if triggers are checked at the exact time they are due
+     */
+    public Optional<Boolean> getPreciseScheduling() {
+        return Optional.ofNullable(preciseScheduling);
+    }
+
     /**
      * Gets the overdue grace period.
      *
@@ -130,4 +302,20 @@ public class GreenSchedulerProperties {
     public Optional<String> getApiUrl() {
         return Optional.ofNullable(apiUrl);
     }
+
+    public Optional<Duration> getRefreshAheadLeadTime() {
+        return Optional.ofNullable(refreshAheadLeadTime);
+    }
+
+    public Optional<Integer> getRefreshAheadConcurrency() {
+        return Optional.ofNullable(refreshAheadConcurrency);
+    }
+
+    public Optional<String> getCacheFile() {
+        return Optional.ofNullable(cacheFile);
+    }
+
+    public Optional<String> getFallbackDirectory() {
+        return Optional.ofNullable(fallbackDirectory);
+    }
 }
@@ -1,5 +1,6 @@
 package io.carbonintensity.scheduler.spring.factory;
 
+import java.nio.file.Path;
 import java.time.Duration;
 
 import org.springframework.util.Assert;
@@ -17,10 +18,22 @@ public class SchedulerConfigBuilder {
     private boolean enabled;
     private SchedulerConfig.StartMode startMode;
     private Integer jobExecutorCount;
+    private SchedulerConfig.JobExecutionMode jobExecutionMode;
+    private Integer jobQueueCapacity;
+    private SchedulerConfig.JobOverflowPolicy jobOverflowPolicy;
+    private Double staggeringTolerance;
+    private boolean batchPlanning;
+    private Integer planningHorizonRuns;
+    private Integer triggerCheckShards;
+    private boolean preciseScheduling;
     private Duration shutdownGracePeriod;
     private Duration overdueGracePeriod;
     private String apiKey;
     private String apiUrl;
+    private Duration refreshAheadLeadTime;
+    private Integer refreshAheadConcurrency;
+    private Path cacheFile;
+    private Path fallbackDirectory;
     private CarbonIntensityApi carbonIntensityApi;
 
     /**
@@ -46,6 +59,22 @@ public class SchedulerConfigBuilder {
                 .ifPresent(this::startMode);
         properties.getJobExecutors()
                 .ifPresent(this::jobExecutorCount);
+        properties.getJobExecutionMode()
+                .ifPresent(this::jobExecutionMode);
+        properties.getJobQueueCapacity()
+                .ifPresent(this::jobQueueCapacity);
+        properties.getJobOverflowPolicy()
+                .ifPresent(this::jobOverflowPolicy);
+        properties.getStaggeringTolerance()
+                .ifPresent(this::staggeringTolerance);
+        properties.getBatchPlanning()
+                .ifPresent(this::batchPlanning);
+        properties.getPlanningHorizonRuns()
+                .ifPresent(this::planningHorizonRuns);
+        properties.getTriggerCheckShards()
+                .ifPresent(this::triggerCheckShards);
+        properties.getPreciseScheduling()
+                .ifPresent(this::preciseScheduling);
         properties.getOverdueGracePeriod()
                 .ifPresent(this::overdueGracePeriod);
         properties.getShutdownGracePeriod()
@@ -54,6 +83,14 @@ public class SchedulerConfigBuilder {
                 .ifPresent(this::apiKey);
         properties.getApiUrl()
                 .ifPresent(this::apiUrl);
+        properties.getRefreshAheadLeadTime()
+                .ifPresent(this::refreshAheadLeadTime);
+        properties.getRefreshAheadConcurrency()
+                .ifPresent(this::refreshAheadConcurrency);
+        properties.getCacheFile()
+                .ifPresent(this::cacheFile);
+        properties.getFallbackDirectory()
+                .ifPresent(this::fallbackDirectory);
     }
 
     public SchedulerConfigBuilder startMode(SchedulerConfig.StartMode startMode) {
@@ -69,6 +106,58 @@ public class SchedulerConfigBuilder {
         return this;
     }
 
+    public SchedulerConfigBuilder jobExecutionMode(SchedulerConfig.JobExecutionMode jobExecutionMode) {
+        Assert.notNull(jobExecutionMode, "jobExecutionMode cannot be null");
+        this.jobExecutionMode = jobExecutionMode;
+        return this;
+    }
+
+    public SchedulerConfigBuilder jobQueueCapacity(Integer jobQueueCapacity) {
+        Assert.notNull(jobQueueCapacity, "jobQueueCapacity cannot be null");
+        Assert.isTrue(jobQueueCapacity > 0, "jobQueueCapacity must be greater than 0");
+        this.jobQueueCapacity = jobQueueCapacity;
+        return this;
+    }
+
+    public SchedulerConfigBuilder jobOverflowPolicy(SchedulerConfig.JobOverflowPolicy jobOverflowPolicy) {
+        Assert.notNull(jobOverflowPolicy, "jobOverflowPolicy cannot be null");
+        this.jobOverflowPolicy = jobOverflowPolicy;
+        return this;
+    }
+
+    public SchedulerConfigBuilder staggeringTolerance(Double staggeringTolerance) {
+        Assert.notNull(staggeringTolerance, "staggeringTolerance cannot be null");
+        Assert.isTrue(staggeringTolerance >= 0, "staggeringTolerance cannot be negative");
+        this.staggeringTolerance = staggeringTolerance;
+        return this;
+    }
+
+    public SchedulerConfigBuilder batchPlanning(Boolean batchPlanning) {
+        Assert.notNull(batchPlanning, "batchPlanning cannot be null");
+        this.batchPlanning = batchPlanning;
+        return this;
+    }
+
+    public SchedulerConfigBuilder planningHorizonRuns(Integer planningHorizonRuns) {
+        Assert.notNull(planningHorizonRuns, "planningHorizonRuns cannot be null");
+        Assert.isTrue(planningHorizonRuns > 0, "planningHorizonRuns must be greater than 0");
+        this.planningHorizonRuns = planningHorizonRuns;
+        return this;
+    }
+
+    public SchedulerConfigBuilder triggerCheckShards(Integer triggerCheckShards) {
+        Assert.notNull(triggerCheckShards, "triggerCheckShards cannot be null");
+        Assert.isTrue(triggerCheckShards > 0, "triggerCheckShards must be greater than 0");
+        this.triggerCheckShards = triggerCheckShards;
+        return this;
+    }
+
+    public SchedulerConfigBuilder preciseScheduling(Boolean preciseScheduling) {
+        Assert.notNull(preciseScheduling, "preciseScheduling cannot be null");
+        this.preciseScheduling = preciseScheduling;
+        return this;
+    }
+
     public SchedulerConfigBuilder apiKey(String apiKey) {
         Assert.hasText(apiKey, "apiKey cannot be null");
         this.apiKey = apiKey;
@@ -97,6 +186,42 @@ public class SchedulerConfigBuilder {
         return this;
     }
 
+    public SchedulerConfigBuilder refreshAheadLeadTime(Duration refreshAheadLeadTime) {
+        Assert.notNull(refreshAheadLeadTime, "refreshAheadLeadTime cannot be null");
+        Assert.isTrue(!refreshAheadLeadTime.isNegative(), "refreshAheadLeadTime cannot be negative");
+        this.refreshAheadLeadTime = refreshAheadLeadTime;
+        return this;
+    }
+
+    public SchedulerConfigBuilder refreshAheadConcurrency(Integer refreshAheadConcurrency) {
+        Assert.notNull(refreshAheadConcurrency, "refreshAheadConcurrency cannot be null");
+        Assert.isTrue(refreshAheadConcurrency > 0, "refreshAheadConcurrency must be greater than 0");
+        this.refreshAheadConcurrency = refreshAheadConcurrency;
+        return this;
+    }
+
+    public SchedulerConfigBuilder cacheFile(String cacheFile) {
+        Assert.hasText(cacheFile, "cacheFile cannot be empty");
+        return cacheFile(Path.of(cacheFile));
+    }
+
+    public SchedulerConfigBuilder cacheFile(Path cacheFile) {
+        Assert.notNull(cacheFile, "cacheFile cannot be null");
+        this.cacheFile = cacheFile;
+        return this;
+    }
+
+    public SchedulerConfigBuilder fallbackDirectory(String fallbackDirectory) {
+        Assert.hasText(fallbackDirectory, "fallbackDirectory cannot be empty");
+        return fallbackDirectory(Path.of(fallbackDirectory));
+    }
+
+    public SchedulerConfigBuilder fallbackDirectory(Path fallbackDirectory) {
+        Assert.notNull(fallbackDirectory, "fallbackDirectory cannot be null");
+        this.fallbackDirectory = fallbackDirectory;
+        return this;
+    }
+
     public SchedulerConfigBuilder enabled(Boolean enabled) {
         Assert.notNull(enabled, "enabled cannot be null");
         this.enabled = enabled;
@@ -123,6 +248,18 @@ public class SchedulerConfigBuilder {
         schedulerConfig.setOverdueGracePeriod(overdueGracePeriod);
         schedulerConfig.setShutdownGracePeriod(shutdownGracePeriod);
         schedulerConfig.setJobExecutors(jobExecutorCount);
+        schedulerConfig.setJobExecutionMode(jobExecutionMode);
+        schedulerConfig.setJobQueueCapacity(jobQueueCapacity);
+        schedulerConfig.setJobOverflowPolicy(jobOverflowPolicy);
+        schedulerConfig.setStaggeringTolerance(staggeringTolerance);
+        schedulerConfig.setBatchPlanning(batchPlanning);
+        schedulerConfig.setPlanningHorizonRuns(planningHorizonRuns);
+        schedulerConfig.setTriggerCheckShards(triggerCheckShards);
+        schedulerConfig.setPreciseScheduling(preciseScheduling);
+        schedulerConfig.setRefreshAheadLeadTime(refreshAheadLeadTime);
+        schedulerConfig.setRefreshAheadConcurrency(refreshAheadConcurrency);
+        schedulerConfig.setCacheFile(cacheFile);
+        schedulerConfig.setFallbackDirectory(fallbackDirectory);
 
         if (this.carbonIntensityApi != null) {
             schedulerConfig.setCarbonIntensityApi(carbonIntensityApi);